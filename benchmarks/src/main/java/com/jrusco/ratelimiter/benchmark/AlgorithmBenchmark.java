@@ -0,0 +1,92 @@
+package com.jrusco.ratelimiter.benchmark;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One permit check per operation against each engine, at 1, 8 and 64
+ * threads. With {@code HOT} keys every thread contends on one record and most
+ * checks are denials; with {@code UNIFORM} keys the records are spread over
+ * a store too large for the CPU caches.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AlgorithmBenchmark {
+
+    static final int UNIFORM_KEYS = 65_536;
+
+    @Param({"TOKEN_BUCKET", "FIXED_WINDOW", "SLIDING_WINDOW", "SLIDING_WINDOW_COUNTER", "GCRA", "MULTI_TIER"})
+    public RateLimitAlgorithm algorithm;
+
+    @Param({"HOT", "UNIFORM"})
+    public KeyDistribution distribution;
+
+    RateLimitEngine engine;
+
+    @Setup(Level.Trial)
+    public void createEngine() {
+        engine = BenchmarkEngines.create(algorithm, 2L * UNIFORM_KEYS);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKeys {
+
+        long[] keyHashes;
+        int next;
+
+        @Setup(Level.Trial)
+        public void createKeys(AlgorithmBenchmark benchmark, ThreadParams threadParams) {
+            keyHashes = benchmark.distribution.keyHashes(RateLimitType.USER_ID, UNIFORM_KEYS,
+                    threadParams.getThreadIndex());
+        }
+
+        long nextKeyHash() {
+            long keyHash = keyHashes[next];
+            next = next + 1 == keyHashes.length ? 0 : next + 1;
+            return keyHash;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long tryAcquire1Thread(ThreadKeys keys) {
+        return tryAcquire(keys);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long tryAcquire8Threads(ThreadKeys keys) {
+        return tryAcquire(keys);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long tryAcquire64Threads(ThreadKeys keys) {
+        return tryAcquire(keys);
+    }
+
+    private long tryAcquire(ThreadKeys keys) {
+        return engine.tryAcquire(RateLimitType.USER_ID, keys.nextKeyHash(), System.currentTimeMillis());
+    }
+}
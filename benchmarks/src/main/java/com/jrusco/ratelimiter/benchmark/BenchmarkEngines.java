@@ -0,0 +1,55 @@
+package com.jrusco.ratelimiter.benchmark;
+
+import com.jrusco.ratelimiter.algorithm.FixedWindowEngine;
+import com.jrusco.ratelimiter.algorithm.GcraEngine;
+import com.jrusco.ratelimiter.algorithm.MultiTierEngine;
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.algorithm.SlidingWindowCounterEngine;
+import com.jrusco.ratelimiter.algorithm.SlidingWindowEngine;
+import com.jrusco.ratelimiter.algorithm.TokenBucketEngine;
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.InMemoryRateLimitStore;
+
+import java.util.EnumSet;
+
+/**
+ * Builds each engine the way the server wires it with the default limits,
+ * minus Spring and the store gauges.
+ */
+final class BenchmarkEngines {
+
+    static final int BURST_SIZE = 10;
+    static final int REQUESTS_PER_MINUTE = 100;
+
+    private BenchmarkEngines() {
+        // Utility class, prevent instantiation
+    }
+
+    static RateLimitEngine create(RateLimitAlgorithm algorithm, long capacity) {
+        switch (algorithm) {
+            case TOKEN_BUCKET:
+                return new TokenBucketEngine(BURST_SIZE, REQUESTS_PER_MINUTE,
+                        new InMemoryRateLimitStore(capacity, TokenBucketEngine.RECORD_WORDS));
+            case FIXED_WINDOW:
+                int stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+                return new FixedWindowEngine(REQUESTS_PER_MINUTE, stripes, EnumSet.of(RateLimitType.GLOBAL),
+                        new InMemoryRateLimitStore(capacity, FixedWindowEngine.RECORD_WORDS),
+                        new InMemoryRateLimitStore(64, FixedWindowEngine.stripedRecordWords(stripes)));
+            case SLIDING_WINDOW:
+                return new SlidingWindowEngine(REQUESTS_PER_MINUTE,
+                        new InMemoryRateLimitStore(capacity, SlidingWindowEngine.recordWords(REQUESTS_PER_MINUTE)));
+            case SLIDING_WINDOW_COUNTER:
+                return new SlidingWindowCounterEngine(REQUESTS_PER_MINUTE,
+                        new InMemoryRateLimitStore(capacity, SlidingWindowCounterEngine.RECORD_WORDS));
+            case GCRA:
+                return new GcraEngine(BURST_SIZE, REQUESTS_PER_MINUTE,
+                        new InMemoryRateLimitStore(capacity, GcraEngine.RECORD_WORDS));
+            case MULTI_TIER:
+                return new MultiTierEngine(new long[] {10, 100, 2_000}, new long[] {1_000, 60_000, 3_600_000},
+                        new InMemoryRateLimitStore(capacity, MultiTierEngine.recordWords(3)));
+            default:
+                throw new IllegalArgumentException("No benchmark engine for algorithm: " + algorithm);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.jrusco.ratelimiter.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jrusco.ratelimiter.dto.RateLimitCheckRequest;
+import com.jrusco.ratelimiter.dto.RateLimitCheckResponse;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.util.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a check request and writing its response, the JSON work on the
+ * HTTP check path. The response is also written through its hand-built
+ * {@code toString}, which the filter sends on denials.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonBenchmark {
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private byte[] requestJson;
+    private RateLimitCheckResponse response;
+
+    @Setup
+    public void createPayloads() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        requestReader = objectMapper.readerFor(RateLimitCheckRequest.class);
+        responseWriter = objectMapper.writerFor(RateLimitCheckResponse.class);
+
+        RateLimitCheckRequest request = new RateLimitCheckRequest("user123", RateLimitType.USER_ID);
+        request.setEndpoint("/api/v1/users");
+        request.setClientIp("192.168.1.1");
+        request.setApiKey("key123");
+        requestJson = objectMapper.writeValueAsBytes(request);
+
+        response = new RateLimitCheckResponse(false, Constants.MSG_RATE_LIMIT_EXCEEDED);
+        response.setRateLimitLimit(100L);
+        response.setRateLimitRemaining(0L);
+        response.setRateLimitReset(1_700_000_060_000L);
+        response.setRetryAfter(42L);
+    }
+
+    @Benchmark
+    public RateLimitCheckRequest readRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public String writeResponseToString() {
+        return response.toString();
+    }
+}
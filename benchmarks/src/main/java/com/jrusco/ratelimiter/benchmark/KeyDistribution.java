@@ -0,0 +1,37 @@
+package com.jrusco.ratelimiter.benchmark;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.KeyHasher;
+
+import java.util.SplittableRandom;
+
+/**
+ * How benchmark threads pick keys.
+ */
+public enum KeyDistribution {
+
+    // Every thread hits the same key, the worst case for contention
+    HOT,
+
+    // Threads spread over many keys, the worst case for cache misses
+    UNIFORM;
+
+    /**
+     * Pre-hashed keys in the order a thread visits them, so key generation
+     * stays out of the measurement.
+     *
+     * @param keys distinct keys for {@link #UNIFORM}
+     * @param seed per-thread seed, so threads do not walk in lockstep
+     */
+    public long[] keyHashes(RateLimitType type, int keys, long seed) {
+        if (this == HOT) {
+            return new long[] {KeyHasher.hash(type, "hot-key")};
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] keyHashes = new long[keys];
+        for (int i = 0; i < keys; i++) {
+            keyHashes[i] = KeyHasher.hash(type, "key-" + random.nextInt(keys));
+        }
+        return keyHashes;
+    }
+}
@@ -0,0 +1,92 @@
+package com.jrusco.ratelimiter.benchmark;
+
+import com.jrusco.ratelimiter.enums.RateLimitStoreMode;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.InMemoryRateLimitStore;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import com.jrusco.ratelimiter.store.OffHeapRateLimitStore;
+import com.jrusco.ratelimiter.store.RateLimitStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot lookup plus a read or a compare-and-set of one record word, on a store
+ * already holding every key. The store has at least twice as many slots as
+ * keys, the load the server runs at when {@code capacity} matches the live
+ * keys.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+@State(Scope.Benchmark)
+public class StoreBenchmark {
+
+    private static final int RECORD_WORDS = 1;
+
+    @Param({"1000000", "10000000"})
+    public int keys;
+
+    @Param({"IN_MEMORY", "OFF_HEAP"})
+    public RateLimitStoreMode mode;
+
+    RateLimitStore store;
+
+    @Setup(Level.Trial)
+    public void fillStore() {
+        // Both stores give each key two slots; the same count for both modes
+        long slots = 2 * Long.highestOneBit(2L * keys - 1);
+        store = mode == RateLimitStoreMode.OFF_HEAP
+                ? new OffHeapRateLimitStore(slots * (RECORD_WORDS + 1) * Long.BYTES, RECORD_WORDS)
+                : new InMemoryRateLimitStore(slots / 2, RECORD_WORDS);
+        // Every key the threads draw from is resident, so lookups never claim a slot
+        for (int i = 0; i < keys; i++) {
+            store.slot(KeyHasher.hash(RateLimitType.USER_ID, "key-" + i));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKeys {
+
+        long[] keyHashes;
+        int next;
+
+        @Setup(Level.Trial)
+        public void createKeys(StoreBenchmark benchmark, ThreadParams threadParams) {
+            keyHashes = KeyDistribution.UNIFORM.keyHashes(RateLimitType.USER_ID, benchmark.keys,
+                    threadParams.getThreadIndex() + 1);
+        }
+
+        long nextKeyHash() {
+            long keyHash = keyHashes[next];
+            next = next + 1 == keyHashes.length ? 0 : next + 1;
+            return keyHash;
+        }
+    }
+
+    @Benchmark
+    public long get(ThreadKeys keys) {
+        return store.get(store.slot(keys.nextKeyHash()), 0);
+    }
+
+    @Benchmark
+    public boolean update(ThreadKeys keys) {
+        long slot = store.slot(keys.nextKeyHash());
+        long value = store.get(slot, 0);
+        return store.compareAndSet(slot, 0, value, value + 1);
+    }
+}
@@ -0,0 +1,80 @@
+package com.jrusco.ratelimiter.benchmark;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request validation and key derivation in {@link ValidationUtils},
+ * with its default security settings.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+
+    // Not final, so the JIT cannot fold the inputs into constants
+    String ipv4 = "203.0.113.7";
+    String ipv6 = "2001:db8:85a3::8a2e:370:7334";
+    String userId = "user_1234567890.example";
+    String apiKey = "key_9f2c4e6a8b0d1f3e5a7c9b1d3f5e7a9c";
+    String endpoint = "/api/v1/orders/12345/items";
+    String forwardedFor = "198.51.100.23, 10.0.0.5";
+    String remoteAddr = "10.0.0.1";
+
+    final ValidationUtils validationUtils = new ValidationUtils();
+    final long[] address = new long[2];
+
+    @Benchmark
+    public boolean isValidIpv4() {
+        return validationUtils.isValidIpAddress(ipv4);
+    }
+
+    @Benchmark
+    public boolean isValidIpv6() {
+        return validationUtils.isValidIpAddress(ipv6);
+    }
+
+    @Benchmark
+    public boolean isValidUserId() {
+        return validationUtils.isValidUserId(userId);
+    }
+
+    @Benchmark
+    public boolean isValidApiKey() {
+        return validationUtils.isValidApiKey(apiKey);
+    }
+
+    @Benchmark
+    public boolean isValidEndpoint() {
+        return validationUtils.isValidEndpoint(endpoint);
+    }
+
+    @Benchmark
+    public String extractRealClientIp() {
+        return validationUtils.extractRealClientIp(forwardedFor, null, remoteAddr);
+    }
+
+    @Benchmark
+    public long keyHashUserId() {
+        return validationUtils.keyHash(RateLimitType.USER_ID, userId, address);
+    }
+
+    @Benchmark
+    public long keyHashClientIp() {
+        return validationUtils.keyHash(RateLimitType.CLIENT_IP, ipv4, address);
+    }
+}
@@ -0,0 +1,52 @@
+package com.jrusco.ratelimiter.loadgen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Picks key indexes from a Zipf distribution over a fixed number of keys.
+ * A skew of 0 is uniform; around 1 a few hot keys take most of the traffic,
+ * as real callers do.
+ */
+public final class KeySampler {
+
+    private final double[] cumulative;
+    private final SplittableRandom random;
+
+    /**
+     * @param keys distinct keys, at least 1
+     * @param skew Zipf exponent, at least 0
+     * @param seed random seed, so runs are repeatable
+     */
+    public KeySampler(int keys, double skew, long seed) {
+        if (keys < 1) {
+            throw new IllegalArgumentException("Key count must be at least 1");
+        }
+        if (skew < 0 || Double.isNaN(skew)) {
+            throw new IllegalArgumentException("Skew must be at least 0");
+        }
+        this.cumulative = new double[keys];
+        double total = 0;
+        for (int rank = 0; rank < keys; rank++) {
+            total += 1 / Math.pow(rank + 1, skew);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < keys; rank++) {
+            cumulative[rank] /= total;
+        }
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * The next key index; index 0 is the hottest key.
+     */
+    public int next() {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    public int keys() {
+        return cumulative.length;
+    }
+}
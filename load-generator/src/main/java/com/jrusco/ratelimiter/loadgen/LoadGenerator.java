@@ -0,0 +1,204 @@
+package com.jrusco.ratelimiter.loadgen;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the check endpoints.
+ *
+ * <p>Requests are started on a fixed schedule, one every {@code 1 / rate}
+ * seconds, whether or not earlier ones have returned, the way independent
+ * clients arrive. Each latency is measured from the request's scheduled start
+ * rather than from when it was actually sent, so when the server stalls, the
+ * requests that should have been sent during the stall are charged the time
+ * they would have queued. A closed-loop client that waits for each response
+ * records one slow request instead and hides the stall: coordinated omission.
+ */
+public final class LoadGenerator {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final long SPIN_THRESHOLD_NANOS = 100_000;
+    private static final int HISTOGRAM_DIGITS = 3;
+
+    private final LoadGeneratorOptions options;
+    private final HttpClient client;
+    private final URI target;
+    private final KeySampler keySampler;
+    private final Recorder recorder = new Recorder(HISTOGRAM_DIGITS);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong success = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong otherStatus = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private long dropped;
+
+    public LoadGenerator(LoadGeneratorOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.getTimeout())
+                .build();
+        this.target = URI.create(options.getUrl() + options.getEndpoint().path());
+        this.keySampler = new KeySampler(options.getKeys(), options.getSkew(), 42);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadGeneratorOptions options;
+        try {
+            options = LoadGeneratorOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadGeneratorOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        LoadReport report = new LoadGenerator(options).run();
+        report.write();
+        report.writeSummary(System.out);
+        System.out.println("report=" + options.getReport().toAbsolutePath());
+    }
+
+    /**
+     * Runs the warmup and the measured period, then waits for outstanding
+     * requests for up to one timeout.
+     */
+    public LoadReport run() throws InterruptedException {
+        Histogram total = new Histogram(HISTOGRAM_DIGITS);
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-generator-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        progress.scheduleAtFixedRate(() -> printProgress(total), 1, 1, TimeUnit.SECONDS);
+
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = measureFrom + options.getDuration().toNanos();
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * NANOS_PER_SECOND / options.getRate());
+            if (intendedStart >= end) {
+                break;
+            }
+            waitUntil(intendedStart);
+            send(intendedStart, intendedStart >= measureFrom);
+        }
+
+        long drainDeadline = System.nanoTime() + options.getTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        progress.shutdownNow();
+        progress.awaitTermination(1, TimeUnit.SECONDS);
+        synchronized (total) {
+            total.add(recorder.getIntervalHistogram());
+        }
+        return new LoadReport(options, total, success.get(), rateLimited.get(), otherStatus.get(), errors.get(),
+                dropped);
+    }
+
+    private void send(long intendedStart, boolean measured) {
+        if (inFlight.get() >= options.getMaxInFlight()) {
+            if (measured) {
+                dropped++;
+            }
+            return;
+        }
+        inFlight.incrementAndGet();
+        HttpRequest request = HttpRequest.newBuilder(target)
+                .timeout(options.getTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body()))
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    long latencyNanos = System.nanoTime() - intendedStart;
+                    inFlight.decrementAndGet();
+                    if (!measured) {
+                        return;
+                    }
+                    recorder.recordValue(Math.max(1, latencyNanos / 1_000));
+                    if (failure != null) {
+                        errors.incrementAndGet();
+                    } else if (response.statusCode() / 100 == 2) {
+                        success.incrementAndGet();
+                    } else if (response.statusCode() == 429) {
+                        rateLimited.incrementAndGet();
+                    } else {
+                        otherStatus.incrementAndGet();
+                    }
+                });
+    }
+
+    private String body() {
+        if (options.getEndpoint() == LoadGeneratorOptions.Endpoint.CHECK) {
+            return check(keySampler.next());
+        }
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < options.getBatchSize(); i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(check(keySampler.next()));
+        }
+        return body.append(']').toString();
+    }
+
+    private String check(int key) {
+        return "{\"identifier\":\"" + identifier(options.getType(), key) + "\",\"type\":\"" + options.getType() + "\"}";
+    }
+
+    /**
+     * A valid identifier for each key, unique per key index.
+     */
+    static String identifier(RateLimitType type, int key) {
+        switch (type) {
+            case CLIENT_IP:
+                // Unique local addresses, outside every range configured to share limits
+                return "fd00::" + Integer.toHexString(key >>> 16) + ":" + Integer.toHexString(key & 0xFFFF);
+            case API_KEY:
+                return "key-" + key;
+            case ENDPOINT:
+                return "/load/" + key;
+            case GLOBAL:
+                return "global";
+            default:
+                return "user-" + key;
+        }
+    }
+
+    private void printProgress(Histogram total) {
+        Histogram interval = recorder.getIntervalHistogram();
+        synchronized (total) {
+            total.add(interval);
+        }
+        if (interval.getTotalCount() > 0) {
+            System.out.printf("completed=%d p99_ms=%.3f max_ms=%.3f in_flight=%d%n", interval.getTotalCount(),
+                    interval.getValueAtPercentile(99) / 1_000.0, interval.getMaxValue() / 1_000.0, inFlight.get());
+        }
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.jrusco.ratelimiter.loadgen;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ */
+public final class LoadGeneratorOptions {
+
+    /** Which check endpoint the generator drives. */
+    public enum Endpoint {
+        CHECK("/rate_limit/check"),
+        BATCH("/rate_limit/check/batch");
+
+        private final String path;
+
+        Endpoint(String path) {
+            this.path = path;
+        }
+
+        public String path() {
+            return path;
+        }
+    }
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar load-generator.jar [--name=value ...]",
+            "  --url=http://localhost:8080/api/v1   base URL of the rate limiter API",
+            "  --endpoint=CHECK                     CHECK or BATCH",
+            "  --rate=1000                          requests started per second, whatever the responses do",
+            "  --duration=60s                       measured run length",
+            "  --warmup=10s                         run length before measuring",
+            "  --keys=10000                         distinct identifiers",
+            "  --skew=0.99                          Zipf exponent of key popularity, 0 for uniform",
+            "  --type=USER_ID                       rate limit type of every check",
+            "  --batch-size=10                      checks per BATCH request",
+            "  --max-in-flight=10000                requests outstanding before new ones are dropped",
+            "  --timeout=10s                        per-request timeout",
+            "  --report=load-report.txt             report file");
+
+    private URI url = URI.create("http://localhost:8080/api/v1");
+    private Endpoint endpoint = Endpoint.CHECK;
+    private double rate = 1_000;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private int keys = 10_000;
+    private double skew = 0.99;
+    private RateLimitType type = RateLimitType.USER_ID;
+    private int batchSize = 10;
+    private int maxInFlight = 10_000;
+    private Duration timeout = Duration.ofSeconds(10);
+    private Path report = Path.of("load-report.txt");
+
+    /**
+     * @throws IllegalArgumentException on an unknown option or bad value
+     */
+    public static LoadGeneratorOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Options must look like --name=value: " + arg);
+            }
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+
+        LoadGeneratorOptions options = new LoadGeneratorOptions();
+        for (Map.Entry<String, String> option : values.entrySet()) {
+            String value = option.getValue();
+            switch (option.getKey()) {
+                case "url":
+                    options.url = URI.create(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+                    break;
+                case "endpoint":
+                    options.endpoint = Endpoint.valueOf(value.toUpperCase());
+                    break;
+                case "rate":
+                    options.rate = positive(option.getKey(), Double.parseDouble(value));
+                    break;
+                case "duration":
+                    options.duration = duration(value);
+                    break;
+                case "warmup":
+                    options.warmup = duration(value);
+                    break;
+                case "keys":
+                    options.keys = (int) positive(option.getKey(), Integer.parseInt(value));
+                    break;
+                case "skew":
+                    options.skew = Double.parseDouble(value);
+                    break;
+                case "type":
+                    options.type = RateLimitType.valueOf(value.toUpperCase());
+                    break;
+                case "batch-size":
+                    options.batchSize = (int) positive(option.getKey(), Integer.parseInt(value));
+                    break;
+                case "max-in-flight":
+                    options.maxInFlight = (int) positive(option.getKey(), Integer.parseInt(value));
+                    break;
+                case "timeout":
+                    options.timeout = duration(value);
+                    break;
+                case "report":
+                    options.report = Path.of(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: --" + option.getKey());
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Parses {@code 500ms}, {@code 30s} or {@code 5m}.
+     */
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("Durations need a unit of ms, s or m: " + value);
+    }
+
+    private static double positive(String name, double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return value;
+    }
+
+    public URI getUrl() {
+        return url;
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public int getKeys() {
+        return keys;
+    }
+
+    public double getSkew() {
+        return skew;
+    }
+
+    public RateLimitType getType() {
+        return type;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public Path getReport() {
+        return report;
+    }
+}
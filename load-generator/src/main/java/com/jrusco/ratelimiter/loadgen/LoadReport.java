@@ -0,0 +1,115 @@
+package com.jrusco.ratelimiter.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+
+/**
+ * Outcome of a measured run: response counts and the latency histogram, in
+ * microseconds, with every latency taken from the request's intended start.
+ *
+ * <p>The file starts with {@code name=value} summary lines, so two reports
+ * diff cleanly, followed by the full percentile distribution in the
+ * HdrHistogram {@code .hgrm} format, in milliseconds.
+ */
+public final class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final LoadGeneratorOptions options;
+    private final Histogram latencyMicros;
+    private final long success;
+    private final long rateLimited;
+    private final long otherStatus;
+    private final long errors;
+    private final long dropped;
+
+    LoadReport(LoadGeneratorOptions options, Histogram latencyMicros, long success, long rateLimited,
+            long otherStatus, long errors, long dropped) {
+        this.options = options;
+        this.latencyMicros = latencyMicros;
+        this.success = success;
+        this.rateLimited = rateLimited;
+        this.otherStatus = otherStatus;
+        this.errors = errors;
+        this.dropped = dropped;
+    }
+
+    public Histogram getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    public long getSuccess() {
+        return success;
+    }
+
+    public long getRateLimited() {
+        return rateLimited;
+    }
+
+    public long getOtherStatus() {
+        return otherStatus;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Completed requests per second over the measured duration.
+     */
+    public double getAchievedRate() {
+        return latencyMicros.getTotalCount() / (options.getDuration().toNanos() / 1e9);
+    }
+
+    public void writeSummary(PrintStream out) {
+        out.println("endpoint=" + options.getEndpoint());
+        out.println("url=" + options.getUrl());
+        out.println("type=" + options.getType());
+        if (options.getEndpoint() == LoadGeneratorOptions.Endpoint.BATCH) {
+            out.println("batch_size=" + options.getBatchSize());
+        }
+        out.println("keys=" + options.getKeys());
+        out.println("skew=" + options.getSkew());
+        out.println("target_rate=" + format(options.getRate()));
+        out.println("achieved_rate=" + format(getAchievedRate()));
+        out.println("duration_s=" + options.getDuration().toSeconds());
+        out.println("requests=" + latencyMicros.getTotalCount());
+        out.println("status_2xx=" + success);
+        out.println("status_429=" + rateLimited);
+        out.println("status_other=" + otherStatus);
+        out.println("errors=" + errors);
+        // Requests not sent because max-in-flight was reached; any at all means the latencies understate the load
+        out.println("dropped=" + dropped);
+        out.println("latency_ms_p50=" + millis(latencyMicros.getValueAtPercentile(50)));
+        out.println("latency_ms_p90=" + millis(latencyMicros.getValueAtPercentile(90)));
+        out.println("latency_ms_p99=" + millis(latencyMicros.getValueAtPercentile(99)));
+        out.println("latency_ms_p99_9=" + millis(latencyMicros.getValueAtPercentile(99.9)));
+        out.println("latency_ms_max=" + millis(latencyMicros.getMaxValue()));
+    }
+
+    public void write() throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(options.getReport()), false,
+                StandardCharsets.UTF_8)) {
+            writeSummary(out);
+            out.println();
+            latencyMicros.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static String millis(long micros) {
+        return format(micros / MICROS_PER_MILLI);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
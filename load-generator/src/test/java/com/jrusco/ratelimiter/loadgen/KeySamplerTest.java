@@ -0,0 +1,51 @@
+package com.jrusco.ratelimiter.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeySamplerTest {
+
+    @Test
+    void testUniformSpreadsOverEveryKey() {
+        KeySampler sampler = new KeySampler(10, 0, 1);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.next()]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 9_000 && count < 11_000, String.valueOf(count));
+        }
+    }
+
+    @Test
+    void testSkewFavoursLowRanks() {
+        KeySampler sampler = new KeySampler(1_000, 1.2, 1);
+        int hottest = 0;
+        int coldHalf = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int key = sampler.next();
+            if (key == 0) {
+                hottest++;
+            } else if (key >= 500) {
+                coldHalf++;
+            }
+        }
+        assertTrue(hottest > coldHalf, hottest + " vs " + coldHalf);
+    }
+
+    @Test
+    void testSameSeedRepeats() {
+        KeySampler first = new KeySampler(100, 0.99, 7);
+        KeySampler second = new KeySampler(100, 0.99, 7);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(first.next(), second.next());
+        }
+    }
+
+    @Test
+    void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new KeySampler(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new KeySampler(10, -1, 1));
+    }
+}
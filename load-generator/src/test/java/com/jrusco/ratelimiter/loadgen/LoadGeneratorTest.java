@@ -0,0 +1,96 @@
+package com.jrusco.ratelimiter.loadgen;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStallIsChargedToEveryRequestScheduledDuringIt() throws Exception {
+        AtomicBoolean stalled = new AtomicBoolean();
+        AtomicInteger handled = new AtomicInteger();
+        startServer(exchange -> {
+            if (stalled.compareAndSet(false, true)) {
+                sleep(500);
+            }
+            int status = handled.incrementAndGet() % 2 == 0 ? 429 : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(new String[] {
+                "--url=http://localhost:" + server.getAddress().getPort() + "/api/v1",
+                "--rate=200", "--duration=1s", "--warmup=0s", "--keys=100", "--timeout=5s"});
+        LoadReport report = new LoadGenerator(options).run();
+
+        // One server thread stalls for 500 ms while ~100 requests are scheduled; all of them queue behind it
+        assertEquals(200, report.getLatencyMicros().getTotalCount(), 10);
+        assertTrue(report.getLatencyMicros().getCountBetweenValues(100_000, Long.MAX_VALUE) >= 50);
+        assertTrue(report.getLatencyMicros().getMaxValue() >= 450_000);
+        assertEquals(report.getLatencyMicros().getTotalCount(), report.getSuccess() + report.getRateLimited());
+        assertTrue(report.getRateLimited() > 0);
+        assertEquals(0, report.getDropped());
+    }
+
+    @Test
+    void testIdentifiersAreValidPerType() {
+        assertEquals("fd00::1:2", LoadGenerator.identifier(RateLimitType.CLIENT_IP, 0x1_0002));
+        assertEquals("key-7", LoadGenerator.identifier(RateLimitType.API_KEY, 7));
+        assertEquals("/load/7", LoadGenerator.identifier(RateLimitType.ENDPOINT, 7));
+        assertEquals("user-7", LoadGenerator.identifier(RateLimitType.USER_ID, 7));
+    }
+
+    @Test
+    void testParsesOptions() {
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(new String[] {
+                "--endpoint=batch", "--rate=2500", "--duration=2m", "--warmup=500ms", "--type=client_ip"});
+        assertEquals(LoadGeneratorOptions.Endpoint.BATCH, options.getEndpoint());
+        assertEquals(2_500, options.getRate());
+        assertEquals(Duration.ofMinutes(2), options.getDuration());
+        assertEquals(Duration.ofMillis(500), options.getWarmup());
+        assertEquals(RateLimitType.CLIENT_IP, options.getType());
+
+        assertThrows(IllegalArgumentException.class, () -> LoadGeneratorOptions.parse(new String[] {"--rate=0"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadGeneratorOptions.parse(new String[] {"--bogus=1"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadGeneratorOptions.parse(new String[] {"--duration=5"}));
+    }
+
+    private void startServer(HttpHandler handler) throws Exception {
+        serverExecutor = Executors.newSingleThreadExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1_000);
+        server.createContext("/api/v1/rate_limit/check", handler);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
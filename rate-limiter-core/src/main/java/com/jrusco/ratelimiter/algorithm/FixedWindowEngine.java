@@ -0,0 +1,194 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.RateLimitStore;
+import com.jrusco.ratelimiter.util.Constants;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lock-free fixed window counter with one-minute windows.
+ *
+ * <p>Each key is a single {@code long}: the upper 32 bits hold the window epoch
+ * (epoch milliseconds divided by the window length) and the lower 32 bits hold
+ * the count within that window. A request in a newer epoch replaces the state
+ * with a fresh count, so windows roll over in the same CAS that counts the
+ * request and no reset thread is needed. Keys of the configured striped types
+ * use a {@link StripedWindowCounter} record in a separate store instead of a
+ * single word.
+ */
+public class FixedWindowEngine implements RateLimitEngine {
+
+    public static final int RECORD_WORDS = 1;
+
+    static final int COUNT_BITS = 32;
+    static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private static final long WINDOW_MILLIS = Constants.MILLIS_PER_MINUTE;
+
+    private final long limit;
+    private final Set<RateLimitType> stripedTypes;
+    private final RateLimitStore store;
+    private final StripedWindowCounter stripedCounter;
+    private final RateLimitStore stripedStore;
+
+    /**
+     * @param limit        requests allowed per window
+     * @param stripes      cells per striped counter, a power of two
+     * @param stripedTypes key types that are hot enough to stripe
+     * @param store        where unstriped windows live
+     * @param stripedStore where striped windows live, with {@link #stripedRecordWords(int)} words per record
+     */
+    public FixedWindowEngine(long limit, int stripes, Set<RateLimitType> stripedTypes,
+            RateLimitStore store, RateLimitStore stripedStore) {
+        if (limit < 1 || limit > COUNT_MASK) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + COUNT_MASK);
+        }
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a positive power of two");
+        }
+        this.limit = limit;
+        this.stripedTypes = stripedTypes.isEmpty()
+                ? EnumSet.noneOf(RateLimitType.class)
+                : EnumSet.copyOf(stripedTypes);
+        this.store = RateLimitEngines.requireRecordWords(store, RECORD_WORDS);
+        this.stripedStore = stripedStore;
+        this.stripedCounter = new StripedWindowCounter(stripedStore, stripes, limit);
+    }
+
+    /**
+     * Record words the striped store needs for the given stripe count.
+     */
+    public static int stripedRecordWords(int stripes) {
+        return StripedWindowCounter.recordWords(stripes);
+    }
+
+    @Override
+    public RateLimitAlgorithm getAlgorithm() {
+        return RateLimitAlgorithm.FIXED_WINDOW;
+    }
+
+    @Override
+    public long getLimit() {
+        return limit;
+    }
+
+    @Override
+    public long getStateBytesPerKey() {
+        // Striped keys are few by design, so plan for unstriped ones
+        return store.getBytesPerKey();
+    }
+
+    @Override
+    public long tryAcquire(RateLimitType type, long keyHash, long nowMillis) {
+        long epoch = nowMillis / WINDOW_MILLIS;
+        long resetAfter = (epoch + 1) * WINDOW_MILLIS - nowMillis;
+
+        if (stripedTypes.contains(type)) {
+            long stripedSlot = stripedStore.slot(keyHash);
+            if (stripedSlot == RateLimitStore.NO_SLOT) {
+                return RateLimitEngines.STORE_FULL;
+            }
+            long used = stripedCounter.tryIncrement(stripedSlot, epoch, probe());
+            return used < 0
+                    ? RateLimitDecision.deny(resetAfter)
+                    : RateLimitDecision.allow(Math.max(0, limit - used), resetAfter);
+        }
+
+        while (true) {
+            long slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return RateLimitEngines.STORE_FULL;
+            }
+            long decision = acquire(slot, epoch, resetAfter);
+            if (store.holds(slot, keyHash)) {
+                return decision;
+            }
+            // The key was removed and its slot reused meanwhile; take the count back and resolve it again
+            if (RateLimitDecision.isAllowed(decision)) {
+                giveBack(slot, epoch);
+            }
+        }
+    }
+
+    @Override
+    public void release(RateLimitType type, long keyHash, long nowMillis) {
+        long epoch = nowMillis / WINDOW_MILLIS;
+        if (stripedTypes.contains(type)) {
+            long stripedSlot = stripedStore.slot(keyHash);
+            if (stripedSlot != RateLimitStore.NO_SLOT) {
+                stripedCounter.decrement(stripedSlot, epoch, probe());
+            }
+            return;
+        }
+
+        long slot;
+        do {
+            slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return;
+            }
+            giveBack(slot, epoch);
+        } while (!store.holds(slot, keyHash));
+    }
+
+    private long acquire(long slot, long epoch, long resetAfter) {
+        while (true) {
+            long current = store.get(slot, 0);
+            long count = epochOf(current) == epoch ? countOf(current) : 0;
+            if (count >= limit) {
+                return RateLimitDecision.deny(resetAfter);
+            }
+            if (store.compareAndSet(slot, 0, current, pack(epoch, count + 1))) {
+                return RateLimitDecision.allow(limit - count - 1, resetAfter);
+            }
+        }
+    }
+
+    private void giveBack(long slot, long epoch) {
+        while (true) {
+            long current = store.get(slot, 0);
+            // A window that has already rolled over has nothing to give back
+            if (epochOf(current) != epoch || countOf(current) == 0
+                    || store.compareAndSet(slot, 0, current, current - 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A window's count is ignored once the window has ended. Striped keys are
+     * few and hot, so only the unstriped store is expired.
+     */
+    @Override
+    public long idleAtMillis(long slot, long nowMillis) {
+        return (epochOf(store.get(slot, 0)) + 1) * WINDOW_MILLIS;
+    }
+
+    @Override
+    public long getMaxIdleMillis() {
+        return WINDOW_MILLIS;
+    }
+
+    static long pack(long epoch, long count) {
+        return (epoch << COUNT_BITS) | count;
+    }
+
+    static long epochOf(long state) {
+        return state >>> COUNT_BITS;
+    }
+
+    static long countOf(long state) {
+        return state & COUNT_MASK;
+    }
+
+    /**
+     * Spreads the current thread's id so threads map to distinct cells.
+     */
+    private static int probe() {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32);
+    }
+}
@@ -0,0 +1,132 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.RateLimitStore;
+import com.jrusco.ratelimiter.util.Constants;
+
+/**
+ * Lock-free Generic Cell Rate Algorithm.
+ *
+ * <p>Each key stores only its theoretical arrival time (TAT) in epoch
+ * microseconds. A request is admitted if it arrives no earlier than
+ * {@code TAT - burst * interval}, and admitting it pushes the TAT one emission
+ * interval further. Remaining permits, reset and retry times are all derived
+ * from the TAT, so one CAS on one word is the whole update.
+ */
+public class GcraEngine implements RateLimitEngine {
+
+    public static final int RECORD_WORDS = 1;
+
+    private static final long MICROS_PER_MILLI = 1_000L;
+
+    private final long burst;
+    private final long emissionIntervalMicros;
+    private final long burstOffsetMicros;
+    private final RateLimitStore store;
+
+    /**
+     * @param burst         requests that may be admitted back to back
+     * @param ratePerMinute sustained requests per minute
+     * @param store         where arrival times live
+     */
+    public GcraEngine(long burst, long ratePerMinute, RateLimitStore store) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be positive");
+        }
+        if (ratePerMinute < 1) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.burst = burst;
+        this.emissionIntervalMicros = Constants.MILLIS_PER_MINUTE * MICROS_PER_MILLI / ratePerMinute;
+        this.burstOffsetMicros = burst * emissionIntervalMicros;
+        this.store = RateLimitEngines.requireRecordWords(store, RECORD_WORDS);
+    }
+
+    @Override
+    public RateLimitAlgorithm getAlgorithm() {
+        return RateLimitAlgorithm.GCRA;
+    }
+
+    @Override
+    public long getLimit() {
+        return burst;
+    }
+
+    @Override
+    public long getStateBytesPerKey() {
+        return store.getBytesPerKey();
+    }
+
+    @Override
+    public long tryAcquire(RateLimitType type, long keyHash, long nowMillis) {
+        while (true) {
+            long slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return RateLimitEngines.STORE_FULL;
+            }
+            long decision = acquire(slot, nowMillis);
+            if (store.holds(slot, keyHash)) {
+                return decision;
+            }
+            // The key was removed and its slot reused meanwhile; take the emission back and resolve it again
+            if (RateLimitDecision.isAllowed(decision)) {
+                giveBack(slot);
+            }
+        }
+    }
+
+    @Override
+    public void release(RateLimitType type, long keyHash, long nowMillis) {
+        long slot;
+        do {
+            slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return;
+            }
+            giveBack(slot);
+        } while (!store.holds(slot, keyHash));
+    }
+
+    private long acquire(long slot, long nowMillis) {
+        long now = nowMillis * MICROS_PER_MILLI;
+        while (true) {
+            long tat = store.get(slot, 0);
+            long newTat = Math.max(tat, now) + emissionIntervalMicros;
+            long allowAt = newTat - burstOffsetMicros;
+            if (now < allowAt) {
+                return RateLimitDecision.deny(toMillis(allowAt - now));
+            }
+            if (store.compareAndSet(slot, 0, tat, newTat)) {
+                long remaining = (now - allowAt) / emissionIntervalMicros;
+                return RateLimitDecision.allow(remaining, toMillis(newTat - now));
+            }
+        }
+    }
+
+    private void giveBack(long slot) {
+        while (true) {
+            long tat = store.get(slot, 0);
+            if (tat == 0 || store.compareAndSet(slot, 0, tat, tat - emissionIntervalMicros)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Once the TAT has passed, a key is indistinguishable from a new one.
+     */
+    @Override
+    public long idleAtMillis(long slot, long nowMillis) {
+        return toMillis(store.get(slot, 0));
+    }
+
+    @Override
+    public long getMaxIdleMillis() {
+        return toMillis(burstOffsetMicros);
+    }
+
+    private static long toMillis(long micros) {
+        return (micros + MICROS_PER_MILLI - 1) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,176 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.RateLimitStore;
+
+/**
+ * Several sliding window counters enforced together, such as 10 per second,
+ * 500 per minute and 10,000 per hour.
+ *
+ * <p>All tiers of a key live in one record, one {@link SlidingWindowCounter}
+ * word per tier, so a check costs a single slot lookup and touches adjacent
+ * words. Tiers are counted in order; when one denies, the tiers already counted
+ * are given back so a denied request consumes nothing. Decisions are tagged
+ * with the binding tier: the denying tier with the longest wait, or else the
+ * tier with the fewest permits left.
+ */
+public class MultiTierEngine implements RateLimitEngine {
+
+    private final RateLimitStore store;
+    private final SlidingWindowCounter[] counters;
+    private final long maxWindowMillis;
+
+    /**
+     * @param limits        requests allowed per window, one per tier
+     * @param windowMillis  window length of each tier, in increasing order
+     * @param store         where counters live, with {@link #recordWords(int)} words per record
+     */
+    public MultiTierEngine(long[] limits, long[] windowMillis, RateLimitStore store) {
+        if (limits.length != windowMillis.length) {
+            throw new IllegalArgumentException("Each tier needs both a limit and a window");
+        }
+        if (limits.length < 1 || limits.length > RateLimitDecision.MAX_TIERS) {
+            throw new IllegalArgumentException("Tier count must be between 1 and " + RateLimitDecision.MAX_TIERS);
+        }
+        this.store = RateLimitEngines.requireRecordWords(store, recordWords(limits.length));
+        this.counters = new SlidingWindowCounter[limits.length];
+        for (int tier = 0; tier < limits.length; tier++) {
+            if (tier > 0 && windowMillis[tier] <= windowMillis[tier - 1]) {
+                throw new IllegalArgumentException("Tier windows must be in increasing order");
+            }
+            counters[tier] = new SlidingWindowCounter(store, limits[tier], windowMillis[tier]);
+        }
+        this.maxWindowMillis = windowMillis[windowMillis.length - 1];
+    }
+
+    /**
+     * Record words needed for the given number of tiers.
+     */
+    public static int recordWords(int tiers) {
+        return tiers;
+    }
+
+    @Override
+    public RateLimitAlgorithm getAlgorithm() {
+        return RateLimitAlgorithm.MULTI_TIER;
+    }
+
+    /**
+     * The shortest tier's limit, which caps how many permits a burst can take.
+     */
+    @Override
+    public long getLimit() {
+        return counters[0].getLimit();
+    }
+
+    @Override
+    public int getTierCount() {
+        return counters.length;
+    }
+
+    @Override
+    public long getLimit(int tier) {
+        return counters[tier].getLimit();
+    }
+
+    @Override
+    public long getTierWindowMillis(int tier) {
+        return counters[tier].getWindowMillis();
+    }
+
+    @Override
+    public long getStateBytesPerKey() {
+        return store.getBytesPerKey();
+    }
+
+    @Override
+    public long tryAcquire(RateLimitType type, long keyHash, long nowMillis) {
+        while (true) {
+            long slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return RateLimitEngines.STORE_FULL;
+            }
+            long decision = acquire(slot, nowMillis);
+            if (store.holds(slot, keyHash)) {
+                return decision;
+            }
+            // The key was removed and its slot reused meanwhile; take the counts back and resolve it again
+            if (RateLimitDecision.isAllowed(decision)) {
+                giveBack(slot, nowMillis);
+            }
+        }
+    }
+
+    @Override
+    public void release(RateLimitType type, long keyHash, long nowMillis) {
+        long slot;
+        do {
+            slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return;
+            }
+            giveBack(slot, nowMillis);
+        } while (!store.holds(slot, keyHash));
+    }
+
+    private long acquire(long slot, long nowMillis) {
+        long binding = 0;
+        int bindingTier = 0;
+        for (int tier = 0; tier < counters.length; tier++) {
+            long decision = counters[tier].tryAcquire(slot, tier, nowMillis);
+            if (!RateLimitDecision.isAllowed(decision)) {
+                return deny(slot, tier, decision, nowMillis);
+            }
+            if (tier == 0 || RateLimitDecision.isMoreRestrictive(decision, binding)) {
+                binding = decision;
+                bindingTier = tier;
+            }
+        }
+        return RateLimitDecision.withTier(binding, bindingTier);
+    }
+
+    private void giveBack(long slot, long nowMillis) {
+        for (int tier = 0; tier < counters.length; tier++) {
+            counters[tier].release(slot, tier, nowMillis);
+        }
+    }
+
+    /**
+     * The record is idle once every tier's counts have stopped mattering.
+     */
+    @Override
+    public long idleAtMillis(long slot, long nowMillis) {
+        long idleAt = 0;
+        for (int tier = 0; tier < counters.length; tier++) {
+            idleAt = Math.max(idleAt, counters[tier].idleAtMillis(slot, tier, nowMillis));
+        }
+        return idleAt;
+    }
+
+    @Override
+    public long getMaxIdleMillis() {
+        return 2 * maxWindowMillis;
+    }
+
+    /**
+     * Gives back the tiers counted before {@code deniedTier} and reports the
+     * longest wait among the tiers that would deny.
+     */
+    private long deny(long slot, int deniedTier, long denied, long nowMillis) {
+        for (int tier = 0; tier < deniedTier; tier++) {
+            counters[tier].release(slot, tier, nowMillis);
+        }
+        long binding = denied;
+        int bindingTier = deniedTier;
+        for (int tier = deniedTier + 1; tier < counters.length; tier++) {
+            long decision = counters[tier].peek(slot, tier, nowMillis);
+            if (!RateLimitDecision.isAllowed(decision)
+                    && RateLimitDecision.retryAfterMillis(decision) > RateLimitDecision.retryAfterMillis(binding)) {
+                binding = decision;
+                bindingTier = tier;
+            }
+        }
+        return RateLimitDecision.withTier(binding, bindingTier);
+    }
+}
@@ -0,0 +1,110 @@
+package com.jrusco.ratelimiter.algorithm;
+
+/**
+ * Encodes a rate limit decision into a single primitive {@code long} so engines
+ * can report a result without allocating.
+ *
+ * <p>Layout: bit 63 is the allowed flag, bits 59-62 hold the index of the tier
+ * that decided the request, bits 32-58 hold the remaining permits and bits 0-31
+ * hold a delay in milliseconds. For allowed decisions the delay is the time
+ * until the limit is fully reset; for denied decisions it is the time until the
+ * next request may be admitted. Engines with a single limit always report
+ * tier 0.
+ */
+public final class RateLimitDecision {
+
+    private static final long ALLOWED_BIT = 1L << 63;
+    private static final int TIER_SHIFT = 59;
+    private static final long TIER_MASK = 0xFL;
+    private static final int REMAINING_SHIFT = 32;
+    private static final long REMAINING_MASK = 0x07FF_FFFFL;
+    private static final long DELAY_MASK = 0xFFFF_FFFFL;
+
+    /** Tiers that can be told apart in a decision. */
+    public static final int MAX_TIERS = (int) TIER_MASK + 1;
+
+    private RateLimitDecision() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * Creates an allowed decision.
+     *
+     * @param remaining        permits left after this request
+     * @param resetAfterMillis milliseconds until the limit is fully reset
+     * @return the packed decision
+     */
+    public static long allow(long remaining, long resetAfterMillis) {
+        return ALLOWED_BIT
+                | (clamp(remaining, REMAINING_MASK) << REMAINING_SHIFT)
+                | clamp(resetAfterMillis, DELAY_MASK);
+    }
+
+    /**
+     * Creates a denied decision.
+     *
+     * @param retryAfterMillis milliseconds until the next request may be admitted
+     * @return the packed decision
+     */
+    public static long deny(long retryAfterMillis) {
+        return clamp(Math.max(1L, retryAfterMillis), DELAY_MASK);
+    }
+
+    public static boolean isAllowed(long decision) {
+        return decision < 0;
+    }
+
+    public static long remaining(long decision) {
+        return (decision >>> REMAINING_SHIFT) & REMAINING_MASK;
+    }
+
+    /**
+     * Milliseconds until the limit resets, or until the next admission for a
+     * denied decision.
+     */
+    public static long resetAfterMillis(long decision) {
+        return decision & DELAY_MASK;
+    }
+
+    /**
+     * Milliseconds until the next request may be admitted, or 0 if allowed.
+     */
+    public static long retryAfterMillis(long decision) {
+        return isAllowed(decision) ? 0L : decision & DELAY_MASK;
+    }
+
+    /**
+     * Index of the tier that decided the request.
+     */
+    public static int tier(long decision) {
+        return (int) ((decision >>> TIER_SHIFT) & TIER_MASK);
+    }
+
+    /**
+     * Tags a decision with the tier that decided it.
+     *
+     * @param tier the tier index, below {@link #MAX_TIERS}
+     * @return the packed decision
+     */
+    public static long withTier(long decision, int tier) {
+        return (decision & ~(TIER_MASK << TIER_SHIFT)) | ((tier & TIER_MASK) << TIER_SHIFT);
+    }
+
+    /**
+     * Whether {@code decision} leaves the caller less room than {@code other}:
+     * fewer permits left, or on a tie, the later reset.
+     */
+    public static boolean isMoreRestrictive(long decision, long other) {
+        long remaining = remaining(decision);
+        long otherRemaining = remaining(other);
+        return remaining < otherRemaining
+                || (remaining == otherRemaining && resetAfterMillis(decision) > resetAfterMillis(other));
+    }
+
+    private static long clamp(long value, long max) {
+        if (value < 0) {
+            return 0;
+        }
+        return Math.min(value, max);
+    }
+}
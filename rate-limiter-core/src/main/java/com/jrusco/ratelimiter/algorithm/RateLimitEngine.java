@@ -0,0 +1,86 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import com.jrusco.ratelimiter.store.RecordExpiry;
+
+/**
+ * A rate limiting algorithm together with the per-key state it needs.
+ * Implementations must be thread-safe and should not allocate on the hot path.
+ * As a {@link RecordExpiry} an engine tells when a record in its store has gone
+ * idle, so quiet keys can be reclaimed.
+ */
+public interface RateLimitEngine extends RecordExpiry {
+
+    /**
+     * The algorithm implemented by this engine.
+     */
+    RateLimitAlgorithm getAlgorithm();
+
+    /**
+     * The maximum number of permits a single key can hold.
+     */
+    long getLimit();
+
+    /**
+     * Number of limits enforced together for each key, see
+     * {@link RateLimitDecision#tier(long)}.
+     */
+    default int getTierCount() {
+        return 1;
+    }
+
+    /**
+     * The permits a key can hold in the given tier.
+     */
+    default long getLimit(int tier) {
+        return getLimit();
+    }
+
+    /**
+     * Length of the given tier's window in milliseconds, or {@code 0} if the
+     * engine has a single limit.
+     */
+    default long getTierWindowMillis(int tier) {
+        return 0;
+    }
+
+    /**
+     * Approximate bytes of state held per key, for capacity planning.
+     */
+    long getStateBytesPerKey();
+
+    /**
+     * Attempts to consume one permit for the given key.
+     *
+     * @param type      the rate limit dimension
+     * @param keyHash   the key's hash, see {@link KeyHasher}
+     * @param nowMillis the current time in epoch milliseconds
+     * @return a decision packed by {@link RateLimitDecision}
+     */
+    long tryAcquire(RateLimitType type, long keyHash, long nowMillis);
+
+    /**
+     * Attempts to consume one permit for the given key.
+     *
+     * @param type       the rate limit dimension
+     * @param identifier the key within that dimension
+     * @param nowMillis  the current time in epoch milliseconds
+     * @return a decision packed by {@link RateLimitDecision}
+     */
+    default long tryAcquire(RateLimitType type, String identifier, long nowMillis) {
+        return tryAcquire(type, KeyHasher.hash(type, identifier), nowMillis);
+    }
+
+    /**
+     * Gives back a permit taken by {@link #tryAcquire(RateLimitType, long, long)}
+     * at the same time, so a group of checks can be rolled back when one of them
+     * is denied. Requests made in between may have seen the permit as used.
+     *
+     * @param type      the rate limit dimension
+     * @param keyHash   the key's hash, see {@link KeyHasher}
+     * @param nowMillis the time the permit was acquired at
+     */
+    void release(RateLimitType type, long keyHash, long nowMillis);
+}
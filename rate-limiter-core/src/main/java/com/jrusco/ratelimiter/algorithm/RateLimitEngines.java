@@ -0,0 +1,32 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.store.RateLimitStore;
+import com.jrusco.ratelimiter.util.Constants;
+
+/**
+ * Helpers shared by the engine implementations.
+ */
+final class RateLimitEngines {
+
+    /**
+     * Decision for a new key the store has no room for. The key is denied
+     * rather than admitted uncounted, so a flood of new keys cannot get past
+     * the limits; room frees up as idle keys are expired.
+     */
+    static final long STORE_FULL = RateLimitDecision.deny(Constants.MILLIS_PER_SECOND);
+
+    private RateLimitEngines() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * Checks that a store's records are wide enough for an engine's state.
+     */
+    static RateLimitStore requireRecordWords(RateLimitStore store, int recordWords) {
+        if (store.getRecordWords() < recordWords) {
+            throw new IllegalArgumentException("Store records have " + store.getRecordWords()
+                    + " words, engine needs " + recordWords);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,160 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.store.RateLimitStore;
+
+/**
+ * Sliding window counter held in a single word of a store record.
+ *
+ * <p>The sliding window is estimated as the current window's count plus the
+ * previous window's count weighted by how much of it still overlaps the
+ * sliding window. The word's upper 26 bits hold the window epoch (wrapping) and
+ * the lower 38 bits hold the previous and current counts, 19 bits each. Several
+ * counters with different window lengths can share one record, each in its own
+ * word.
+ */
+final class SlidingWindowCounter {
+
+    static final int COUNT_BITS = 19;
+    static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    static final int EPOCH_SHIFT = 2 * COUNT_BITS;
+    static final long EPOCH_MASK = (1L << (Long.SIZE - EPOCH_SHIFT)) - 1;
+
+    private final RateLimitStore store;
+    private final long limit;
+    private final long windowMillis;
+
+    SlidingWindowCounter(RateLimitStore store, long limit, long windowMillis) {
+        if (limit < 1 || limit > COUNT_MASK) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + COUNT_MASK);
+        }
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("Window must be at least 1 ms");
+        }
+        this.store = store;
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+    }
+
+    long getLimit() {
+        return limit;
+    }
+
+    long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Counts one request if the estimate leaves room for it.
+     *
+     * @return a decision packed by {@link RateLimitDecision}
+     */
+    long tryAcquire(long slot, int word, long nowMillis) {
+        long epoch = (nowMillis / windowMillis) & EPOCH_MASK;
+        long elapsed = nowMillis % windowMillis;
+        while (true) {
+            long current = store.get(slot, word);
+            long previousCount = previousCount(current, epoch);
+            long currentCount = currentCount(current, epoch);
+            long headroom = headroom(previousCount, currentCount, elapsed);
+            if (headroom < 0) {
+                return RateLimitDecision.deny(retryAfter(previousCount, currentCount, elapsed));
+            }
+            if (store.compareAndSet(slot, word, current, pack(epoch, previousCount, currentCount + 1))) {
+                // The current window stops counting once the next window has fully elapsed
+                return RateLimitDecision.allow(headroom / windowMillis, 2 * windowMillis - elapsed);
+            }
+        }
+    }
+
+    /**
+     * Reports what {@link #tryAcquire} would decide without counting the request.
+     *
+     * @return a decision packed by {@link RateLimitDecision}
+     */
+    long peek(long slot, int word, long nowMillis) {
+        long epoch = (nowMillis / windowMillis) & EPOCH_MASK;
+        long elapsed = nowMillis % windowMillis;
+        long current = store.get(slot, word);
+        long previousCount = previousCount(current, epoch);
+        long currentCount = currentCount(current, epoch);
+        long headroom = headroom(previousCount, currentCount, elapsed);
+        return headroom < 0
+                ? RateLimitDecision.deny(retryAfter(previousCount, currentCount, elapsed))
+                : RateLimitDecision.allow(headroom / windowMillis, 2 * windowMillis - elapsed);
+    }
+
+    /**
+     * Takes one request back out of the current window.
+     */
+    void release(long slot, int word, long nowMillis) {
+        long epoch = (nowMillis / windowMillis) & EPOCH_MASK;
+        while (true) {
+            long current = store.get(slot, word);
+            if ((current >>> EPOCH_SHIFT) != epoch || (current & COUNT_MASK) == 0
+                    || store.compareAndSet(slot, word, current, current - 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The counts stop mattering once the window after the stored one has ended.
+     */
+    long idleAtMillis(long slot, int word, long nowMillis) {
+        long nowEpoch = nowMillis / windowMillis;
+        long storedEpoch = store.get(slot, word) >>> EPOCH_SHIFT;
+        // Undo the epoch wrap by assuming the stored window is in the past
+        long windowsAgo = ((nowEpoch & EPOCH_MASK) - storedEpoch) & EPOCH_MASK;
+        return (nowEpoch - windowsAgo + 2) * windowMillis;
+    }
+
+    /**
+     * Permits left after one more request, scaled by the window length to stay
+     * in integer arithmetic; negative if the request does not fit.
+     */
+    private long headroom(long previousCount, long currentCount, long elapsed) {
+        long overlap = windowMillis - elapsed;
+        return limit * windowMillis - previousCount * overlap - (currentCount + 1) * windowMillis;
+    }
+
+    /**
+     * Time until the weighted estimate leaves room for one more request.
+     */
+    private long retryAfter(long previousCount, long currentCount, long elapsed) {
+        long allowedCarry = limit - currentCount - 1;
+        if (allowedCarry >= 0) {
+            // Wait in this window until the previous window's weight has decayed enough
+            return overlapNeeded(previousCount, allowedCarry) - elapsed;
+        }
+        // The current window alone is over the limit; its count becomes next window's carry
+        return windowMillis - elapsed + overlapNeeded(currentCount, limit - 1);
+    }
+
+    /**
+     * Elapsed time into a window after which {@code count} weighted by the
+     * remaining overlap is at most {@code allowedCarry}.
+     */
+    private long overlapNeeded(long count, long allowedCarry) {
+        if (count <= allowedCarry) {
+            return 0;
+        }
+        long maxOverlap = allowedCarry * windowMillis / count;
+        return windowMillis - maxOverlap;
+    }
+
+    private static long previousCount(long state, long epoch) {
+        long storedEpoch = state >>> EPOCH_SHIFT;
+        if (storedEpoch == epoch) {
+            return (state >>> COUNT_BITS) & COUNT_MASK;
+        }
+        return storedEpoch == ((epoch - 1) & EPOCH_MASK) ? state & COUNT_MASK : 0;
+    }
+
+    private static long currentCount(long state, long epoch) {
+        return (state >>> EPOCH_SHIFT) == epoch ? state & COUNT_MASK : 0;
+    }
+
+    static long pack(long epoch, long previousCount, long currentCount) {
+        return (epoch << EPOCH_SHIFT) | (previousCount << COUNT_BITS) | currentCount;
+    }
+}
@@ -0,0 +1,91 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.RateLimitStore;
+import com.jrusco.ratelimiter.util.Constants;
+
+/**
+ * Lock-free sliding window counter with one-minute windows.
+ *
+ * <p>The sliding window is estimated as the current window's count plus the
+ * previous window's count weighted by how much of it still overlaps the
+ * sliding window. Each key is a single {@code long} managed by a
+ * {@link SlidingWindowCounter}: a wrapping window epoch and the previous and
+ * current counts, 19 bits each.
+ */
+public class SlidingWindowCounterEngine implements RateLimitEngine {
+
+    public static final int RECORD_WORDS = 1;
+
+    static final long COUNT_MASK = SlidingWindowCounter.COUNT_MASK;
+
+    private static final long WINDOW_MILLIS = Constants.MILLIS_PER_MINUTE;
+
+    private final RateLimitStore store;
+    private final SlidingWindowCounter counter;
+
+    /**
+     * @param limit requests allowed per sliding window
+     * @param store where counters live
+     */
+    public SlidingWindowCounterEngine(long limit, RateLimitStore store) {
+        this.store = RateLimitEngines.requireRecordWords(store, RECORD_WORDS);
+        this.counter = new SlidingWindowCounter(store, limit, WINDOW_MILLIS);
+    }
+
+    @Override
+    public RateLimitAlgorithm getAlgorithm() {
+        return RateLimitAlgorithm.SLIDING_WINDOW_COUNTER;
+    }
+
+    @Override
+    public long getLimit() {
+        return counter.getLimit();
+    }
+
+    @Override
+    public long getStateBytesPerKey() {
+        return store.getBytesPerKey();
+    }
+
+    @Override
+    public long tryAcquire(RateLimitType type, long keyHash, long nowMillis) {
+        while (true) {
+            long slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return RateLimitEngines.STORE_FULL;
+            }
+            long decision = counter.tryAcquire(slot, 0, nowMillis);
+            if (store.holds(slot, keyHash)) {
+                return decision;
+            }
+            // The key was removed and its slot reused meanwhile; take the count back and resolve it again
+            if (RateLimitDecision.isAllowed(decision)) {
+                counter.release(slot, 0, nowMillis);
+            }
+        }
+    }
+
+    @Override
+    public void release(RateLimitType type, long keyHash, long nowMillis) {
+        long slot;
+        do {
+            slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return;
+            }
+            counter.release(slot, 0, nowMillis);
+        } while (!store.holds(slot, keyHash));
+    }
+
+    @Override
+    public long idleAtMillis(long slot, long nowMillis) {
+        return counter.idleAtMillis(slot, 0, nowMillis);
+    }
+
+    @Override
+    public long getMaxIdleMillis() {
+        return 2 * WINDOW_MILLIS;
+    }
+}
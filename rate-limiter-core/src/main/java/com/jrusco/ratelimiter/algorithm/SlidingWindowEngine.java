@@ -0,0 +1,100 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.RateLimitStore;
+import com.jrusco.ratelimiter.util.Constants;
+
+/**
+ * Sliding window log over one-minute windows. Every key keeps the timestamps
+ * of its admitted requests in a {@link SlidingWindowLog} record sized to the
+ * limit, so memory per key is bounded no matter how hard the key is hit.
+ */
+public class SlidingWindowEngine implements RateLimitEngine {
+
+    private static final long WINDOW_MILLIS = Constants.MILLIS_PER_MINUTE;
+
+    private final int limit;
+    private final RateLimitStore store;
+    private final SlidingWindowLog log;
+
+    /**
+     * @param limit requests allowed per sliding window
+     * @param store where logs live, with {@link #recordWords(int)} words per record
+     */
+    public SlidingWindowEngine(int limit, RateLimitStore store) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        this.limit = limit;
+        this.store = store;
+        this.log = new SlidingWindowLog(store, limit);
+    }
+
+    /**
+     * Record words the store needs for the given limit.
+     */
+    public static int recordWords(int limit) {
+        return SlidingWindowLog.recordWords(limit);
+    }
+
+    @Override
+    public RateLimitAlgorithm getAlgorithm() {
+        return RateLimitAlgorithm.SLIDING_WINDOW;
+    }
+
+    @Override
+    public long getLimit() {
+        return limit;
+    }
+
+    @Override
+    public long getStateBytesPerKey() {
+        return store.getBytesPerKey();
+    }
+
+    @Override
+    public long tryAcquire(RateLimitType type, long keyHash, long nowMillis) {
+        while (true) {
+            long slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return RateLimitEngines.STORE_FULL;
+            }
+            long decision = log.tryAcquire(slot, nowMillis, WINDOW_MILLIS);
+            if (store.holds(slot, keyHash)) {
+                return decision;
+            }
+            // The key was removed and its slot reused meanwhile; take the entry back and resolve it again
+            if (RateLimitDecision.isAllowed(decision)) {
+                log.remove(slot, nowMillis);
+            }
+        }
+    }
+
+    @Override
+    public void release(RateLimitType type, long keyHash, long nowMillis) {
+        long slot;
+        do {
+            slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return;
+            }
+            log.remove(slot, nowMillis);
+        } while (!store.holds(slot, keyHash));
+    }
+
+    @Override
+    public long idleAtMillis(long slot, long nowMillis) {
+        return log.idleAtMillis(slot, WINDOW_MILLIS);
+    }
+
+    @Override
+    public boolean retire(long slot, long nowMillis) {
+        return log.retire(slot, nowMillis, WINDOW_MILLIS);
+    }
+
+    @Override
+    public long getMaxIdleMillis() {
+        return WINDOW_MILLIS;
+    }
+}
@@ -0,0 +1,190 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.store.RateLimitStore;
+
+/**
+ * Request timestamps of one key kept as a primitive ring buffer inside a store
+ * record.
+ *
+ * <p>Record layout: word 0 is the header (a lock bit, the ring head and the
+ * entry count), word 1 is the base time and the remaining words hold the ring
+ * entries, two per word. Entries are {@code int} millisecond offsets from the
+ * base, so a logged request costs 4 bytes instead of a boxed {@code Long} and a
+ * deque node. Entries are appended in time order, which lets expired entries be
+ * evicted from the head; each entry is evicted at most once, so eviction is
+ * amortized O(1) per request.
+ *
+ * <p>A ring update touches several words, so the header's lock bit guards the
+ * record. It is held for a handful of array operations on one key only.
+ */
+final class SlidingWindowLog {
+
+    private static final int HEADER_WORD = 0;
+    private static final int BASE_WORD = 1;
+    private static final int ENTRIES_WORD = 2;
+    private static final long LOCK_BIT = 1L << 63;
+    private static final int FIELD_BITS = 31;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+    private static final long INT_MASK = 0xFFFF_FFFFL;
+
+    private final RateLimitStore store;
+    private final int capacity;
+
+    SlidingWindowLog(RateLimitStore store, int capacity) {
+        this.store = RateLimitEngines.requireRecordWords(store, recordWords(capacity));
+        this.capacity = capacity;
+    }
+
+    /**
+     * Record words needed for a log with the given capacity.
+     */
+    static int recordWords(int capacity) {
+        return ENTRIES_WORD + (capacity + 1) / 2;
+    }
+
+    /**
+     * Evicts expired entries and logs the request if there is room.
+     *
+     * @return a decision packed by {@link RateLimitDecision}
+     */
+    long tryAcquire(long slot, long nowMillis, long windowMillis) {
+        long header = lock(slot);
+        int head = (int) ((header >>> FIELD_BITS) & FIELD_MASK);
+        int size = (int) (header & FIELD_MASK);
+        long base = store.get(slot, BASE_WORD);
+        long decision;
+        try {
+            long expiredBefore = nowMillis - windowMillis;
+            while (size > 0 && base + entry(slot, head) <= expiredBefore) {
+                head = head + 1 == capacity ? 0 : head + 1;
+                size--;
+            }
+
+            if (size == capacity) {
+                decision = RateLimitDecision.deny(base + entry(slot, head) + windowMillis - nowMillis);
+            } else {
+                if (size == 0) {
+                    base = nowMillis;
+                    store.set(slot, BASE_WORD, base);
+                } else if (nowMillis - base > Integer.MAX_VALUE) {
+                    base = rebase(slot, head, size, base, nowMillis - windowMillis);
+                }
+                int tail = head + size;
+                setEntry(slot, tail >= capacity ? tail - capacity : tail, (int) (nowMillis - base));
+                size++;
+                decision = RateLimitDecision.allow(capacity - size, windowMillis);
+            }
+        } finally {
+            store.set(slot, HEADER_WORD, ((long) head << FIELD_BITS) | size);
+        }
+        return decision;
+    }
+
+    /**
+     * Drops one request logged at {@code loggedAtMillis}, undoing a
+     * {@link #tryAcquire} made at that time. Requests logged since by other
+     * callers are kept; nothing is dropped once the entry has been evicted.
+     */
+    void remove(long slot, long loggedAtMillis) {
+        long header = lock(slot);
+        int head = (int) ((header >>> FIELD_BITS) & FIELD_MASK);
+        int size = (int) (header & FIELD_MASK);
+        try {
+            long offset = loggedAtMillis - store.get(slot, BASE_WORD);
+            for (int i = size - 1; i >= 0; i--) {
+                int index = head + i >= capacity ? head + i - capacity : head + i;
+                if (entry(slot, index) != offset) {
+                    continue;
+                }
+                // Newer entries move back one place so the ring stays in time order
+                for (int next = i + 1; next < size; next++, index = index + 1 == capacity ? 0 : index + 1) {
+                    setEntry(slot, index, entry(slot, index + 1 == capacity ? 0 : index + 1));
+                }
+                size--;
+                break;
+            }
+        } finally {
+            store.set(slot, HEADER_WORD, ((long) head << FIELD_BITS) | size);
+        }
+    }
+
+    /**
+     * Time at which the newest logged request leaves the window, or {@code 0}
+     * if the log is empty.
+     */
+    long idleAtMillis(long slot, long windowMillis) {
+        long header = lock(slot);
+        try {
+            return idleAtMillis(slot, header, windowMillis);
+        } finally {
+            store.set(slot, HEADER_WORD, header);
+        }
+    }
+
+    /**
+     * Checks whether the log is idle, keeping the lock held if it is so no
+     * request can log to it before the store zeroes the record.
+     */
+    boolean retire(long slot, long nowMillis, long windowMillis) {
+        long header = lock(slot);
+        if (idleAtMillis(slot, header, windowMillis) <= nowMillis) {
+            return true;
+        }
+        store.set(slot, HEADER_WORD, header);
+        return false;
+    }
+
+    private long idleAtMillis(long slot, long header, long windowMillis) {
+        int size = (int) (header & FIELD_MASK);
+        if (size == 0) {
+            return 0;
+        }
+        int head = (int) ((header >>> FIELD_BITS) & FIELD_MASK);
+        int newest = head + size - 1;
+        return store.get(slot, BASE_WORD) + entry(slot, newest >= capacity ? newest - capacity : newest)
+                + windowMillis;
+    }
+
+    /**
+     * Spins until the record's lock bit is taken.
+     *
+     * @return the header without the lock bit
+     */
+    private long lock(long slot) {
+        while (true) {
+            long header = store.get(slot, HEADER_WORD);
+            if ((header & LOCK_BIT) == 0 && store.compareAndSet(slot, HEADER_WORD, header, header | LOCK_BIT)) {
+                return header;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Moves the base forward so offsets stay within {@code int} range. Only
+     * happens after a key has stayed busy for about 24 days.
+     */
+    private long rebase(long slot, int head, int size, long base, long newBase) {
+        // Live entries are newer than newBase, so the shift fits in an int
+        int shift = (int) (newBase - base);
+        for (int i = 0, index = head; i < size; i++, index = index + 1 == capacity ? 0 : index + 1) {
+            setEntry(slot, index, entry(slot, index) - shift);
+        }
+        store.set(slot, BASE_WORD, newBase);
+        return newBase;
+    }
+
+    private int entry(long slot, int index) {
+        long word = store.get(slot, ENTRIES_WORD + (index >>> 1));
+        return (int) ((index & 1) == 0 ? word : word >>> 32);
+    }
+
+    private void setEntry(long slot, int index, int offset) {
+        int wordIndex = ENTRIES_WORD + (index >>> 1);
+        long word = store.get(slot, wordIndex);
+        long updated = (index & 1) == 0
+                ? (word & ~INT_MASK) | (offset & INT_MASK)
+                : (word & INT_MASK) | ((long) offset << 32);
+        store.set(slot, wordIndex, updated);
+    }
+}
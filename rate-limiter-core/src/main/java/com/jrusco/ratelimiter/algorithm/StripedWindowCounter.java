@@ -0,0 +1,114 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.store.RateLimitStore;
+
+/**
+ * Fixed window counter split across cache-line padded cells, in the spirit of
+ * {@link java.util.concurrent.atomic.LongAdder}, for keys hit by many threads.
+ *
+ * <p>Each cell is a word of a store record that packs its own window epoch and
+ * count, and owns an equal share of the limit. A thread increments the cell it
+ * hashes to; only once that cell's share is used up does it scan the other
+ * cells for spare capacity. The window is therefore never over-admitted and the
+ * cells are only summed when the key is close to its limit.
+ */
+final class StripedWindowCounter {
+
+    /** Longs per 64-byte cache line; cells are spaced this far apart. */
+    private static final int PADDING = 8;
+
+    private final RateLimitStore store;
+    private final int stripes;
+    private final long baseQuota;
+    private final long extraQuotaStripes;
+
+    StripedWindowCounter(RateLimitStore store, int stripes, long limit) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two");
+        }
+        this.store = RateLimitEngines.requireRecordWords(store, recordWords(stripes));
+        this.stripes = stripes;
+        this.baseQuota = limit / stripes;
+        this.extraQuotaStripes = limit % stripes;
+    }
+
+    /**
+     * Record words needed for a counter with the given number of cells.
+     */
+    static int recordWords(int stripes) {
+        return stripes * PADDING;
+    }
+
+    /**
+     * Counts one request in the given window.
+     *
+     * @param slot  the key's record
+     * @param epoch the current window index
+     * @param probe a per-thread hash used to pick the home cell
+     * @return an estimate of the permits used in the window after this request,
+     *         or {@code -1} if every cell's share is exhausted
+     */
+    long tryIncrement(long slot, long epoch, int probe) {
+        int home = probe & (stripes - 1);
+        long count = tryIncrementCell(slot, home, epoch);
+        if (count >= 0) {
+            // Extrapolate from the home cell instead of reading every cell
+            return count * stripes;
+        }
+
+        for (int offset = 1; offset < stripes; offset++) {
+            if (tryIncrementCell(slot, (home + offset) & (stripes - 1), epoch) >= 0) {
+                return sum(slot, epoch);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Takes one request back out of the given window, starting at the home cell.
+     */
+    void decrement(long slot, long epoch, int probe) {
+        int home = probe & (stripes - 1);
+        for (int offset = 0; offset < stripes; offset++) {
+            int word = ((home + offset) & (stripes - 1)) * PADDING;
+            while (true) {
+                long current = store.get(slot, word);
+                if (FixedWindowEngine.epochOf(current) != epoch || FixedWindowEngine.countOf(current) == 0) {
+                    break;
+                }
+                if (store.compareAndSet(slot, word, current, current - 1)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sums the counts of all cells that belong to the given window.
+     */
+    long sum(long slot, long epoch) {
+        long total = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            long cell = store.get(slot, stripe * PADDING);
+            if (FixedWindowEngine.epochOf(cell) == epoch) {
+                total += FixedWindowEngine.countOf(cell);
+            }
+        }
+        return total;
+    }
+
+    private long tryIncrementCell(long slot, int stripe, long epoch) {
+        int word = stripe * PADDING;
+        long quota = stripe < extraQuotaStripes ? baseQuota + 1 : baseQuota;
+        while (true) {
+            long current = store.get(slot, word);
+            long count = FixedWindowEngine.epochOf(current) == epoch ? FixedWindowEngine.countOf(current) : 0;
+            if (count >= quota) {
+                return -1;
+            }
+            if (store.compareAndSet(slot, word, current, FixedWindowEngine.pack(epoch, count + 1))) {
+                return count + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.RateLimitStore;
+import com.jrusco.ratelimiter.util.Constants;
+
+/**
+ * Lock-free token bucket.
+ *
+ * <p>Each bucket is a single {@code long}: the upper 42 bits hold the last refill
+ * time in epoch milliseconds and the lower 22 bits hold the whole tokens left.
+ * Fractional refill progress is kept implicitly by only advancing the refill
+ * time by the time that whole tokens account for. A state of {@code 0} is a
+ * bucket that was refilled at the epoch, which reads back as full.
+ */
+public class TokenBucketEngine implements RateLimitEngine {
+
+    public static final int RECORD_WORDS = 1;
+
+    static final int TOKEN_BITS = 22;
+    static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    private final long capacity;
+    private final long refillPerMinute;
+    private final long fullRefillMillis;
+    private final long tokenIntervalMillis;
+    private final RateLimitStore store;
+
+    /**
+     * @param capacity        maximum tokens a bucket can hold (burst size)
+     * @param refillPerMinute tokens added per minute
+     * @param store           where buckets live
+     */
+    public TokenBucketEngine(long capacity, long refillPerMinute, RateLimitStore store) {
+        if (capacity < 1 || capacity > TOKEN_MASK) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + TOKEN_MASK);
+        }
+        if (refillPerMinute < 1) {
+            throw new IllegalArgumentException("Refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerMinute = refillPerMinute;
+        this.fullRefillMillis = ceilDiv(capacity * Constants.MILLIS_PER_MINUTE, refillPerMinute);
+        this.tokenIntervalMillis = ceilDiv(Constants.MILLIS_PER_MINUTE, refillPerMinute);
+        this.store = RateLimitEngines.requireRecordWords(store, RECORD_WORDS);
+    }
+
+    @Override
+    public RateLimitAlgorithm getAlgorithm() {
+        return RateLimitAlgorithm.TOKEN_BUCKET;
+    }
+
+    @Override
+    public long getLimit() {
+        return capacity;
+    }
+
+    @Override
+    public long getStateBytesPerKey() {
+        return store.getBytesPerKey();
+    }
+
+    @Override
+    public long tryAcquire(RateLimitType type, long keyHash, long nowMillis) {
+        while (true) {
+            long slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return RateLimitEngines.STORE_FULL;
+            }
+            long decision = acquire(slot, nowMillis);
+            if (store.holds(slot, keyHash)) {
+                return decision;
+            }
+            // The key was removed and its slot reused meanwhile; take the token back and resolve it again
+            if (RateLimitDecision.isAllowed(decision)) {
+                giveBack(slot);
+            }
+        }
+    }
+
+    @Override
+    public void release(RateLimitType type, long keyHash, long nowMillis) {
+        long slot;
+        do {
+            slot = store.slot(keyHash);
+            if (slot == RateLimitStore.NO_SLOT) {
+                return;
+            }
+            giveBack(slot);
+        } while (!store.holds(slot, keyHash));
+    }
+
+    /**
+     * Refills and consumes one token from the slot's bucket in a single CAS loop.
+     */
+    private long acquire(long slot, long nowMillis) {
+        while (true) {
+            long current = store.get(slot, 0);
+            long tokens = current & TOKEN_MASK;
+            long refilledAt = current >>> TOKEN_BITS;
+            long elapsed = nowMillis - refilledAt;
+
+            if (elapsed >= fullRefillMillis) {
+                tokens = capacity;
+                refilledAt = nowMillis;
+            } else if (elapsed > 0) {
+                long added = elapsed * refillPerMinute / Constants.MILLIS_PER_MINUTE;
+                if (added > 0) {
+                    tokens = Math.min(capacity, tokens + added);
+                    refilledAt = tokens == capacity
+                            ? nowMillis
+                            : refilledAt + added * Constants.MILLIS_PER_MINUTE / refillPerMinute;
+                }
+            }
+
+            if (tokens == 0) {
+                // Nothing to consume, so there is nothing to publish either
+                return RateLimitDecision.deny(tokenIntervalMillis - (nowMillis - refilledAt));
+            }
+
+            long remaining = tokens - 1;
+            if (store.compareAndSet(slot, 0, current, pack(remaining, refilledAt))) {
+                long resetAfter = ceilDiv((capacity - remaining) * Constants.MILLIS_PER_MINUTE, refillPerMinute)
+                        - (nowMillis - refilledAt);
+                return RateLimitDecision.allow(remaining, resetAfter);
+            }
+        }
+    }
+
+    private void giveBack(long slot) {
+        while (true) {
+            long current = store.get(slot, 0);
+            long tokens = current & TOKEN_MASK;
+            if (tokens >= capacity
+                    || store.compareAndSet(slot, 0, current, pack(tokens + 1, current >>> TOKEN_BITS))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A bucket is as good as new once it has refilled to capacity.
+     */
+    @Override
+    public long idleAtMillis(long slot, long nowMillis) {
+        long current = store.get(slot, 0);
+        long tokens = current & TOKEN_MASK;
+        long refilledAt = current >>> TOKEN_BITS;
+        return refilledAt + ceilDiv((capacity - tokens) * Constants.MILLIS_PER_MINUTE, refillPerMinute);
+    }
+
+    @Override
+    public long getMaxIdleMillis() {
+        return fullRefillMillis;
+    }
+
+    static long pack(long tokens, long refilledAt) {
+        return (refilledAt << TOKEN_BITS) | tokens;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+}
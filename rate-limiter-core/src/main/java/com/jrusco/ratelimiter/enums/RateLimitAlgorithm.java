@@ -0,0 +1,33 @@
+package com.jrusco.ratelimiter.enums;
+
+public enum RateLimitAlgorithm {
+    /**
+     * Token Bucket algorithm - allows bursts within limits
+     */
+    TOKEN_BUCKET,
+
+    /**
+     * Fixed Window Counter - resets count at fixed intervals
+     */
+    FIXED_WINDOW,
+
+    /**
+     * Sliding Window Log - maintains log of request timestamps
+     */
+    SLIDING_WINDOW,
+
+    /**
+     * Sliding Window Counter - weights previous window count to approximate a sliding window
+     */
+    SLIDING_WINDOW_COUNTER,
+
+    /**
+     * Generic Cell Rate Algorithm - tracks a single theoretical arrival time per key
+     */
+    GCRA,
+
+    /**
+     * Multi-Tier - sliding window counters for several windows, e.g. per second, minute and hour
+     */
+    MULTI_TIER
+}
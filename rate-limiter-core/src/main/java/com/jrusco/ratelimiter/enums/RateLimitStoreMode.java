@@ -0,0 +1,18 @@
+package com.jrusco.ratelimiter.enums;
+
+public enum RateLimitStoreMode {
+    /**
+     * In Memory - records in on-heap long[] pages, sized by key capacity
+     */
+    IN_MEMORY,
+
+    /**
+     * Off Heap - records in direct buffers outside the Java heap, sized by a byte budget
+     */
+    OFF_HEAP,
+
+    /**
+     * Redis - records in a Redis server shared by every node, updated by one script call per decision
+     */
+    REDIS
+}
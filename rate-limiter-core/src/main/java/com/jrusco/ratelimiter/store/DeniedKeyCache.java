@@ -0,0 +1,101 @@
+package com.jrusco.ratelimiter.store;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers denied keys until the time they may next be admitted, so repeat
+ * requests from a client that was just denied are answered without asking
+ * the store.
+ *
+ * <p>The cache is a fixed array of slots, each holding at most one key. A new
+ * denial takes its key's slot from whatever was there, and an entry past its
+ * retry time reads as absent, so the cache never grows and needs no sweeping.
+ * Losing an entry to a collision only costs a store call.
+ */
+public final class DeniedKeyCache {
+
+    /** Returned by {@link #lookup} for keys that are not known to be denied. */
+    public static final long NOT_DENIED = 0L;
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int slotMask;
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * @param capacity keys held at most; rounded up to a power of two
+     */
+    public DeniedKeyCache(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Denied key cache capacity must be between 1 and 2^30");
+        }
+        int slotCount = Integer.highestOneBit(capacity * 2 - 1);
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.slotMask = slotCount - 1;
+    }
+
+    /**
+     * Returns the denial for a key still inside its retry period, with the
+     * retry delay counted from {@code nowMillis}, or {@link #NOT_DENIED}.
+     */
+    public long lookup(long keyHash, long nowMillis) {
+        Entry entry = slots.get(index(keyHash));
+        if (entry == null || entry.keyHash != keyHash || nowMillis >= entry.deniedUntilMillis) {
+            return NOT_DENIED;
+        }
+        hits.increment();
+        return RateLimitDecision.withTier(RateLimitDecision.deny(entry.deniedUntilMillis - nowMillis), entry.tier);
+    }
+
+    /**
+     * Remembers a decision if it is a denial; admissions are ignored.
+     */
+    public void record(long keyHash, long decision, long nowMillis) {
+        if (RateLimitDecision.isAllowed(decision)) {
+            return;
+        }
+        slots.set(index(keyHash), new Entry(keyHash, nowMillis + RateLimitDecision.retryAfterMillis(decision),
+                RateLimitDecision.tier(decision)));
+    }
+
+    /**
+     * Forgets a key's denial, e.g. because permits were given back.
+     */
+    public void invalidate(long keyHash) {
+        int index = index(keyHash);
+        Entry entry = slots.get(index);
+        if (entry != null && entry.keyHash == keyHash) {
+            slots.compareAndSet(index, entry, null);
+        }
+    }
+
+    /**
+     * Requests answered from the cache so far.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    private int index(long keyHash) {
+        return (int) (keyHash ^ (keyHash >>> 32)) & slotMask;
+    }
+
+    private static final class Entry {
+
+        private final long keyHash;
+        private final long deniedUntilMillis;
+        private final int tier;
+
+        private Entry(long keyHash, long deniedUntilMillis, int tier) {
+            this.keyHash = keyHash;
+            this.deniedUntilMillis = deniedUntilMillis;
+            this.tier = tier;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.jrusco.ratelimiter.store;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Frees the records of keys that went quiet, using one {@link TimerWheel} per
+ * store.
+ *
+ * <p>Every new key is scheduled once, at the longest time its record can stay
+ * busy. When the deadline comes round the record is checked: if it already
+ * reads as never seen it is removed, otherwise the key is rescheduled at the
+ * time its record goes idle. Each live key thus has exactly one pending entry
+ * and a call to {@link #expire(long)} costs time proportional to the entries
+ * that fall due, not to the number of keys held.
+ */
+public final class IdleKeyReaper {
+
+    private final Clock clock;
+    private final long tickMillis;
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param clock      the time source used to schedule new keys
+     * @param tickMillis resolution of expiry deadlines
+     */
+    public IdleKeyReaper(Clock clock, long tickMillis) {
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+     * Starts expiring idle keys of the given store.
+     */
+    public void register(RateLimitStore store, RecordExpiry expiry) {
+        Registration registration = new Registration(store, expiry, new TimerWheel(tickMillis, clock.millis()));
+        store.setClaimListener((keyHash, slot) ->
+                registration.wheel.schedule(slot, keyHash, clock.millis() + expiry.getMaxIdleMillis()));
+        registrations.add(registration);
+    }
+
+    /**
+     * Removes the keys that have become idle by {@code nowMillis}. Must not be
+     * called concurrently with itself.
+     *
+     * @return the number of keys removed
+     */
+    public long expire(long nowMillis) {
+        long removed = 0;
+        for (Registration registration : registrations) {
+            registration.removed = 0;
+            registration.wheel.advance(nowMillis, registration);
+            removed += registration.removed;
+        }
+        return removed;
+    }
+
+    /**
+     * Keys awaiting expiry across all stores, excluding ones scheduled since
+     * the last {@link #expire(long)}.
+     */
+    public long scheduledKeys() {
+        long scheduled = 0;
+        for (Registration registration : registrations) {
+            scheduled += registration.wheel.size();
+        }
+        return scheduled;
+    }
+
+    private static final class Registration implements TimerWheel.Handler {
+
+        private final RateLimitStore store;
+        private final RecordExpiry expiry;
+        private final TimerWheel wheel;
+        private long removed;
+
+        private Registration(RateLimitStore store, RecordExpiry expiry, TimerWheel wheel) {
+            this.store = store;
+            this.expiry = expiry;
+            this.wheel = wheel;
+        }
+
+        @Override
+        public long onDeadline(long slot, long keyHash, long nowMillis) {
+            long idleAt = expiry.idleAtMillis(slot, nowMillis);
+            if (idleAt > nowMillis) {
+                return idleAt;
+            }
+            if (store.remove(keyHash, slot, expiry, nowMillis)) {
+                removed++;
+                return -1;
+            }
+            // A request updated the record after the check; only the reaper removes keys, so it is still held
+            return expiry.idleAtMillis(slot, nowMillis);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.jrusco.ratelimiter.store;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open-addressing store laid out in on-heap {@code long[]} pages.
+ *
+ * <p>No identifier strings, boxed values or entry objects are retained, so the
+ * heap holds a handful of large arrays no matter how many keys are live. Pages
+ * are allocated on first touch, which keeps an unused store almost free.
+ */
+public class InMemoryRateLimitStore extends OpenAddressingRateLimitStore {
+
+    static final int MAX_PAGE_SLOTS_BITS = 12;
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int pageSlotsBits;
+    private final int pageSlotMask;
+    private final AtomicReferenceArray<long[]> pages;
+    private final AtomicInteger allocatedPages = new AtomicInteger();
+
+    /**
+     * @param capacity    maximum keys, rounded up to a power of two
+     * @param recordWords state words per key
+     */
+    public InMemoryRateLimitStore(long capacity, int recordWords) {
+        super(slotsFor(capacity), recordWords);
+        int pageBits = Math.min(MAX_PAGE_SLOTS_BITS, Long.numberOfTrailingZeros(this.slots));
+        if ((this.slots >> pageBits) > Integer.MAX_VALUE || ((long) slotWords << pageBits) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Store is too large for in-memory pages");
+        }
+        this.pageSlotsBits = pageBits;
+        this.pageSlotMask = (1 << pageBits) - 1;
+        this.pages = new AtomicReferenceArray<>((int) (this.slots >> pageBits));
+    }
+
+    @Override
+    public long getReservedBytes() {
+        return (long) allocatedPages.get() * (pageSlotMask + 1) * slotWords * 8L;
+    }
+
+    @Override
+    protected long getWord(long slot, int index) {
+        return (long) WORDS.getVolatile(page(slot), offset(slot) + index);
+    }
+
+    @Override
+    protected void setWord(long slot, int index, long value) {
+        WORDS.setVolatile(page(slot), offset(slot) + index, value);
+    }
+
+    @Override
+    protected boolean compareAndSetWord(long slot, int index, long expected, long value) {
+        return WORDS.compareAndSet(page(slot), offset(slot) + index, expected, value);
+    }
+
+    private long[] page(long slot) {
+        int pageIndex = (int) (slot >>> pageSlotsBits);
+        long[] page = pages.get(pageIndex);
+        if (page == null) {
+            long[] allocated = new long[(pageSlotMask + 1) * slotWords];
+            if (pages.compareAndSet(pageIndex, null, allocated)) {
+                allocatedPages.incrementAndGet();
+                page = allocated;
+            } else {
+                page = pages.get(pageIndex);
+            }
+        }
+        return page;
+    }
+
+    private int offset(long slot) {
+        return (int) (slot & pageSlotMask) * slotWords;
+    }
+
+    private static long slotsFor(long capacity) {
+        if (capacity < 1 || capacity > 1L << 40) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^40");
+        }
+        // Two slots per key keep the table at most half full
+        return Long.highestOneBit(capacity * 2 - 1) * 2;
+    }
+}
@@ -0,0 +1,75 @@
+package com.jrusco.ratelimiter.store;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+
+/**
+ * 64-bit hashing of (type, identifier) keys, so stores never have to retain the
+ * identifier itself.
+ *
+ * <p>The hash is FNV-1a over the identifier's chars seeded with the type,
+ * finished with the MurmurHash3 64-bit mixer. It is exposed in steps so callers
+ * that already walk an identifier character by character can hash it in the
+ * same loop.
+ */
+public final class KeyHasher {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private KeyHasher() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * Hashes a complete key.
+     */
+    public static long hash(RateLimitType type, CharSequence identifier) {
+        long hash = seed(type);
+        for (int i = 0, length = identifier.length(); i < length; i++) {
+            hash = update(hash, identifier.charAt(i));
+        }
+        return finish(hash);
+    }
+
+    /**
+     * Hashes a key whose identifier is already packed into two words, such as
+     * a parsed IP address. Both steps are bijections, so distinct words of the
+     * same type never collide before the table index is taken.
+     */
+    public static long hash(RateLimitType type, long high, long low) {
+        return finish(updateWord(updateWord(seed(type), high), low));
+    }
+
+    /**
+     * Starts a hash for a key of the given type.
+     */
+    public static long seed(RateLimitType type) {
+        return (FNV_OFFSET_BASIS ^ type.ordinal()) * FNV_PRIME;
+    }
+
+    /**
+     * Folds one identifier character into the hash.
+     */
+    public static long update(long hash, char c) {
+        return (hash ^ c) * FNV_PRIME;
+    }
+
+    /**
+     * Folds a whole 64-bit word of a packed identifier into the hash.
+     */
+    public static long updateWord(long hash, long word) {
+        return (hash ^ word) * FNV_PRIME;
+    }
+
+    /**
+     * Finishes a hash so that every input bit affects every output bit.
+     */
+    public static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,110 @@
+package com.jrusco.ratelimiter.store;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open-addressing store laid out in direct {@link ByteBuffer} segments outside
+ * the Java heap.
+ *
+ * <p>The store is sized by a byte budget rather than a key count: it takes the
+ * largest power-of-two number of slots whose records fit in the budget, and
+ * holds half as many keys. The
+ * garbage collector never scans or copies the records, so tens of millions of
+ * keys add nothing to pause times; the heap only holds the segment table.
+ * Segments are allocated on first touch and count against
+ * {@code -XX:MaxDirectMemorySize}.
+ */
+public class OffHeapRateLimitStore extends OpenAddressingRateLimitStore {
+
+    static final int MAX_SEGMENT_BYTES_BITS = 24;
+
+    private static final int WORD_BYTES = Long.BYTES;
+    private static final VarHandle WORDS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final int slotBytes;
+    private final int segmentSlotsBits;
+    private final int segmentSlotMask;
+    private final AtomicReferenceArray<ByteBuffer> segments;
+    private final AtomicInteger allocatedSegments = new AtomicInteger();
+
+    /**
+     * @param offHeapBytes maximum bytes to reserve outside the heap
+     * @param recordWords  state words per key
+     */
+    public OffHeapRateLimitStore(long offHeapBytes, int recordWords) {
+        super(slotsFor(offHeapBytes, recordWords), recordWords);
+        this.slotBytes = slotWords * WORD_BYTES;
+        int maxSegmentSlotsBits = 63 - Long.numberOfLeadingZeros((1L << MAX_SEGMENT_BYTES_BITS) / slotBytes);
+        if (maxSegmentSlotsBits < 0) {
+            throw new IllegalArgumentException("Records are too large for off-heap segments");
+        }
+        int segmentBits = Math.min(maxSegmentSlotsBits, Long.numberOfTrailingZeros(this.slots));
+        if ((this.slots >> segmentBits) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Store is too large for off-heap segments");
+        }
+        this.segmentSlotsBits = segmentBits;
+        this.segmentSlotMask = (1 << segmentBits) - 1;
+        this.segments = new AtomicReferenceArray<>((int) (this.slots >> segmentBits));
+    }
+
+    @Override
+    public long getReservedBytes() {
+        return (long) allocatedSegments.get() * (segmentSlotMask + 1) * slotBytes;
+    }
+
+    @Override
+    protected long getWord(long slot, int index) {
+        return (long) WORDS.getVolatile(segment(slot), offset(slot) + index * WORD_BYTES);
+    }
+
+    @Override
+    protected void setWord(long slot, int index, long value) {
+        WORDS.setVolatile(segment(slot), offset(slot) + index * WORD_BYTES, value);
+    }
+
+    @Override
+    protected boolean compareAndSetWord(long slot, int index, long expected, long value) {
+        return WORDS.compareAndSet(segment(slot), offset(slot) + index * WORD_BYTES, expected, value);
+    }
+
+    private ByteBuffer segment(long slot) {
+        int segmentIndex = (int) (slot >>> segmentSlotsBits);
+        ByteBuffer segment = segments.get(segmentIndex);
+        if (segment == null) {
+            // Atomic access needs 8-byte aligned words; direct memory starts zeroed
+            int bytes = (segmentSlotMask + 1) * slotBytes;
+            ByteBuffer allocated = ByteBuffer.allocateDirect(bytes + WORD_BYTES - 1)
+                    .alignedSlice(WORD_BYTES)
+                    .order(ByteOrder.nativeOrder());
+            if (segments.compareAndSet(segmentIndex, null, allocated)) {
+                allocatedSegments.incrementAndGet();
+                segment = allocated;
+            } else {
+                segment = segments.get(segmentIndex);
+            }
+        }
+        return segment;
+    }
+
+    private int offset(long slot) {
+        return (int) (slot & segmentSlotMask) * slotBytes;
+    }
+
+    private static long slotsFor(long offHeapBytes, int recordWords) {
+        if (recordWords < 1) {
+            throw new IllegalArgumentException("Record words must be positive");
+        }
+        long slots = offHeapBytes / ((recordWords + 1L) * WORD_BYTES);
+        // Two slots per key keep the table at most half full
+        if (slots < 2) {
+            throw new IllegalArgumentException("Off-heap budget is too small for a single key");
+        }
+        return Long.highestOneBit(Math.min(slots, 1L << 41));
+    }
+}
@@ -0,0 +1,295 @@
+package com.jrusco.ratelimiter.store;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock-free open-addressing table of fixed-size {@code long} records, leaving
+ * the backing memory to subclasses.
+ *
+ * <p>Each slot is one key word holding the key hash followed by the record's
+ * state words. Keys are found by linear probing without locks. A key word of
+ * {@code 0} marks a never-used slot and ends a probe; removed keys leave a
+ * tombstone so probe chains stay intact, and the tombstone is zeroed and
+ * reused by the next new key whose chain passes it. Claiming a slot for a new
+ * key and removing a key are serialized per key (rare paths), so two threads
+ * can never hold different slots for the same key. Hashes that collide with the reserved key words are
+ * remapped. Two identifiers with the same 64-bit hash share a record; at the
+ * key counts these stores are sized for that is vanishingly rare.
+ *
+ * <p>The table has twice as many slots as the store holds keys, so it never
+ * runs above half full and probe chains stay short. Once it holds its capacity
+ * a new key gets {@link #NO_SLOT} until idle keys are removed; keys already
+ * held are unaffected.
+ */
+public abstract class OpenAddressingRateLimitStore implements RateLimitStore {
+
+    static final int MAX_PROBES = 256;
+
+    private static final long FREE = 0L;
+    private static final long TOMBSTONE = 1L;
+    private static final long CLEARING = 2L;
+    private static final long RESERVED_KEYS = 3L;
+    private static final long REMAP_SEED = 0x9E3779B97F4A7C15L;
+    private static final int CLAIM_LOCKS = 64;
+
+    protected final int recordWords;
+    protected final int slotWords;
+    protected final long slots;
+    private final long capacity;
+    private final long slotMask;
+    private final AtomicLong size = new AtomicLong();
+    private final ReentrantLock[] claimLocks = new ReentrantLock[CLAIM_LOCKS];
+    private volatile ClaimListener claimListener;
+
+    /**
+     * @param slots       number of slots, a power of two of at least 2; the
+     *                    store holds half as many keys
+     * @param recordWords state words per key
+     */
+    protected OpenAddressingRateLimitStore(long slots, int recordWords) {
+        if (slots < 2 || Long.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of two of at least 2");
+        }
+        if (recordWords < 1) {
+            throw new IllegalArgumentException("Record words must be positive");
+        }
+        this.recordWords = recordWords;
+        this.slotWords = recordWords + 1;
+        this.slots = slots;
+        this.capacity = slots / 2;
+        this.slotMask = slots - 1;
+        for (int i = 0; i < CLAIM_LOCKS; i++) {
+            claimLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Reads word {@code index} of a slot with volatile semantics; word 0 is the key.
+     */
+    protected abstract long getWord(long slot, int index);
+
+    /**
+     * Writes word {@code index} of a slot with volatile semantics; word 0 is the key.
+     */
+    protected abstract void setWord(long slot, int index, long value);
+
+    /**
+     * Compares and sets word {@code index} of a slot; word 0 is the key.
+     */
+    protected abstract boolean compareAndSetWord(long slot, int index, long expected, long value);
+
+    @Override
+    public int getRecordWords() {
+        return recordWords;
+    }
+
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Two slots per key, as the table is kept at most half full.
+     */
+    @Override
+    public long getBytesPerKey() {
+        return 2 * slotWords * 8L;
+    }
+
+    @Override
+    public long slot(long keyHash) {
+        long key = remap(keyHash);
+        long slot = find(key);
+        return slot != NO_SLOT ? slot : claim(keyHash, key);
+    }
+
+    @Override
+    public boolean remove(long keyHash, long slot, RecordExpiry expiry, long nowMillis) {
+        long key = remap(keyHash);
+        // Holding the key's claim lock keeps the key from being claimed elsewhere while it is parked
+        ReentrantLock lock = claimLock(key);
+        lock.lock();
+        try {
+            // Park the slot so no new request resolves it while the record is checked and cleared
+            if (!compareAndSetWord(slot, 0, key, CLEARING)) {
+                return false;
+            }
+            if (!expiry.retire(slot, nowMillis)) {
+                setWord(slot, 0, key);
+                return false;
+            }
+            clear(slot);
+            setWord(slot, 0, TOMBSTONE);
+            size.decrementAndGet();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A parked key reads as moved too; resolving it again waits for the removal to finish.
+     */
+    @Override
+    public boolean holds(long slot, long keyHash) {
+        return getWord(slot, 0) == remap(keyHash);
+    }
+
+    @Override
+    public void setClaimListener(ClaimListener listener) {
+        this.claimListener = listener;
+    }
+
+    @Override
+    public long get(long slot, int word) {
+        return getWord(slot, word + 1);
+    }
+
+    @Override
+    public void set(long slot, int word, long value) {
+        setWord(slot, word + 1, value);
+    }
+
+    @Override
+    public boolean compareAndSet(long slot, int word, long expected, long value) {
+        return compareAndSetWord(slot, word + 1, expected, value);
+    }
+
+    /**
+     * Probes the key's chain without locks.
+     *
+     * @return the key's slot, or {@link #NO_SLOT} if the key is not in the table
+     */
+    private long find(long key) {
+        long slot = spread(key) & slotMask;
+        for (int probe = 0; probe < MAX_PROBES; probe++, slot = (slot + 1) & slotMask) {
+            long current = getWord(slot, 0);
+            if (current == key) {
+                return slot;
+            }
+            if (current == FREE) {
+                break;
+            }
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * Finds or claims the slot for a key while holding the key's claim lock.
+     *
+     * @return the slot, or {@link #NO_SLOT} if the store is full
+     */
+    private long claim(long keyHash, long key) {
+        ReentrantLock lock = claimLock(key);
+        lock.lock();
+        try {
+            // Claims of one key share this lock, so a key not found here stays absent until it is taken
+            long slot = find(key);
+            if (slot != NO_SLOT) {
+                return slot;
+            }
+            if (!reserve()) {
+                return NO_SLOT;
+            }
+            slot = take(key);
+            if (slot == NO_SLOT) {
+                // A chain this long at half load takes hashes that collide on purpose
+                size.decrementAndGet();
+                return NO_SLOT;
+            }
+            ClaimListener listener = claimListener;
+            if (listener != null) {
+                listener.onClaim(keyHash, slot);
+            }
+            return slot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts a new key against the capacity before its slot is taken, so
+     * claims under different locks cannot overfill the store together.
+     */
+    private boolean reserve() {
+        long current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Writes the key into the first tombstone on its chain, or else the free
+     * slot that ends the chain.
+     *
+     * @return the slot taken, or {@link #NO_SLOT} if the chain has no room
+     */
+    private long take(long key) {
+        long reusable = -1;
+        long slot = spread(key) & slotMask;
+        for (int probe = 0; probe < MAX_PROBES; probe++, slot = (slot + 1) & slotMask) {
+            long current = getWord(slot, 0);
+            if (current == TOMBSTONE && reusable < 0) {
+                reusable = slot;
+            } else if (current == FREE) {
+                if (reusable >= 0 && reuse(reusable, key)) {
+                    return reusable;
+                }
+                if (compareAndSetWord(slot, 0, FREE, key)) {
+                    return slot;
+                }
+                // Another key took this slot; keep probing past it
+            }
+        }
+        return reusable >= 0 && reuse(reusable, key) ? reusable : NO_SLOT;
+    }
+
+    /**
+     * Zeroes a tombstone's record before publishing the key in it, as a
+     * request that resolved the slot for its previous key may have written to
+     * it after the removal.
+     */
+    private boolean reuse(long slot, long key) {
+        if (!compareAndSetWord(slot, 0, TOMBSTONE, CLEARING)) {
+            return false;
+        }
+        clear(slot);
+        setWord(slot, 0, key);
+        return true;
+    }
+
+    /**
+     * Zeroes a record from its last word back, so a first word that guards the
+     * rest is released last.
+     */
+    private void clear(long slot) {
+        for (int word = slotWords - 1; word > 0; word--) {
+            setWord(slot, word, 0L);
+        }
+    }
+
+    private ReentrantLock claimLock(long key) {
+        return claimLocks[(int) (key >>> 58) & (CLAIM_LOCKS - 1)];
+    }
+
+    private static long remap(long keyHash) {
+        return keyHash >= 0 && keyHash < RESERVED_KEYS ? REMAP_SEED ^ keyHash : keyHash;
+    }
+
+    /**
+     * Uses the high bits too, since callers may pass hashes that are weak in the low bits.
+     */
+    private static long spread(long key) {
+        return key ^ (key >>> 32);
+    }
+}
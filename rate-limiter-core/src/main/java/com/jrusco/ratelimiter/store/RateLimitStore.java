@@ -0,0 +1,92 @@
+package com.jrusco.ratelimiter.store;
+
+/**
+ * Home of per-key limiter state.
+ *
+ * <p>A store holds fixed-size records of {@code long} words, one record per key,
+ * addressed by a 64-bit key hash (see {@link KeyHasher}). Engines resolve a key
+ * to a slot once per request and then read and CAS the slot's words directly,
+ * so stores must give every word volatile semantics. Records start zeroed,
+ * which every engine reads as "never seen". A key removed while a request is
+ * between resolving its slot and writing may see the slot handed to another
+ * key, so engines check {@link #holds} after writing and, if the slot moved
+ * on, take their write back and resolve the key again.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Returned by {@link #slot(long)} for a new key the store has no room for.
+     */
+    long NO_SLOT = -1L;
+
+    /**
+     * Words of state per record.
+     */
+    int getRecordWords();
+
+    /**
+     * Maximum number of keys the store can hold.
+     */
+    long getCapacity();
+
+    /**
+     * Number of keys currently held.
+     */
+    long size();
+
+    /**
+     * Approximate bytes one key occupies, including its share of the index.
+     */
+    long getBytesPerKey();
+
+    /**
+     * Bytes currently reserved for records, whether or not they hold a key.
+     */
+    long getReservedBytes();
+
+    /**
+     * Finds the slot for a key, claiming a zeroed one if the key is new.
+     *
+     * @param keyHash the 64-bit hash of the key
+     * @return the slot handle, or {@link #NO_SLOT} if the key is new and the
+     *         store is full
+     */
+    long slot(long keyHash);
+
+    /**
+     * Frees a key's record if the slot still holds that key and the record is
+     * still idle once no new request can resolve the slot, as told by
+     * {@link RecordExpiry#retire}. A thread that resolved the slot just before
+     * may still write to it; it finds out through {@link #holds}.
+     *
+     * @return whether the key was removed; a key whose record went busy stays
+     */
+    boolean remove(long keyHash, long slot, RecordExpiry expiry, long nowMillis);
+
+    /**
+     * Whether a slot returned by {@link #slot(long)} still holds the key.
+     * False once the key has been removed, even if the slot was reused.
+     */
+    boolean holds(long slot, long keyHash);
+
+    /**
+     * Registers the listener told about every slot claimed for a new key,
+     * replacing any previous one.
+     */
+    void setClaimListener(ClaimListener listener);
+
+    long get(long slot, int word);
+
+    void set(long slot, int word, long value);
+
+    boolean compareAndSet(long slot, int word, long expected, long value);
+
+    /**
+     * Told about new keys, on the thread that claimed the slot.
+     */
+    @FunctionalInterface
+    interface ClaimListener {
+
+        void onClaim(long keyHash, long slot);
+    }
+}
@@ -0,0 +1,36 @@
+package com.jrusco.ratelimiter.store;
+
+/**
+ * Tells when a record has been idle long enough to read the same as a key
+ * that was never seen, at which point it can be dropped without changing any
+ * decision.
+ */
+public interface RecordExpiry {
+
+    /**
+     * Time after which the record in the given slot reads as never seen.
+     *
+     * @param slot      the record's slot
+     * @param nowMillis the current time in epoch milliseconds
+     * @return epoch milliseconds, at or before {@code nowMillis} if already idle
+     */
+    long idleAtMillis(long slot, long nowMillis);
+
+    /**
+     * Checks again whether a record is idle once the store has parked its slot
+     * for removal, since a request that resolved the slot earlier may have
+     * updated it since. A record updated under a lock may keep the lock held
+     * when it is idle; the store releases it by zeroing the record.
+     *
+     * @return whether the record is still idle and may be dropped
+     */
+    default boolean retire(long slot, long nowMillis) {
+        return idleAtMillis(slot, nowMillis) <= nowMillis;
+    }
+
+    /**
+     * Longest a record can stay busy after its last update, used as the first
+     * deadline of a new key.
+     */
+    long getMaxIdleMillis();
+}
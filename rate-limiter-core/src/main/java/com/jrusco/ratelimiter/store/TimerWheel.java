@@ -0,0 +1,178 @@
+package com.jrusco.ratelimiter.store;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel of slot deadlines, kept in primitive arrays.
+ *
+ * <p>Four levels of 64 buckets each cover about 16.7 million ticks. An entry
+ * lives in the lowest level whose buckets are fine enough to tell its deadline
+ * apart from the current tick; when the wheel reaches a higher-level bucket its
+ * entries are cascaded down. Advancing the wheel therefore touches only the
+ * buckets it passes and the entries in them, never the whole set of keys.
+ *
+ * <p>{@link #schedule} may be called from any thread and only appends to an
+ * inbox. Everything else, including the handler passed to {@link #advance},
+ * runs on the single thread that advances the wheel.
+ */
+final class TimerWheel {
+
+    /**
+     * Called for every entry whose deadline tick has been reached.
+     */
+    interface Handler {
+
+        /**
+         * @return the entry's next deadline in epoch milliseconds, or a negative
+         *         value to drop the entry
+         */
+        long onDeadline(long slot, long keyHash, long nowMillis);
+    }
+
+    static final int LEVELS = 4;
+    static final int BUCKET_BITS = 6;
+    static final int BUCKETS = 1 << BUCKET_BITS;
+
+    private static final int BUCKET_MASK = BUCKETS - 1;
+    private static final int ENTRY_WORDS = 3;
+    private static final int INITIAL_BUCKET_WORDS = 4 * ENTRY_WORDS;
+    private static final int TOP_SHIFT = (LEVELS - 1) * BUCKET_BITS;
+
+    private final long tickMillis;
+    private final long[][] buckets = new long[LEVELS * BUCKETS][];
+    private final int[] bucketSizes = new int[LEVELS * BUCKETS];
+    private long currentTick;
+    private int entries;
+
+    private final Object inboxLock = new Object();
+    private long[] inbox = new long[INITIAL_BUCKET_WORDS];
+    private int inboxSize;
+    private long[] spare = new long[INITIAL_BUCKET_WORDS];
+
+    TimerWheel(long tickMillis, long nowMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Queues an entry; it joins the wheel on the next {@link #advance}.
+     */
+    void schedule(long slot, long keyHash, long deadlineMillis) {
+        synchronized (inboxLock) {
+            if (inboxSize + ENTRY_WORDS > inbox.length) {
+                inbox = Arrays.copyOf(inbox, inbox.length * 2);
+            }
+            inbox[inboxSize] = slot;
+            inbox[inboxSize + 1] = keyHash;
+            inbox[inboxSize + 2] = deadlineMillis;
+            inboxSize += ENTRY_WORDS;
+        }
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis}, handing every entry whose deadline
+     * tick has passed to the handler.
+     */
+    void advance(long nowMillis, Handler handler) {
+        drainInbox();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Cascade from the top so entries fall through every level they need to
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (level * BUCKET_BITS)) - 1)) == 0) {
+                    cascade(level, (int) (currentTick >>> (level * BUCKET_BITS)) & BUCKET_MASK);
+                }
+            }
+            expire((int) currentTick & BUCKET_MASK, nowMillis, handler);
+        }
+    }
+
+    /**
+     * Entries currently held, not counting the inbox.
+     */
+    int size() {
+        return entries;
+    }
+
+    private void drainInbox() {
+        long[] drained;
+        int drainedSize;
+        synchronized (inboxLock) {
+            drained = inbox;
+            drainedSize = inboxSize;
+            inbox = spare;
+            inboxSize = 0;
+        }
+        for (int i = 0; i < drainedSize; i += ENTRY_WORDS) {
+            insert(drained[i], drained[i + 1], drained[i + 2], currentTick + 1);
+        }
+        spare = drained;
+    }
+
+    private void cascade(int level, int bucket) {
+        int index = level * BUCKETS + bucket;
+        long[] cascaded = buckets[index];
+        int cascadedSize = bucketSizes[index];
+        buckets[index] = null;
+        bucketSizes[index] = 0;
+        entries -= cascadedSize / ENTRY_WORDS;
+        for (int i = 0; i < cascadedSize; i += ENTRY_WORDS) {
+            // The current tick's bucket has not been expired yet, so it can still take entries
+            insert(cascaded[i], cascaded[i + 1], cascaded[i + 2], currentTick);
+        }
+    }
+
+    private void expire(int bucket, long nowMillis, Handler handler) {
+        long[] due = buckets[bucket];
+        int dueSize = bucketSizes[bucket];
+        if (dueSize == 0) {
+            return;
+        }
+        // Detach the bucket first; handlers reschedule into later buckets
+        buckets[bucket] = null;
+        bucketSizes[bucket] = 0;
+        entries -= dueSize / ENTRY_WORDS;
+        for (int i = 0; i < dueSize; i += ENTRY_WORDS) {
+            long next = handler.onDeadline(due[i], due[i + 1], nowMillis);
+            if (next >= 0) {
+                insert(due[i], due[i + 1], next, currentTick + 1);
+            }
+        }
+    }
+
+    private void insert(long slot, long keyHash, long deadlineMillis, long earliestTick) {
+        // Entries further out than the wheel spans fire early and are rescheduled by the handler
+        long latestTick = ((currentTick >>> TOP_SHIFT) + BUCKETS - 1) << TOP_SHIFT;
+        deadlineMillis = Math.min(deadlineMillis, latestTick * tickMillis);
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), earliestTick);
+
+        int level = 0;
+        while ((deadlineTick >>> (level * BUCKET_BITS)) - (currentTick >>> (level * BUCKET_BITS)) >= BUCKETS) {
+            level++;
+        }
+        int index = level * BUCKETS + ((int) (deadlineTick >>> (level * BUCKET_BITS)) & BUCKET_MASK);
+
+        long[] bucket = buckets[index];
+        int size = bucketSizes[index];
+        if (bucket == null) {
+            bucket = new long[INITIAL_BUCKET_WORDS];
+            buckets[index] = bucket;
+        } else if (size + ENTRY_WORDS > bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucket.length * 2);
+            buckets[index] = bucket;
+        }
+        bucket[size] = slot;
+        bucket[size + 1] = keyHash;
+        bucket[size + 2] = deadlineMillis;
+        bucketSizes[index] = size + ENTRY_WORDS;
+        entries++;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return dividend <= 0 ? 0 : (dividend + divisor - 1) / divisor;
+    }
+}
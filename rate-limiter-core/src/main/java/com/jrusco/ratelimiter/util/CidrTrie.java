@@ -0,0 +1,116 @@
+package com.jrusco.ratelimiter.util;
+
+import java.util.Arrays;
+
+/**
+ * Binary prefix trie over addresses packed by {@link IpAddressUtils}.
+ *
+ * <p>Each CIDR block inserted marks the node at the end of its prefix with
+ * caller-defined flag bits and, optionally, a rule index. A lookup walks at
+ * most 128 nodes along the address's bits and returns, in one pass, the union
+ * of the flags of every block containing the address and the rule of the most
+ * specific block that has one. Nodes live in parallel {@code int} arrays rather
+ * than objects, so a lookup only chases array indexes.
+ *
+ * <p>Blocks are inserted while the trie is built; once it is published,
+ * lookups from any number of threads are safe.
+ */
+public final class CidrTrie {
+
+    private static final int NO_CHILD = 0;
+    private static final int ROOT = 0;
+
+    private int[] children = new int[32];
+    private int[] flags = new int[16];
+    // Rule index plus one, so zero means no rule
+    private int[] rules = new int[16];
+    private int nodes = 1;
+
+    /**
+     * Marks a block with flags.
+     *
+     * @param cidr the block, e.g. {@code 10.0.0.0/8}
+     * @param flagBits bits to set for addresses in the block
+     * @throws IllegalArgumentException if the block is not a valid CIDR
+     */
+    public void insert(String cidr, int flagBits) {
+        insert(cidr, flagBits, -1);
+    }
+
+    /**
+     * Marks a block with flags and a rule.
+     *
+     * @param cidr     the block, e.g. {@code 2001:db8::/32}
+     * @param flagBits bits to set for addresses in the block
+     * @param rule     index of the rule for addresses in the block, or {@code -1} for none
+     * @throws IllegalArgumentException if the block is not a valid CIDR
+     */
+    public void insert(String cidr, int flagBits, int rule) {
+        long[] prefix = new long[2];
+        int prefixLength = IpAddressUtils.parseCidr(cidr, prefix);
+        if (prefixLength < 0) {
+            throw new IllegalArgumentException("Invalid CIDR block: " + cidr);
+        }
+
+        int node = ROOT;
+        for (int i = 0; i < prefixLength; i++) {
+            int child = 2 * node + IpAddressUtils.bit(prefix[IpAddressUtils.HIGH], prefix[IpAddressUtils.LOW], i);
+            if (children[child] == NO_CHILD) {
+                // Allocate first: growing replaces the children array
+                int created = newNode();
+                children[child] = created;
+            }
+            node = children[child];
+        }
+        flags[node] |= flagBits;
+        if (rule >= 0) {
+            rules[node] = rule + 1;
+        }
+    }
+
+    /**
+     * Walks the trie along a packed address.
+     *
+     * @return the match, read with {@link #flags(long)} and {@link #rule(long)}
+     */
+    public long lookup(long high, long low) {
+        int node = ROOT;
+        int matchedFlags = flags[ROOT];
+        int matchedRule = rules[ROOT];
+        for (int i = 0; i < 128; i++) {
+            node = children[2 * node + IpAddressUtils.bit(high, low, i)];
+            if (node == NO_CHILD) {
+                break;
+            }
+            matchedFlags |= flags[node];
+            if (rules[node] != 0) {
+                matchedRule = rules[node];
+            }
+        }
+        return ((long) matchedRule << 32) | (matchedFlags & 0xFFFF_FFFFL);
+    }
+
+    /**
+     * Flags of every block containing the looked-up address.
+     */
+    public static int flags(long match) {
+        return (int) match;
+    }
+
+    /**
+     * Rule of the most specific block containing the looked-up address, or
+     * {@code -1} if none has a rule.
+     */
+    public static int rule(long match) {
+        return (int) (match >>> 32) - 1;
+    }
+
+    private int newNode() {
+        if (nodes == flags.length) {
+            flags = Arrays.copyOf(flags, nodes * 2);
+            rules = Arrays.copyOf(rules, nodes * 2);
+            children = Arrays.copyOf(children, nodes * 4);
+        }
+        return nodes++;
+    }
+}
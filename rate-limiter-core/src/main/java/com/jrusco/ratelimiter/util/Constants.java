@@ -21,6 +21,7 @@ public final class Constants {
     // Response Messages
     public static final String MSG_REQUEST_ALLOWED = "Request allowed";
     public static final String MSG_RATE_LIMIT_EXCEEDED = "Rate limit exceeded";
+    public static final String MSG_BATCH_REJECTED = "Not applied, another check in the batch was denied";
     public static final String MSG_INVALID_REQUEST = "Invalid request";
     public static final String MSG_CONFIGURATION_UPDATED = "Configuration updated successfully";
     public static final String MSG_CONFIGURATION_RETRIEVED = "Configuration retrieved successfully";
@@ -36,6 +37,7 @@ public final class Constants {
     public static final long MILLIS_PER_SECOND = 1_000L;
 
     // Default Values
+    public static final String GLOBAL_IDENTIFIER = "global";
     public static final int DEFAULT_REQUESTS_PER_MINUTE = 100;
     public static final int DEFAULT_BURST_SIZE = 10;
 
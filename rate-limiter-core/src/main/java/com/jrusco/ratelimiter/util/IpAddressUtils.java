@@ -0,0 +1,295 @@
+package com.jrusco.ratelimiter.util;
+
+/**
+ * Parses IPv4 and IPv6 literals by hand, without DNS lookups or allocation.
+ *
+ * <p>An address is packed into two longs: the high and low 64 bits of its IPv6
+ * form. IPv4 addresses are stored IPv4-mapped ({@code ::ffff:a.b.c.d}), so
+ * every spelling of an address, e.g. {@code 2001:DB8::1} and
+ * {@code 2001:db8:0::1}, packs to the same value and can serve as the
+ * {@code CLIENT_IP} limiter key. Only plain literals are accepted: host names,
+ * zone ids, brackets and the legacy short or leading-zero IPv4 forms are not.
+ */
+public final class IpAddressUtils {
+
+    /** Index of the high 64 bits in a packed address. */
+    public static final int HIGH = 0;
+
+    /** Index of the low 64 bits in a packed address. */
+    public static final int LOW = 1;
+
+    /** Leading bits shared by every IPv4-mapped address. */
+    public static final int IPV4_MAPPED_PREFIX_LENGTH = 96;
+
+    private static final long IPV4_MAPPED_PREFIX = 0xFFFFL << 32;
+    private static final int IPV6_GROUPS = 8;
+
+    private IpAddressUtils() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * Whether the text is an IPv4 or IPv6 literal.
+     */
+    public static boolean isValid(CharSequence text) {
+        return text != null && parse(text, 0, text.length(), null);
+    }
+
+    /**
+     * Parses a whole string into a packed address.
+     *
+     * @param text    the literal
+     * @param address receives the packed address at {@link #HIGH} and {@link #LOW}; may be null
+     * @return whether the text is a valid literal; {@code address} is untouched if not
+     */
+    public static boolean parse(CharSequence text, long[] address) {
+        return text != null && parse(text, 0, text.length(), address);
+    }
+
+    /**
+     * Parses {@code text[start, end)} into a packed address, so a literal can
+     * be read out of a larger header value without copying it.
+     *
+     * @return whether the range is a valid literal; {@code address} is untouched if not
+     */
+    public static boolean parse(CharSequence text, int start, int end, long[] address) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == ':') {
+                return parseIpv6(text, start, end, address);
+            }
+        }
+        long ipv4 = parseIpv4(text, start, end);
+        if (ipv4 < 0) {
+            return false;
+        }
+        if (address != null) {
+            address[HIGH] = 0;
+            address[LOW] = IPV4_MAPPED_PREFIX | ipv4;
+        }
+        return true;
+    }
+
+    /**
+     * Parses a CIDR block such as {@code 10.0.0.0/8} or {@code fc00::/7} and
+     * clears the address bits beyond the prefix. IPv4 prefix lengths are
+     * shifted onto the IPv4-mapped range, so {@code /8} becomes 104.
+     *
+     * @param address receives the packed network address
+     * @return the prefix length over all 128 bits, or {@code -1} if invalid
+     */
+    public static int parseCidr(CharSequence text, long[] address) {
+        if (text == null) {
+            return -1;
+        }
+        int slash = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '/') {
+                slash = i;
+                break;
+            }
+        }
+        if (slash < 0 || !parse(text, 0, slash, address)) {
+            return -1;
+        }
+
+        boolean ipv4 = isIpv4(address[HIGH], address[LOW]) && !containsColon(text, slash);
+        int maxLength = ipv4 ? 32 : 128;
+        int length = 0;
+        int digits = 0;
+        for (int i = slash + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9' || digits == 3 || (digits > 0 && length == 0)) {
+                return -1;
+            }
+            length = length * 10 + (c - '0');
+            digits++;
+        }
+        if (digits == 0 || length > maxLength) {
+            return -1;
+        }
+        int prefixLength = ipv4 ? IPV4_MAPPED_PREFIX_LENGTH + length : length;
+        mask(address, prefixLength);
+        return prefixLength;
+    }
+
+    /**
+     * Clears every bit of a packed address beyond the given prefix length.
+     */
+    public static void mask(long[] address, int prefixLength) {
+        if (prefixLength <= 0) {
+            address[HIGH] = 0;
+            address[LOW] = 0;
+        } else if (prefixLength <= 64) {
+            address[HIGH] &= -1L << (64 - prefixLength);
+            address[LOW] = 0;
+        } else if (prefixLength < 128) {
+            address[LOW] &= -1L << (128 - prefixLength);
+        }
+    }
+
+    /**
+     * Bit {@code index} of a packed address, counting from the most
+     * significant bit.
+     */
+    public static int bit(long high, long low, int index) {
+        return (int) (index < 64 ? (high >>> (63 - index)) & 1 : (low >>> (127 - index)) & 1);
+    }
+
+    /**
+     * Whether a packed address is an IPv4 address.
+     */
+    public static boolean isIpv4(long high, long low) {
+        return high == 0 && (low & ~0xFFFF_FFFFL) == IPV4_MAPPED_PREFIX;
+    }
+
+    /**
+     * Dotted-quad IPv4 address as an unsigned 32-bit value, or {@code -1}.
+     */
+    private static long parseIpv4(CharSequence text, int start, int end) {
+        long value = 0;
+        int octets = 0;
+        int octet = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits > 0 && octet == 0) {
+                    // Leading zeros read as octal by some parsers, so refuse them
+                    return -1;
+                }
+                octet = octet * 10 + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+                digits++;
+            } else if (c == '.' && digits > 0 && octets < 3) {
+                value = (value << 8) | octet;
+                octets++;
+                octet = 0;
+                digits = 0;
+            } else {
+                return -1;
+            }
+        }
+        if (digits == 0 || octets != 3) {
+            return -1;
+        }
+        return (value << 8) | octet;
+    }
+
+    /**
+     * Groups before {@code ::} are placed from the left and groups after it are
+     * shifted in from the right, so the compressed zeros fall in between
+     * without a second pass.
+     */
+    private static boolean parseIpv6(CharSequence text, int start, int end, long[] address) {
+        long headHigh = 0;
+        long headLow = 0;
+        int headGroups = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+
+        int i = start;
+        if (text.charAt(i) == ':') {
+            if (i + 1 >= end || text.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i += 2;
+        }
+
+        while (i < end) {
+            int groupStart = i;
+            int group = 0;
+            int digit;
+            while (i < end && i - groupStart < 4 && (digit = hexDigit(text.charAt(i))) >= 0) {
+                group = (group << 4) | digit;
+                i++;
+            }
+
+            int groups = 1;
+            long value = group;
+            if (i < end && text.charAt(i) == '.') {
+                // An embedded IPv4 address fills the last two groups
+                long ipv4 = parseIpv4(text, groupStart, end);
+                if (ipv4 < 0) {
+                    return false;
+                }
+                groups = 2;
+                value = ipv4;
+                i = end;
+            } else if (i == groupStart) {
+                return false;
+            }
+
+            if (!compressed) {
+                if (headGroups + groups > IPV6_GROUPS) {
+                    return false;
+                }
+                for (int g = groups - 1; g >= 0; g--, headGroups++) {
+                    long bits = (value >>> (16 * g)) & 0xFFFF;
+                    if (headGroups < 4) {
+                        headHigh |= bits << (48 - 16 * headGroups);
+                    } else {
+                        headLow |= bits << (48 - 16 * (headGroups - 4));
+                    }
+                }
+            } else {
+                if (headGroups + tailGroups + groups >= IPV6_GROUPS) {
+                    return false;
+                }
+                int shift = 16 * groups;
+                tailHigh = (tailHigh << shift) | (tailLow >>> (64 - shift));
+                tailLow = (tailLow << shift) | value;
+                tailGroups += groups;
+            }
+
+            if (i == end) {
+                break;
+            }
+            if (text.charAt(i) != ':' || ++i == end) {
+                return false;
+            }
+            if (text.charAt(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i++;
+            }
+        }
+
+        if (compressed ? headGroups + tailGroups >= IPV6_GROUPS : headGroups != IPV6_GROUPS) {
+            return false;
+        }
+        if (address != null) {
+            address[HIGH] = headHigh | tailHigh;
+            address[LOW] = headLow | tailLow;
+        }
+        return true;
+    }
+
+    private static boolean containsColon(CharSequence text, int end) {
+        for (int i = 0; i < end; i++) {
+            if (text.charAt(i) == ':') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,139 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.InMemoryRateLimitStore;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedWindowEngineTest {
+
+    // Aligned to a minute boundary so window arithmetic is easy to follow
+    private static final long WINDOW_START = 28_333_333L * 60_000L;
+
+    private FixedWindowEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = createEngine(5, 4);
+    }
+
+    @Test
+    void testCountsWithinWindowThenDenies() {
+        for (int i = 4; i >= 0; i--) {
+            long decision = engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START + 1_000);
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            assertEquals(i, RateLimitDecision.remaining(decision));
+            assertEquals(59_000, RateLimitDecision.resetAfterMillis(decision));
+        }
+
+        long denied = engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START + 45_000);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(15_000, RateLimitDecision.retryAfterMillis(denied));
+    }
+
+    @Test
+    void testRollsOverAtWindowBoundary() {
+        for (int i = 0; i < 5; i++) {
+            engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START + 59_999);
+        }
+        assertFalse(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START + 59_999)));
+
+        long next = engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START + 60_000);
+        assertTrue(RateLimitDecision.isAllowed(next));
+        assertEquals(4, RateLimitDecision.remaining(next));
+    }
+
+    @Test
+    void testStripedKeyAdmitsExactlyTheLimit() {
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.GLOBAL, "global", WINDOW_START))) {
+                allowed++;
+            }
+        }
+        assertEquals(5, allowed);
+
+        long denied = engine.tryAcquire(RateLimitType.GLOBAL, "global", WINDOW_START + 30_000);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(30_000, RateLimitDecision.retryAfterMillis(denied));
+
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.GLOBAL, "global", WINDOW_START + 60_000)));
+    }
+
+    @Test
+    void testStripedCounterSumsOnlyCurrentWindow() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(16, StripedWindowCounter.recordWords(4));
+        StripedWindowCounter counter = new StripedWindowCounter(store, 4, 8);
+        long slot = store.slot(42L);
+        for (int probe = 0; probe < 4; probe++) {
+            assertTrue(counter.tryIncrement(slot, 1, probe) > 0);
+        }
+        assertEquals(4, counter.sum(slot, 1));
+
+        assertTrue(counter.tryIncrement(slot, 2, 0) > 0);
+        assertEquals(1, counter.sum(slot, 2));
+    }
+
+    @Test
+    void testConcurrentStripedAcquireNeverOverAdmits() throws Exception {
+        FixedWindowEngine hot = createEngine(1_000, 8);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1_000; i++) {
+                    if (RateLimitDecision.isAllowed(hot.tryAcquire(RateLimitType.GLOBAL, "global", WINDOW_START))) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1_000, allowed.get());
+    }
+
+    @Test
+    void testReleaseGivesPermitBack() {
+        long keyHash = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+        for (int i = 0; i < 5; i++) {
+            engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START);
+            engine.tryAcquire(RateLimitType.GLOBAL, keyHash, WINDOW_START);
+        }
+
+        engine.release(RateLimitType.USER_ID, KeyHasher.hash(RateLimitType.USER_ID, "user123"), WINDOW_START);
+        engine.release(RateLimitType.GLOBAL, keyHash, WINDOW_START);
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START)));
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.GLOBAL, keyHash, WINDOW_START)));
+        assertFalse(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.GLOBAL, keyHash, WINDOW_START)));
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> createEngine(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> createEngine(10, 3));
+    }
+
+    private static FixedWindowEngine createEngine(long limit, int stripes) {
+        return new FixedWindowEngine(limit, stripes, EnumSet.of(RateLimitType.GLOBAL),
+                new InMemoryRateLimitStore(1_024, FixedWindowEngine.RECORD_WORDS),
+                new InMemoryRateLimitStore(16, FixedWindowEngine.stripedRecordWords(Math.max(1, stripes))));
+    }
+}
@@ -0,0 +1,65 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.InMemoryRateLimitStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GcraEngineTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private GcraEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        // Burst of 5, one request every 600 ms
+        engine = new GcraEngine(5, 100, new InMemoryRateLimitStore(1_024, GcraEngine.RECORD_WORDS));
+    }
+
+    @Test
+    void testAllowsBurstThenDenies() {
+        for (int i = 4; i >= 0; i--) {
+            long decision = engine.tryAcquire(RateLimitType.API_KEY, "key123", NOW);
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            assertEquals(i, RateLimitDecision.remaining(decision));
+            assertEquals((5 - i) * 600L, RateLimitDecision.resetAfterMillis(decision));
+        }
+
+        long denied = engine.tryAcquire(RateLimitType.API_KEY, "key123", NOW);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(0, RateLimitDecision.remaining(denied));
+        assertEquals(600, RateLimitDecision.retryAfterMillis(denied));
+    }
+
+    @Test
+    void testAdmitsAtSustainedRate() {
+        for (int i = 0; i < 5; i++) {
+            engine.tryAcquire(RateLimitType.API_KEY, "key123", NOW);
+        }
+
+        assertFalse(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.API_KEY, "key123", NOW + 599)));
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.API_KEY, "key123", NOW + 600)));
+        assertFalse(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.API_KEY, "key123", NOW + 600)));
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.API_KEY, "key123", NOW + 1_200)));
+    }
+
+    @Test
+    void testIdleKeyReturnsToFullBurst() {
+        engine.tryAcquire(RateLimitType.API_KEY, "key123", NOW);
+
+        long decision = engine.tryAcquire(RateLimitType.API_KEY, "key123", NOW + 60_000);
+        assertTrue(RateLimitDecision.isAllowed(decision));
+        assertEquals(4, RateLimitDecision.remaining(decision));
+        assertEquals(600, RateLimitDecision.resetAfterMillis(decision));
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(16, GcraEngine.RECORD_WORDS);
+        assertThrows(IllegalArgumentException.class, () -> new GcraEngine(0, 100, store));
+        assertThrows(IllegalArgumentException.class, () -> new GcraEngine(5, 0, store));
+    }
+}
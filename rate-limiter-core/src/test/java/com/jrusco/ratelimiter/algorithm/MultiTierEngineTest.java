@@ -0,0 +1,123 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.InMemoryRateLimitStore;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiTierEngineTest {
+
+    // Aligned to an hour boundary so every tier's window starts here
+    private static final long WINDOW_START = 472_222L * 3_600_000L;
+
+    private InMemoryRateLimitStore store;
+    private MultiTierEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        // 3 per second, 5 per minute, 7 per hour
+        store = new InMemoryRateLimitStore(1_024, MultiTierEngine.recordWords(3));
+        engine = new MultiTierEngine(new long[] {3, 5, 7}, new long[] {1_000, 60_000, 3_600_000}, store);
+    }
+
+    @Test
+    void testReportsTierWithFewestPermitsLeft() {
+        for (int i = 2; i >= 0; i--) {
+            long decision = engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START);
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            assertEquals(0, RateLimitDecision.tier(decision));
+            assertEquals(i, RateLimitDecision.remaining(decision));
+        }
+
+        long denied = engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(0, RateLimitDecision.tier(denied));
+
+        // Next second: the per-second tier has room again, the per-minute tier binds
+        long decision = engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START + 2_000);
+        assertTrue(RateLimitDecision.isAllowed(decision));
+        assertEquals(1, RateLimitDecision.tier(decision));
+        assertEquals(1, RateLimitDecision.remaining(decision));
+    }
+
+    @Test
+    void testDeniedRequestConsumesNoTier() {
+        for (int i = 0; i < 3; i++) {
+            engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertFalse(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START)));
+        }
+
+        // Only the three admitted requests count against the per-minute tier
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START + 2_000)));
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START + 2_000)));
+        long denied = engine.tryAcquire(RateLimitType.USER_ID, "user123", WINDOW_START + 2_000);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(1, RateLimitDecision.tier(denied));
+    }
+
+    @Test
+    void testDenialReportsLongestWait() {
+        MultiTierEngine tight = new MultiTierEngine(new long[] {3, 3}, new long[] {1_000, 60_000},
+                new InMemoryRateLimitStore(16, MultiTierEngine.recordWords(2)));
+        for (int i = 0; i < 3; i++) {
+            tight.tryAcquire(RateLimitType.API_KEY, "key", WINDOW_START);
+        }
+
+        // Both tiers are full; the per-minute tier waits for the next window and 3 * overlap <= 2
+        long denied = tight.tryAcquire(RateLimitType.API_KEY, "key", WINDOW_START);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(1, RateLimitDecision.tier(denied));
+        assertEquals(60_000 + 20_000, RateLimitDecision.retryAfterMillis(denied));
+    }
+
+    @Test
+    void testReleaseGivesBackEveryTier() {
+        long keyHash = KeyHasher.hash(RateLimitType.USER_ID, "user123");
+        for (int i = 0; i < 5; i++) {
+            engine.tryAcquire(RateLimitType.USER_ID, keyHash, WINDOW_START + i * 1_000L);
+        }
+        engine.release(RateLimitType.USER_ID, keyHash, WINDOW_START + 4_000);
+
+        long decision = engine.tryAcquire(RateLimitType.USER_ID, keyHash, WINDOW_START + 4_000);
+        assertTrue(RateLimitDecision.isAllowed(decision));
+        assertEquals(1, RateLimitDecision.tier(decision));
+        assertEquals(0, RateLimitDecision.remaining(decision));
+    }
+
+    @Test
+    void testIdleAfterLongestTierWindowEnds() {
+        engine.tryAcquire(RateLimitType.CLIENT_IP, "1.2.3.4", WINDOW_START + 15_000);
+        long slot = store.slot(KeyHasher.hash(RateLimitType.CLIENT_IP, "1.2.3.4"));
+
+        assertEquals(WINDOW_START + 7_200_000, engine.idleAtMillis(slot, WINDOW_START + 15_000));
+        assertEquals(7_200_000, engine.getMaxIdleMillis());
+    }
+
+    @Test
+    void testExposesTierLimits() {
+        assertEquals(3, engine.getTierCount());
+        assertEquals(3, engine.getLimit());
+        assertEquals(5, engine.getLimit(1));
+        assertEquals(3_600_000, engine.getTierWindowMillis(2));
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        InMemoryRateLimitStore twoWords = new InMemoryRateLimitStore(16, MultiTierEngine.recordWords(2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultiTierEngine(new long[] {1, 2}, new long[] {1_000}, twoWords));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultiTierEngine(new long[] {1, 2}, new long[] {60_000, 1_000}, twoWords));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultiTierEngine(new long[] {0, 2}, new long[] {1_000, 60_000}, twoWords));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultiTierEngine(new long[] {1, 2, 3}, new long[] {1_000, 60_000, 3_600_000}, twoWords));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultiTierEngine(new long[0], new long[0], twoWords));
+    }
+}
@@ -0,0 +1,90 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.InMemoryRateLimitStore;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterEngineTest {
+
+    // Aligned to a minute boundary so window arithmetic is easy to follow
+    private static final long WINDOW_START = 28_333_333L * 60_000L;
+
+    private InMemoryRateLimitStore store;
+    private SlidingWindowCounterEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRateLimitStore(1_024, SlidingWindowCounterEngine.RECORD_WORDS);
+        engine = new SlidingWindowCounterEngine(10, store);
+    }
+
+    @Test
+    void testIdleAfterFollowingWindowEnds() {
+        engine.tryAcquire(RateLimitType.CLIENT_IP, "1.2.3.4", WINDOW_START + 15_000);
+        long slot = store.slot(KeyHasher.hash(RateLimitType.CLIENT_IP, "1.2.3.4"));
+
+        assertEquals(WINDOW_START + 120_000, engine.idleAtMillis(slot, WINDOW_START + 15_000));
+        assertEquals(WINDOW_START + 120_000, engine.idleAtMillis(slot, WINDOW_START + 90_000));
+        assertTrue(engine.idleAtMillis(slot, WINDOW_START + 120_000) <= WINDOW_START + 120_000);
+    }
+
+    @Test
+    void testCountsWithinFirstWindow() {
+        for (int i = 9; i >= 0; i--) {
+            long decision = engine.tryAcquire(RateLimitType.CLIENT_IP, "1.2.3.4", WINDOW_START + 15_000);
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            assertEquals(i, RateLimitDecision.remaining(decision));
+            assertEquals(105_000, RateLimitDecision.resetAfterMillis(decision));
+        }
+
+        // Current window alone is full: wait for next window, then for 10 * overlap <= 9
+        long denied = engine.tryAcquire(RateLimitType.CLIENT_IP, "1.2.3.4", WINDOW_START + 15_000);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(45_000 + 6_000, RateLimitDecision.retryAfterMillis(denied));
+    }
+
+    @Test
+    void testWeightsPreviousWindow() {
+        for (int i = 0; i < 10; i++) {
+            engine.tryAcquire(RateLimitType.CLIENT_IP, "1.2.3.4", WINDOW_START + 30_000);
+        }
+
+        // Halfway through the next window the previous 10 requests count as 5
+        long halfway = WINDOW_START + 90_000;
+        for (int i = 4; i >= 0; i--) {
+            long decision = engine.tryAcquire(RateLimitType.CLIENT_IP, "1.2.3.4", halfway);
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            assertEquals(i, RateLimitDecision.remaining(decision));
+        }
+
+        // Estimate is 10 now; one more fits once the carry decays to 4 at 36 s into the window
+        long denied = engine.tryAcquire(RateLimitType.CLIENT_IP, "1.2.3.4", halfway);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(6_000, RateLimitDecision.retryAfterMillis(denied));
+        assertTrue(RateLimitDecision.isAllowed(
+                engine.tryAcquire(RateLimitType.CLIENT_IP, "1.2.3.4", halfway + 6_000)));
+    }
+
+    @Test
+    void testForgetsWindowsOlderThanPrevious() {
+        for (int i = 0; i < 10; i++) {
+            engine.tryAcquire(RateLimitType.CLIENT_IP, "1.2.3.4", WINDOW_START);
+        }
+
+        long decision = engine.tryAcquire(RateLimitType.CLIENT_IP, "1.2.3.4", WINDOW_START + 120_000);
+        assertTrue(RateLimitDecision.isAllowed(decision));
+        assertEquals(9, RateLimitDecision.remaining(decision));
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(16, SlidingWindowCounterEngine.RECORD_WORDS);
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowCounterEngine(0, store));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SlidingWindowCounterEngine(SlidingWindowCounterEngine.COUNT_MASK + 1, store));
+    }
+}
@@ -0,0 +1,145 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.InMemoryRateLimitStore;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowEngineTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private InMemoryRateLimitStore store;
+    private SlidingWindowEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRateLimitStore(1_024, SlidingWindowEngine.recordWords(3));
+        engine = new SlidingWindowEngine(3, store);
+    }
+
+    @Test
+    void testIdleOnceNewestEntryLeavesWindow() {
+        engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW);
+        engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 20_000);
+        long slot = store.slot(KeyHasher.hash(RateLimitType.USER_ID, "user123"));
+
+        assertEquals(NOW + 80_000, engine.idleAtMillis(slot, NOW + 20_000));
+        // Reading the expiry must leave the record unlocked
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 30_000)));
+        assertEquals(0, engine.idleAtMillis(store.slot(KeyHasher.hash(RateLimitType.USER_ID, "other")), NOW));
+    }
+
+    @Test
+    void testReleaseDropsNewestEntry() {
+        long keyHash = KeyHasher.hash(RateLimitType.USER_ID, "user123");
+        for (int i = 0; i < 3; i++) {
+            engine.tryAcquire(RateLimitType.USER_ID, keyHash, NOW + i * 10_000L);
+        }
+        engine.release(RateLimitType.USER_ID, keyHash, NOW + 20_000);
+
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, keyHash, NOW + 30_000)));
+        long slot = store.slot(keyHash);
+        assertEquals(NOW + 90_000, engine.idleAtMillis(slot, NOW + 30_000));
+    }
+
+    @Test
+    void testReleaseKeepsEntriesLoggedSince() {
+        long keyHash = KeyHasher.hash(RateLimitType.USER_ID, "user123");
+        for (int i = 0; i < 3; i++) {
+            engine.tryAcquire(RateLimitType.USER_ID, keyHash, NOW + i * 10_000L);
+        }
+        // The caller that acquired at NOW + 10000 rolls back after a later request was logged
+        engine.release(RateLimitType.USER_ID, keyHash, NOW + 10_000);
+
+        long slot = store.slot(keyHash);
+        assertEquals(NOW + 80_000, engine.idleAtMillis(slot, NOW + 20_000));
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, keyHash, NOW + 30_000)));
+        long denied = engine.tryAcquire(RateLimitType.USER_ID, keyHash, NOW + 40_000);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(20_000, RateLimitDecision.retryAfterMillis(denied));
+    }
+
+    @Test
+    void testReleaseOfEvictedEntryKeepsLog() {
+        long keyHash = KeyHasher.hash(RateLimitType.USER_ID, "user123");
+        engine.tryAcquire(RateLimitType.USER_ID, keyHash, NOW);
+        engine.tryAcquire(RateLimitType.USER_ID, keyHash, NOW + 70_000);
+        engine.release(RateLimitType.USER_ID, keyHash, NOW);
+
+        assertEquals(NOW + 130_000, engine.idleAtMillis(store.slot(keyHash), NOW + 70_000));
+    }
+
+    @Test
+    void testAdmitsUpToLimitWithinWindow() {
+        for (int i = 2; i >= 0; i--) {
+            long decision = engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + (2 - i) * 10_000L);
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            assertEquals(i, RateLimitDecision.remaining(decision));
+            assertEquals(60_000, RateLimitDecision.resetAfterMillis(decision));
+        }
+
+        // Oldest entry (NOW) expires at NOW + 60000
+        long denied = engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 30_000);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(30_000, RateLimitDecision.retryAfterMillis(denied));
+    }
+
+    @Test
+    void testEvictsExpiredEntriesAsWindowSlides() {
+        engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW);
+        engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 20_000);
+        engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 40_000);
+
+        assertFalse(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 59_999)));
+
+        long slid = engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 60_000);
+        assertTrue(RateLimitDecision.isAllowed(slid));
+        assertEquals(0, RateLimitDecision.remaining(slid));
+
+        // Wraps around the ring buffer once the next two entries expire
+        long wrapped = engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 100_000);
+        assertTrue(RateLimitDecision.isAllowed(wrapped));
+        assertEquals(1, RateLimitDecision.remaining(wrapped));
+    }
+
+    @Test
+    void testRebasesOffsetsForLongLivedKeys() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(16, SlidingWindowLog.recordWords(3));
+        SlidingWindowLog log = new SlidingWindowLog(store, 3);
+        long slot = store.slot(42L);
+
+        // Keep the key busy so the log is never empty and its base never resets
+        long time = NOW;
+        while (time < NOW + Integer.MAX_VALUE + 10_000L) {
+            assertTrue(RateLimitDecision.isAllowed(log.tryAcquire(slot, time, 60_000)));
+            time += 30_000;
+        }
+        assertTrue(RateLimitDecision.isAllowed(log.tryAcquire(slot, time, 60_000)));
+        assertTrue(RateLimitDecision.isAllowed(log.tryAcquire(slot, time + 1_000, 60_000)));
+
+        // Oldest live entry was logged at time - 30000
+        long denied = log.tryAcquire(slot, time + 2_000, 60_000);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(28_000, RateLimitDecision.retryAfterMillis(denied));
+    }
+
+    @Test
+    void testReportsBytesPerKey() {
+        // Two slots of key, header and base words plus 4 bytes per logged request
+        SlidingWindowEngine hundred = new SlidingWindowEngine(100,
+                new InMemoryRateLimitStore(16, SlidingWindowEngine.recordWords(100)));
+        assertEquals(2 * (8 + 16 + 400), hundred.getStateBytesPerKey());
+        assertEquals(2 * (8 + 16 + 16), engine.getStateBytesPerKey());
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(16, SlidingWindowEngine.recordWords(3));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowEngine(0, store));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowEngine(100, store));
+    }
+}
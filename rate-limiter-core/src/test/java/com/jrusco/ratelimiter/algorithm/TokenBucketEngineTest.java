@@ -0,0 +1,185 @@
+package com.jrusco.ratelimiter.algorithm;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.InMemoryRateLimitStore;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import com.jrusco.ratelimiter.store.RecordExpiry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketEngineTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private TokenBucketEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        // 10 token burst, one token every 600 ms
+        engine = new TokenBucketEngine(10, 100, new InMemoryRateLimitStore(1_024, TokenBucketEngine.RECORD_WORDS));
+    }
+
+    @Test
+    void testAllowsBurstThenDenies() {
+        for (int i = 9; i >= 0; i--) {
+            long decision = engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW);
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            assertEquals(i, RateLimitDecision.remaining(decision));
+        }
+
+        long denied = engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(0, RateLimitDecision.remaining(denied));
+        assertEquals(600, RateLimitDecision.retryAfterMillis(denied));
+    }
+
+    @Test
+    void testRequestRacingKeyRemovalLeavesReusedSlotAlone() {
+        long removed = 42L;
+        // Starts its probe chain at the same slot in a 32 slot table
+        long reusing = 42L + 32;
+        AtomicBoolean raced = new AtomicBoolean();
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(16, TokenBucketEngine.RECORD_WORDS) {
+            @Override
+            public long slot(long keyHash) {
+                long slot = super.slot(keyHash);
+                // The key is removed and its slot handed to another key just after it was resolved
+                if (keyHash == removed && raced.compareAndSet(false, true)) {
+                    assertTrue(remove(removed, slot, idle(), NOW));
+                    assertEquals(slot, super.slot(reusing));
+                }
+                return slot;
+            }
+        };
+        TokenBucketEngine buckets = new TokenBucketEngine(10, 100, store);
+
+        assertEquals(9, RateLimitDecision.remaining(buckets.tryAcquire(RateLimitType.USER_ID, removed, NOW)));
+        assertEquals(2, store.size());
+        assertEquals(9, RateLimitDecision.remaining(buckets.tryAcquire(RateLimitType.USER_ID, reusing, NOW)));
+        assertEquals(8, RateLimitDecision.remaining(buckets.tryAcquire(RateLimitType.USER_ID, removed, NOW)));
+    }
+
+    @Test
+    void testNewKeysAreDeniedWhileStoreIsFull() {
+        TokenBucketEngine small = new TokenBucketEngine(10, 100,
+                new InMemoryRateLimitStore(2, TokenBucketEngine.RECORD_WORDS));
+        small.tryAcquire(RateLimitType.USER_ID, "user1", NOW);
+        small.tryAcquire(RateLimitType.USER_ID, "user2", NOW);
+
+        long denied = small.tryAcquire(RateLimitType.USER_ID, "user3", NOW);
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(1_000, RateLimitDecision.retryAfterMillis(denied));
+        assertEquals(8, RateLimitDecision.remaining(small.tryAcquire(RateLimitType.USER_ID, "user1", NOW)));
+        // Nothing was taken, so nothing is given back
+        small.release(RateLimitType.USER_ID, KeyHasher.hash(RateLimitType.USER_ID, "user3"), NOW);
+    }
+
+    @Test
+    void testRefillsOverTime() {
+        for (int i = 0; i < 10; i++) {
+            engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW);
+        }
+
+        long early = engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 599);
+        assertFalse(RateLimitDecision.isAllowed(early));
+        assertEquals(1, RateLimitDecision.retryAfterMillis(early));
+
+        long refilled = engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 600);
+        assertTrue(RateLimitDecision.isAllowed(refilled));
+        assertEquals(0, RateLimitDecision.remaining(refilled));
+
+        long full = engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 60_000);
+        assertTrue(RateLimitDecision.isAllowed(full));
+        assertEquals(9, RateLimitDecision.remaining(full));
+        assertEquals(600, RateLimitDecision.resetAfterMillis(full));
+    }
+
+    @Test
+    void testKeepsFractionalRefillProgress() {
+        TokenBucketEngine slow = new TokenBucketEngine(1, 7, new InMemoryRateLimitStore(16, TokenBucketEngine.RECORD_WORDS));
+        assertTrue(RateLimitDecision.isAllowed(slow.tryAcquire(RateLimitType.API_KEY, "key", NOW)));
+
+        // One token every 8571.43 ms; probing early must not lose accumulated progress
+        assertFalse(RateLimitDecision.isAllowed(slow.tryAcquire(RateLimitType.API_KEY, "key", NOW + 5_000)));
+        assertFalse(RateLimitDecision.isAllowed(slow.tryAcquire(RateLimitType.API_KEY, "key", NOW + 8_571)));
+        assertTrue(RateLimitDecision.isAllowed(slow.tryAcquire(RateLimitType.API_KEY, "key", NOW + 8_572)));
+    }
+
+    @Test
+    void testKeysAreIsolatedByTypeAndIdentifier() {
+        for (int i = 0; i < 10; i++) {
+            engine.tryAcquire(RateLimitType.USER_ID, "shared", NOW);
+        }
+
+        assertFalse(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, "shared", NOW)));
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.API_KEY, "shared", NOW)));
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, "other", NOW)));
+    }
+
+    @Test
+    void testReleaseGivesTokenBackUpToCapacity() {
+        long keyHash = KeyHasher.hash(RateLimitType.USER_ID, "user123");
+        engine.tryAcquire(RateLimitType.USER_ID, keyHash, NOW);
+        engine.release(RateLimitType.USER_ID, keyHash, NOW);
+        engine.release(RateLimitType.USER_ID, keyHash, NOW);
+
+        long decision = engine.tryAcquire(RateLimitType.USER_ID, keyHash, NOW);
+        assertEquals(9, RateLimitDecision.remaining(decision));
+    }
+
+    @Test
+    void testConcurrentAcquireNeverOverAdmits() throws Exception {
+        TokenBucketEngine hot = new TokenBucketEngine(1_000, 1, new InMemoryRateLimitStore(16, TokenBucketEngine.RECORD_WORDS));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1_000; i++) {
+                    if (RateLimitDecision.isAllowed(hot.tryAcquire(RateLimitType.GLOBAL, "global", NOW))) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1_000, allowed.get());
+    }
+
+    @Test
+    void testRejectsInvalidConfiguration() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(16, TokenBucketEngine.RECORD_WORDS);
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketEngine(0, 100, store));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketEngine(10, 0, store));
+    }
+
+    private static RecordExpiry idle() {
+        return new RecordExpiry() {
+            @Override
+            public long idleAtMillis(long slot, long nowMillis) {
+                return 0;
+            }
+
+            @Override
+            public long getMaxIdleMillis() {
+                return 0;
+            }
+        };
+    }
+}
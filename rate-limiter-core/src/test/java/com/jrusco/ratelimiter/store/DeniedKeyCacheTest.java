@@ -0,0 +1,79 @@
+package com.jrusco.ratelimiter.store;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeniedKeyCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private DeniedKeyCache cache;
+    private long key;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DeniedKeyCache(1_000);
+        key = KeyHasher.hash(RateLimitType.API_KEY, "abusive-client");
+    }
+
+    @Test
+    void testRoundsCapacityUpToPowerOfTwo() {
+        assertEquals(1_024, cache.getCapacity());
+        assertEquals(1, new DeniedKeyCache(1).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new DeniedKeyCache(0));
+    }
+
+    @Test
+    void testDeniesUntilRetryTime() {
+        cache.record(key, RateLimitDecision.withTier(RateLimitDecision.deny(5_000), 2), NOW);
+
+        long decision = cache.lookup(key, NOW + 1_000);
+        assertFalse(RateLimitDecision.isAllowed(decision));
+        assertEquals(4_000, RateLimitDecision.retryAfterMillis(decision));
+        assertEquals(2, RateLimitDecision.tier(decision));
+        assertEquals(1, RateLimitDecision.retryAfterMillis(cache.lookup(key, NOW + 4_999)));
+
+        assertEquals(DeniedKeyCache.NOT_DENIED, cache.lookup(key, NOW + 5_000));
+        assertEquals(2, cache.hits());
+    }
+
+    @Test
+    void testIgnoresAdmissions() {
+        cache.record(key, RateLimitDecision.allow(0, 5_000), NOW);
+
+        assertEquals(DeniedKeyCache.NOT_DENIED, cache.lookup(key, NOW));
+    }
+
+    @Test
+    void testOtherKeysAreNotDenied() {
+        cache.record(key, RateLimitDecision.deny(5_000), NOW);
+
+        assertEquals(DeniedKeyCache.NOT_DENIED, cache.lookup(KeyHasher.hash(RateLimitType.API_KEY, "other"), NOW));
+        assertEquals(DeniedKeyCache.NOT_DENIED, cache.lookup(KeyHasher.hash(RateLimitType.USER_ID, "abusive-client"), NOW));
+    }
+
+    @Test
+    void testCollidingKeyReplacesEntry() {
+        DeniedKeyCache single = new DeniedKeyCache(1);
+        long other = KeyHasher.hash(RateLimitType.API_KEY, "other");
+        single.record(key, RateLimitDecision.deny(5_000), NOW);
+        single.record(other, RateLimitDecision.deny(5_000), NOW);
+
+        assertEquals(DeniedKeyCache.NOT_DENIED, single.lookup(key, NOW));
+        assertFalse(RateLimitDecision.isAllowed(single.lookup(other, NOW)));
+    }
+
+    @Test
+    void testInvalidateForgetsDenial() {
+        cache.record(key, RateLimitDecision.deny(5_000), NOW);
+        cache.invalidate(KeyHasher.hash(RateLimitType.API_KEY, "other"));
+        assertNotEquals(DeniedKeyCache.NOT_DENIED, cache.lookup(key, NOW));
+
+        cache.invalidate(key);
+        assertEquals(DeniedKeyCache.NOT_DENIED, cache.lookup(key, NOW));
+    }
+}
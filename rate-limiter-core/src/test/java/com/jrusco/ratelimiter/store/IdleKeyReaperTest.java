@@ -0,0 +1,161 @@
+package com.jrusco.ratelimiter.store;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.algorithm.SlidingWindowEngine;
+import com.jrusco.ratelimiter.algorithm.TokenBucketEngine;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdleKeyReaperTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private InMemoryRateLimitStore store;
+    private TokenBucketEngine engine;
+    private IdleKeyReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        // 10 token burst, one token every 600 ms, so a drained bucket is full again after 6 s
+        store = new InMemoryRateLimitStore(1_024, TokenBucketEngine.RECORD_WORDS);
+        engine = new TokenBucketEngine(10, 100, store);
+        reaper = new IdleKeyReaper(Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC), 100);
+        reaper.register(store, engine);
+    }
+
+    @Test
+    void testRemovesKeysOnceIdle() {
+        engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW);
+        engine.tryAcquire(RateLimitType.USER_ID, "user456", NOW);
+        assertEquals(2, store.size());
+
+        assertEquals(0, reaper.expire(NOW + 5_900));
+        assertEquals(2, store.size());
+        assertEquals(2, reaper.expire(NOW + 6_000));
+        assertEquals(0, store.size());
+        assertEquals(0, reaper.scheduledKeys());
+    }
+
+    @Test
+    void testBusyKeysAreRescheduled() {
+        for (int i = 0; i < 10; i++) {
+            engine.tryAcquire(RateLimitType.USER_ID, "busy", NOW + 5_000);
+        }
+
+        // The first deadline finds the bucket still draining and moves to when it is full
+        assertEquals(0, reaper.expire(NOW + 6_000));
+        assertEquals(1, reaper.scheduledKeys());
+        assertEquals(0, reaper.expire(NOW + 10_900));
+        assertEquals(1, reaper.expire(NOW + 11_000));
+    }
+
+    @Test
+    void testRemovedKeysStartFresh() {
+        for (int i = 0; i < 10; i++) {
+            engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW);
+        }
+        reaper.expire(NOW + 6_000);
+
+        long decision = engine.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 6_000);
+        assertTrue(RateLimitDecision.isAllowed(decision));
+        assertEquals(9, RateLimitDecision.remaining(decision));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testStoreStaysUsableUnderChurn() {
+        InMemoryRateLimitStore small = new InMemoryRateLimitStore(64, TokenBucketEngine.RECORD_WORDS);
+        TokenBucketEngine churned = new TokenBucketEngine(10, 100, small);
+        reaper.register(small, churned);
+
+        // Far more keys over time than the store can hold at once
+        long now = NOW;
+        for (int round = 0; round < 100; round++) {
+            for (int key = 0; key < 32; key++) {
+                assertTrue(RateLimitDecision.isAllowed(
+                        churned.tryAcquire(RateLimitType.CLIENT_IP, "10.0." + round + "." + key, now)));
+            }
+            now += 6_000;
+            reaper.expire(now);
+            assertEquals(0, small.size());
+        }
+    }
+
+    @Test
+    void testKeyUpdatedAfterIdleCheckIsKept() {
+        InMemoryRateLimitStore raced = new InMemoryRateLimitStore(16, TokenBucketEngine.RECORD_WORDS);
+        TokenBucketEngine buckets = new TokenBucketEngine(10, 100, raced);
+        AtomicBoolean landed = new AtomicBoolean();
+        reaper.register(raced, new RecordExpiry() {
+            @Override
+            public long idleAtMillis(long slot, long nowMillis) {
+                long idleAt = buckets.idleAtMillis(slot, nowMillis);
+                // A request lands just after the reaper found the bucket full
+                if (landed.compareAndSet(false, true)) {
+                    buckets.tryAcquire(RateLimitType.USER_ID, "user123", nowMillis);
+                }
+                return idleAt;
+            }
+
+            @Override
+            public long getMaxIdleMillis() {
+                return buckets.getMaxIdleMillis();
+            }
+        });
+        buckets.tryAcquire(RateLimitType.USER_ID, "user123", NOW);
+
+        assertEquals(0, reaper.expire(NOW + 6_000));
+        assertEquals(1, raced.size());
+        assertEquals(8, RateLimitDecision.remaining(buckets.tryAcquire(RateLimitType.USER_ID, "user123", NOW + 6_000)));
+        assertEquals(1, reaper.expire(NOW + 20_000));
+    }
+
+    @Test
+    void testExpiryRacingRequestsLeavesRecordsConsistent() throws Exception {
+        // Logs take a header lock, and a drained window stays busy for a minute
+        InMemoryRateLimitStore logs = new InMemoryRateLimitStore(64, SlidingWindowEngine.recordWords(5));
+        SlidingWindowEngine windows = new SlidingWindowEngine(5, logs);
+        reaper.register(logs, windows);
+
+        int threads = 4;
+        AtomicLong clock = new AtomicLong(NOW);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; running.get(); i++) {
+                    windows.tryAcquire(RateLimitType.CLIENT_IP, "10.0.0." + (i & 15), clock.get());
+                }
+                return null;
+            });
+        }
+        // Every round the keys go idle and the reaper removes them while requests keep landing
+        for (int round = 0; round < 2_000; round++) {
+            reaper.expire(clock.addAndGet(60_000));
+        }
+        running.set(false);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Keys that went busy again stayed scheduled, and every record left is whole
+        reaper.expire(clock.addAndGet(120_000));
+        assertEquals(0, logs.size());
+        assertEquals(0, reaper.scheduledKeys());
+        for (int key = 0; key < 16; key++) {
+            long decision = windows.tryAcquire(RateLimitType.CLIENT_IP, "10.0.0." + key, clock.get());
+            assertEquals(4, RateLimitDecision.remaining(decision));
+        }
+    }
+}
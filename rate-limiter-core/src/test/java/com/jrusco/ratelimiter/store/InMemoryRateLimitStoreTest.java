@@ -0,0 +1,228 @@
+package com.jrusco.ratelimiter.store;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRateLimitStoreTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    // Reads every record as idle, or as busy until a second after NOW
+    private static final RecordExpiry IDLE = expiry(0);
+    private static final RecordExpiry BUSY = expiry(NOW + 1_000);
+
+    private InMemoryRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRateLimitStore(1_000, 2);
+    }
+
+    @Test
+    void testRoundsCapacityUpToPowerOfTwo() {
+        assertEquals(1_024, store.getCapacity());
+        assertEquals(2, store.getRecordWords());
+        // Two 24 byte slots per key
+        assertEquals(48, store.getBytesPerKey());
+        assertEquals(0, store.getReservedBytes());
+
+        store.slot(1L);
+        assertEquals(store.getCapacity() * store.getBytesPerKey(), store.getReservedBytes());
+    }
+
+    @Test
+    void testSameKeyResolvesToSameSlot() {
+        long hash = KeyHasher.hash(RateLimitType.USER_ID, "user123");
+        long slot = store.slot(hash);
+
+        assertEquals(slot, store.slot(hash));
+        assertNotEquals(slot, store.slot(KeyHasher.hash(RateLimitType.USER_ID, "user124")));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void testRecordsStartZeroedAndSupportCas() {
+        long slot = store.slot(42L);
+        assertEquals(0, store.get(slot, 0));
+        assertEquals(0, store.get(slot, 1));
+
+        assertTrue(store.compareAndSet(slot, 1, 0, 7));
+        assertFalse(store.compareAndSet(slot, 1, 0, 8));
+        assertEquals(7, store.get(slot, 1));
+        assertEquals(0, store.get(slot, 0));
+
+        store.set(slot, 0, 9);
+        assertEquals(9, store.get(store.slot(42L), 0));
+    }
+
+    @Test
+    void testZeroHashIsUsable() {
+        long slot = store.slot(0L);
+        store.set(slot, 0, 5);
+        assertEquals(5, store.get(store.slot(0L), 0));
+    }
+
+    @Test
+    void testHasNoSlotForNewKeysWhenFull() {
+        InMemoryRateLimitStore tiny = new InMemoryRateLimitStore(4, 1);
+        for (long key = 1; key <= 4; key++) {
+            tiny.slot(key);
+        }
+        assertEquals(RateLimitStore.NO_SLOT, tiny.slot(5L));
+        assertEquals(4, tiny.size());
+        assertNotEquals(RateLimitStore.NO_SLOT, tiny.slot(4L));
+    }
+
+    @Test
+    void testPowerOfTwoCapacityIsReachable() {
+        // Such as the default of 2^20: every key fits, however the hashes cluster
+        InMemoryRateLimitStore large = new InMemoryRateLimitStore(1 << 16, 1);
+        for (long key = 1; key <= 1 << 16; key++) {
+            assertNotEquals(RateLimitStore.NO_SLOT, large.slot(KeyHasher.hash(RateLimitType.CLIENT_IP, "10.0." + key)));
+        }
+        assertEquals(1 << 16, large.size());
+        assertEquals(RateLimitStore.NO_SLOT, large.slot(KeyHasher.hash(RateLimitType.CLIENT_IP, "10.1.0.0")));
+    }
+
+    @Test
+    void testRemovedSlotsAreZeroedAndReused() {
+        store.setClaimListener((keyHash, slot) -> assertEquals(0, store.get(slot, 0)));
+        long slot = store.slot(42L);
+        store.set(slot, 0, 7);
+        store.set(slot, 1, 8);
+
+        assertFalse(store.remove(43L, slot, IDLE, NOW));
+        assertTrue(store.remove(42L, slot, IDLE, NOW));
+        assertFalse(store.remove(42L, slot, IDLE, NOW));
+        assertEquals(0, store.size());
+
+        long reused = store.slot(43L);
+        assertEquals(0, store.get(reused, 0));
+        assertEquals(0, store.get(reused, 1));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testReusedSlotsAreZeroedAfterLateWrites() {
+        long slot = store.slot(42L);
+        assertTrue(store.remove(42L, slot, IDLE, NOW));
+
+        // A request that resolved the slot before the removal writes to it afterwards
+        assertTrue(store.compareAndSet(slot, 0, 0, 7));
+
+        // A key whose chain starts at the same slot takes the tombstone
+        assertEquals(slot, store.slot(42L + 2_048));
+        assertEquals(0, store.get(slot, 0));
+    }
+
+    @Test
+    void testSlotHoldsKeyUntilRemoved() {
+        long slot = store.slot(42L);
+        assertTrue(store.holds(slot, 42L));
+        assertFalse(store.holds(slot, 42L + 2_048));
+
+        assertTrue(store.remove(42L, slot, IDLE, NOW));
+        assertFalse(store.holds(slot, 42L));
+        assertEquals(slot, store.slot(42L + 2_048));
+        assertFalse(store.holds(slot, 42L));
+        assertTrue(store.holds(slot, 42L + 2_048));
+    }
+
+    @Test
+    void testBusyRecordsAreKept() {
+        long slot = store.slot(42L);
+        store.set(slot, 0, 7);
+
+        assertFalse(store.remove(42L, slot, BUSY, NOW));
+        assertEquals(1, store.size());
+        assertEquals(slot, store.slot(42L));
+        assertEquals(7, store.get(slot, 0));
+        assertTrue(store.remove(42L, slot, BUSY, NOW + 1_000));
+    }
+
+    @Test
+    void testRemovalKeepsProbeChainsIntact() {
+        // Eight slots, and every key below starts its chain at slot 0
+        InMemoryRateLimitStore tiny = new InMemoryRateLimitStore(4, 1);
+        long[] slots = new long[4];
+        for (int key = 1; key <= 4; key++) {
+            slots[key - 1] = tiny.slot(key * 8L);
+            tiny.set(slots[key - 1], 0, key);
+        }
+
+        assertTrue(tiny.remove(8L, slots[0], IDLE, NOW));
+        for (int key = 2; key <= 4; key++) {
+            assertEquals(key, tiny.get(tiny.slot(key * 8L), 0));
+        }
+        assertEquals(3, tiny.size());
+
+        // The freed slot takes the next new key, which fills the store again
+        assertEquals(slots[0], tiny.slot(5L * 8));
+        assertEquals(RateLimitStore.NO_SLOT, tiny.slot(6L * 8));
+    }
+
+    @Test
+    void testConcurrentClaimsOfSameKeyShareOneSlot() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> slots = ConcurrentHashMap.newKeySet();
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (long key = 1; key <= 500; key++) {
+                    long slot = store.slot(key * 0x9E3779B97F4A7C15L);
+                    if (key == 1) {
+                        slots.add(slot);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, slots.size());
+        assertEquals(500, store.size());
+    }
+
+    @Test
+    void testKeyHashDependsOnTypeAndIdentifier() {
+        long hash = KeyHasher.hash(RateLimitType.USER_ID, "abc");
+
+        long streamed = KeyHasher.seed(RateLimitType.USER_ID);
+        for (char c : "abc".toCharArray()) {
+            streamed = KeyHasher.update(streamed, c);
+        }
+        assertEquals(hash, KeyHasher.finish(streamed));
+
+        assertNotEquals(hash, KeyHasher.hash(RateLimitType.API_KEY, "abc"));
+        assertNotEquals(hash, KeyHasher.hash(RateLimitType.USER_ID, "abd"));
+    }
+
+    private static RecordExpiry expiry(long idleAtMillis) {
+        return new RecordExpiry() {
+            @Override
+            public long idleAtMillis(long slot, long nowMillis) {
+                return idleAtMillis;
+            }
+
+            @Override
+            public long getMaxIdleMillis() {
+                return 0;
+            }
+        };
+    }
+}
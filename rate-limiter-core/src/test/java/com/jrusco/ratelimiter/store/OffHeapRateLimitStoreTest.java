@@ -0,0 +1,112 @@
+package com.jrusco.ratelimiter.store;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.algorithm.TokenBucketEngine;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapRateLimitStoreTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private OffHeapRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        // 24 bytes per slot: 42_666 fit, rounded down to 32_768 slots for 16_384 keys
+        store = new OffHeapRateLimitStore(1_024_000, 2);
+    }
+
+    @Test
+    void testSizesSlotsFromByteBudget() {
+        assertEquals(16_384, store.getCapacity());
+        assertEquals(48, store.getBytesPerKey());
+        assertEquals(0, store.size());
+        assertEquals(0, store.getReservedBytes());
+    }
+
+    @Test
+    void testReservesSegmentsOnFirstTouch() {
+        store.slot(1L);
+        long reserved = store.getReservedBytes();
+        assertTrue(reserved > 0);
+        assertTrue(reserved <= 1L << OffHeapRateLimitStore.MAX_SEGMENT_BYTES_BITS);
+
+        for (long key = 2; key <= 10_000; key++) {
+            store.slot(key * 0x9E3779B97F4A7C15L);
+        }
+        assertEquals(10_000, store.size());
+        assertTrue(store.getReservedBytes() <= store.getCapacity() * store.getBytesPerKey());
+    }
+
+    @Test
+    void testRecordsStartZeroedAndSupportCas() {
+        long slot = store.slot(KeyHasher.hash(RateLimitType.CLIENT_IP, "192.168.1.1"));
+        assertEquals(0, store.get(slot, 0));
+        assertEquals(0, store.get(slot, 1));
+
+        assertTrue(store.compareAndSet(slot, 1, 0, -7));
+        assertFalse(store.compareAndSet(slot, 1, 0, 8));
+        assertEquals(-7, store.get(slot, 1));
+        assertEquals(0, store.get(slot, 0));
+
+        store.set(slot, 0, Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, store.get(store.slot(KeyHasher.hash(RateLimitType.CLIENT_IP, "192.168.1.1")), 0));
+    }
+
+    @Test
+    void testHasNoSlotForNewKeysWhenFull() {
+        OffHeapRateLimitStore tiny = new OffHeapRateLimitStore(64, 1);
+        assertEquals(2, tiny.getCapacity());
+        long held = tiny.slot(1L);
+        tiny.slot(2L);
+
+        assertEquals(RateLimitStore.NO_SLOT, tiny.slot(3L));
+        assertEquals(held, tiny.slot(1L));
+        assertEquals(2, tiny.size());
+    }
+
+    @Test
+    void testRejectsBudgetSmallerThanOneRecord() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapRateLimitStore(8, 1));
+        // One slot would leave the table full with its only key
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapRateLimitStore(16, 1));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapRateLimitStore(1_024, 0));
+    }
+
+    @Test
+    void testEngineNeverOverAdmitsOffHeap() throws Exception {
+        TokenBucketEngine engine = new TokenBucketEngine(1_000, 1,
+                new OffHeapRateLimitStore(4_096, TokenBucketEngine.RECORD_WORDS));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1_000; i++) {
+                    if (RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.GLOBAL, "global", NOW))) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1_000, allowed.get());
+    }
+}
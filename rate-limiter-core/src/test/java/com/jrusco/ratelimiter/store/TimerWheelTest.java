@@ -0,0 +1,109 @@
+package com.jrusco.ratelimiter.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final List<Long> fired = new ArrayList<>();
+    private final List<Long> firedAt = new ArrayList<>();
+
+    private TimerWheel.Handler recording() {
+        return (slot, keyHash, nowMillis) -> {
+            fired.add(slot);
+            firedAt.add(nowMillis);
+            return -1;
+        };
+    }
+
+    @Test
+    void testFiresAtDeadlineTick() {
+        TimerWheel wheel = new TimerWheel(1_000, NOW);
+        wheel.schedule(1, 11, NOW + 5_000);
+        wheel.schedule(2, 22, NOW + 2_500);
+
+        wheel.advance(NOW + 2_000, recording());
+        assertTrue(fired.isEmpty());
+        assertEquals(2, wheel.size());
+
+        wheel.advance(NOW + 3_000, recording());
+        assertEquals(List.of(2L), fired);
+
+        wheel.advance(NOW + 5_000, recording());
+        assertEquals(List.of(2L, 1L), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCascadesDistantDeadlines() {
+        TimerWheel wheel = new TimerWheel(1, NOW);
+        long[] delays = {63, 64, 65, 4_095, 4_096, 4_097, 262_143, 262_144, 300_000};
+        for (int i = 0; i < delays.length; i++) {
+            wheel.schedule(i, i, NOW + delays[i]);
+        }
+
+        for (int i = 0; i < delays.length; i++) {
+            wheel.advance(NOW + delays[i] - 1, recording());
+            assertEquals(i, fired.size(), "entry " + i + " fired early");
+            wheel.advance(NOW + delays[i], recording());
+            assertEquals(i + 1, fired.size(), "entry " + i + " did not fire on time");
+        }
+    }
+
+    @Test
+    void testPastDeadlinesFireOnNextTick() {
+        TimerWheel wheel = new TimerWheel(100, NOW);
+        wheel.schedule(7, 77, NOW - 10_000);
+
+        wheel.advance(NOW + 100, recording());
+        assertEquals(List.of(7L), fired);
+    }
+
+    @Test
+    void testHandlerCanReschedule() {
+        TimerWheel wheel = new TimerWheel(1_000, NOW);
+        wheel.schedule(3, 33, NOW + 1_000);
+
+        TimerWheel.Handler reschedulingOnce = (slot, keyHash, nowMillis) -> {
+            fired.add(slot);
+            return fired.size() == 1 ? nowMillis + 10_000 : -1;
+        };
+        wheel.advance(NOW + 1_000, reschedulingOnce);
+        assertEquals(1, wheel.size());
+
+        wheel.advance(NOW + 10_999, reschedulingOnce);
+        assertEquals(1, fired.size());
+        wheel.advance(NOW + 11_000, reschedulingOnce);
+        assertEquals(2, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testOnlyDueEntriesAreVisited() {
+        TimerWheel wheel = new TimerWheel(1_000, NOW);
+        for (long slot = 0; slot < 10_000; slot++) {
+            wheel.schedule(slot, slot, NOW + 3_600_000);
+        }
+        wheel.schedule(10_000, 10_000, NOW + 2_000);
+
+        wheel.advance(NOW + 60_000, recording());
+        assertEquals(List.of(10_000L), fired);
+        assertEquals(10_000, wheel.size());
+    }
+
+    @Test
+    void testClampsDeadlinesBeyondTheWheel() {
+        TimerWheel wheel = new TimerWheel(1, NOW);
+        wheel.schedule(9, 99, Long.MAX_VALUE);
+
+        // Handed back to the handler once the top level comes round rather than lost
+        wheel.advance(NOW + (1L << 24), recording());
+        assertEquals(List.of(9L), fired);
+    }
+}
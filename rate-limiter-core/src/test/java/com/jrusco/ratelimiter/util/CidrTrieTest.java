@@ -0,0 +1,76 @@
+package com.jrusco.ratelimiter.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CidrTrieTest {
+
+    private static final int PRIVATE = 1;
+    private static final int PROXY = 2;
+
+    @Test
+    void testUnitesFlagsOfEveryContainingBlock() {
+        CidrTrie trie = new CidrTrie();
+        trie.insert("10.0.0.0/8", PRIVATE);
+        trie.insert("10.1.0.0/16", PROXY);
+
+        assertEquals(PRIVATE | PROXY, CidrTrie.flags(lookup(trie, "10.1.2.3")));
+        assertEquals(PRIVATE, CidrTrie.flags(lookup(trie, "10.2.0.1")));
+        assertEquals(0, CidrTrie.flags(lookup(trie, "11.0.0.1")));
+        assertEquals(-1, CidrTrie.rule(lookup(trie, "10.1.2.3")));
+    }
+
+    @Test
+    void testMostSpecificRuleWins() {
+        CidrTrie trie = new CidrTrie();
+        trie.insert("2001:db8::/32", 0, 0);
+        trie.insert("2001:db8:1::/48", 0, 1);
+        trie.insert("203.0.113.0/24", 0, 2);
+
+        assertEquals(1, CidrTrie.rule(lookup(trie, "2001:db8:1::5")));
+        assertEquals(0, CidrTrie.rule(lookup(trie, "2001:db8:2::5")));
+        assertEquals(2, CidrTrie.rule(lookup(trie, "203.0.113.200")));
+        assertEquals(-1, CidrTrie.rule(lookup(trie, "203.0.114.1")));
+        assertEquals(-1, CidrTrie.rule(lookup(trie, "2001:db9::1")));
+    }
+
+    @Test
+    void testMatchesHostRoutesAndDefaultRoute() {
+        CidrTrie trie = new CidrTrie();
+        trie.insert("::/0", PRIVATE);
+        trie.insert("::1/128", PROXY);
+        trie.insert("192.0.2.7/32", PROXY);
+
+        assertEquals(PRIVATE | PROXY, CidrTrie.flags(lookup(trie, "::1")));
+        assertEquals(PRIVATE | PROXY, CidrTrie.flags(lookup(trie, "192.0.2.7")));
+        assertEquals(PRIVATE, CidrTrie.flags(lookup(trie, "192.0.2.8")));
+    }
+
+    @Test
+    void testGrowsPastInitialCapacity() {
+        CidrTrie trie = new CidrTrie();
+        for (int i = 0; i < 256; i++) {
+            trie.insert("2001:db8:" + Integer.toHexString(i) + "::/48", 0, i);
+        }
+        for (int i = 0; i < 256; i++) {
+            assertEquals(i, CidrTrie.rule(lookup(trie, "2001:db8:" + Integer.toHexString(i) + "::1")));
+        }
+    }
+
+    @Test
+    void testRejectsInvalidBlocks() {
+        CidrTrie trie = new CidrTrie();
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("10.0.0.0", PRIVATE));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("10.0.0.0/33", PRIVATE));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("::/129", PRIVATE));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("10.0.0.0/08", PRIVATE));
+        assertThrows(IllegalArgumentException.class, () -> trie.insert("host/8", PRIVATE));
+    }
+
+    private static long lookup(CidrTrie trie, String ip) {
+        long[] address = new long[2];
+        assertTrue(IpAddressUtils.parse(ip, address), ip);
+        return trie.lookup(address[IpAddressUtils.HIGH], address[IpAddressUtils.LOW]);
+    }
+}
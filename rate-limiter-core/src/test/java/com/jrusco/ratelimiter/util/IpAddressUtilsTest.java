@@ -0,0 +1,119 @@
+package com.jrusco.ratelimiter.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpAddressUtilsTest {
+
+    @Test
+    void testPacksIpv4AsMapped() {
+        long[] address = new long[2];
+        assertTrue(IpAddressUtils.parse("192.168.1.1", address));
+        assertEquals(0, address[IpAddressUtils.HIGH]);
+        assertEquals(0x0000_FFFF_C0A8_0101L, address[IpAddressUtils.LOW]);
+        assertTrue(IpAddressUtils.isIpv4(address[IpAddressUtils.HIGH], address[IpAddressUtils.LOW]));
+
+        assertTrue(IpAddressUtils.parse("0.0.0.0", address));
+        assertEquals(0x0000_FFFF_0000_0000L, address[IpAddressUtils.LOW]);
+        assertTrue(IpAddressUtils.parse("255.255.255.255", address));
+        assertEquals(0x0000_FFFF_FFFF_FFFFL, address[IpAddressUtils.LOW]);
+    }
+
+    @Test
+    void testPacksIpv6() {
+        long[] address = new long[2];
+        assertTrue(IpAddressUtils.parse("2001:db8:85a3:0:0:8a2e:370:7334", address));
+        assertEquals(0x2001_0DB8_85A3_0000L, address[IpAddressUtils.HIGH]);
+        assertEquals(0x0000_8A2E_0370_7334L, address[IpAddressUtils.LOW]);
+
+        assertTrue(IpAddressUtils.parse("::1", address));
+        assertEquals(0, address[IpAddressUtils.HIGH]);
+        assertEquals(1, address[IpAddressUtils.LOW]);
+
+        assertTrue(IpAddressUtils.parse("fe80::", address));
+        assertEquals(0xFE80_0000_0000_0000L, address[IpAddressUtils.HIGH]);
+        assertEquals(0, address[IpAddressUtils.LOW]);
+
+        assertTrue(IpAddressUtils.parse("::", address));
+        assertEquals(0, address[IpAddressUtils.HIGH]);
+        assertEquals(0, address[IpAddressUtils.LOW]);
+
+        assertFalse(IpAddressUtils.isIpv4(0, 1));
+    }
+
+    @Test
+    void testEverySpellingPacksTheSame() {
+        assertSamePacking("2001:db8::1", "2001:DB8:0:0:0:0:0:1");
+        assertSamePacking("2001:db8::1", "2001:0db8:0000::0001");
+        assertSamePacking("1:2:3:4:5:6:7::", "1:2:3:4:5:6:7:0");
+        assertSamePacking("::ffff:10.0.0.1", "10.0.0.1");
+        assertSamePacking("::ffff:a00:1", "10.0.0.1");
+        assertSamePacking("1:2:3:4:5:6:10.0.0.1", "1:2:3:4:5:6:a00:1");
+    }
+
+    @Test
+    void testRejectsInvalidLiterals() {
+        String[] invalid = {
+                "", "invalid", "localhost", "256.1.1.1", "1.2.3", "1.2.3.4.5", "1..2.3", ".1.2.3", "1.2.3.",
+                "01.2.3.4", "1.2.3.4 ", " 1.2.3.4", "1.2.3.-4",
+                ":", ":::", "1:2", ":1::", "1::2::3", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7:8::",
+                "::1:2:3:4:5:6:7:8", "12345::", "1:2:", "g::1", "fe80::1%eth0", "[::1]", "::1.2.3", "::1.2.3.4:5"
+        };
+        long[] address = {7, 7};
+        for (String text : invalid) {
+            assertFalse(IpAddressUtils.isValid(text), text);
+            assertFalse(IpAddressUtils.parse(text, address), text);
+        }
+        assertArrayEquals(new long[] {7, 7}, address);
+        assertFalse(IpAddressUtils.isValid(null));
+    }
+
+    @Test
+    void testParsesRangeInPlace() {
+        long[] address = new long[2];
+        String header = "unknown, 1.2.3.4, 5.6.7.8";
+        assertTrue(IpAddressUtils.parse(header, 9, 16, address));
+        assertEquals(0x0000_FFFF_0102_0304L, address[IpAddressUtils.LOW]);
+        assertFalse(IpAddressUtils.parse(header, 0, 7, address));
+    }
+
+    @Test
+    void testParsesCidrOntoMappedRange() {
+        long[] address = new long[2];
+        assertEquals(104, IpAddressUtils.parseCidr("10.1.2.3/8", address));
+        assertEquals(0x0000_FFFF_0A00_0000L, address[IpAddressUtils.LOW]);
+
+        assertEquals(64, IpAddressUtils.parseCidr("2001:db8:1:2:3:4:5:6/64", address));
+        assertEquals(0x2001_0DB8_0001_0002L, address[IpAddressUtils.HIGH]);
+        assertEquals(0, address[IpAddressUtils.LOW]);
+
+        assertEquals(0, IpAddressUtils.parseCidr("::/0", address));
+        assertEquals(-1, IpAddressUtils.parseCidr("10.0.0.0/33", address));
+        assertEquals(-1, IpAddressUtils.parseCidr("10.0.0.0/", address));
+        assertEquals(-1, IpAddressUtils.parseCidr("10.0.0.0", address));
+    }
+
+    @Test
+    void testMasksAcrossWordBoundary() {
+        long[] address = {-1L, -1L};
+        IpAddressUtils.mask(address, 64);
+        assertArrayEquals(new long[] {-1L, 0}, address);
+
+        address = new long[] {-1L, -1L};
+        IpAddressUtils.mask(address, 65);
+        assertArrayEquals(new long[] {-1L, Long.MIN_VALUE}, address);
+
+        address = new long[] {-1L, -1L};
+        IpAddressUtils.mask(address, 128);
+        assertArrayEquals(new long[] {-1L, -1L}, address);
+    }
+
+    private static void assertSamePacking(String expected, String actual) {
+        long[] expectedAddress = new long[2];
+        long[] actualAddress = new long[2];
+        assertTrue(IpAddressUtils.parse(expected, expectedAddress), expected);
+        assertTrue(IpAddressUtils.parse(actual, actualAddress), actual);
+        assertArrayEquals(expectedAddress, actualAddress, actual);
+    }
+}
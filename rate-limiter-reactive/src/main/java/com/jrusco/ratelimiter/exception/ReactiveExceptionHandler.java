@@ -0,0 +1,54 @@
+package com.jrusco.ratelimiter.exception;
+
+import com.jrusco.ratelimiter.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebFlux exceptions with no servlet counterpart in
+ * {@link GlobalExceptionHandler}, answered in the same body format. Ordered
+ * first so its catch-all does not claim them.
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationExceptions(
+            WebExchangeBindException ex) {
+
+        return GlobalExceptionHandler.validationFailed(GlobalExceptionHandler.fieldErrors(ex.getBindingResult()));
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, Object>> handleResponseStatusException(
+            ResponseStatusException ex) {
+
+        Map<String, Object> response = new HashMap<>();
+        HttpStatusCode status = ex.getStatusCode();
+
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", status.value());
+        response.put("error", ex.getBody().getTitle());
+        response.put("message", ex.getReason() != null ? ex.getReason() : ex.getBody().getTitle());
+
+        logger.warn("{} - msg=[Request rejected], status=[{}], reason=[{}]",
+                Constants.LOG_PREFIX, status.value(), ex.getReason());
+
+        return new ResponseEntity<>(response, status);
+    }
+}
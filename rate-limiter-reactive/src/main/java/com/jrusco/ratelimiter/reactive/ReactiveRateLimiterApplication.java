@@ -0,0 +1,22 @@
+package com.jrusco.ratelimiter.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.jrusco.ratelimiter.config.RateLimiterConfig;
+
+/**
+ * The rate limiter API on Spring WebFlux and Netty. Shares configuration,
+ * validation and engines with the servlet server through the common
+ * {@code com.jrusco.ratelimiter} packages.
+ */
+@SpringBootApplication(scanBasePackages = "com.jrusco.ratelimiter")
+@EnableConfigurationProperties(RateLimiterConfig.class)
+@EnableScheduling
+public class ReactiveRateLimiterApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveRateLimiterApplication.class, args);
+    }
+}
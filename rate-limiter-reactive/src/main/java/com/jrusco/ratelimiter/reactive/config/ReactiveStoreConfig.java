@@ -0,0 +1,24 @@
+package com.jrusco.ratelimiter.reactive.config;
+
+import com.jrusco.ratelimiter.config.RateLimiterConfig;
+import com.jrusco.ratelimiter.enums.RateLimitStoreMode;
+import com.jrusco.ratelimiter.reactive.store.LocalReactiveRateLimitStore;
+import com.jrusco.ratelimiter.reactive.store.ReactiveRateLimitStore;
+import com.jrusco.ratelimiter.reactive.store.RedisReactiveRateLimitStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Store the reactive API takes permits from, following
+ * {@code rate-limiter.store.mode}.
+ */
+@Configuration
+public class ReactiveStoreConfig {
+
+    @Bean
+    public ReactiveRateLimitStore reactiveRateLimitStore(RateLimiterConfig rateLimiterConfig) {
+        return rateLimiterConfig.getStore().getMode() == RateLimitStoreMode.REDIS
+                ? new RedisReactiveRateLimitStore()
+                : new LocalReactiveRateLimitStore();
+    }
+}
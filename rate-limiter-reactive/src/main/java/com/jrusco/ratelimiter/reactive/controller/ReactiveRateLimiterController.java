@@ -0,0 +1,135 @@
+package com.jrusco.ratelimiter.reactive.controller;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.dto.RateLimitCheckRequest;
+import com.jrusco.ratelimiter.dto.RateLimitCheckResponse;
+import com.jrusco.ratelimiter.dto.RateLimitConfigDto;
+import com.jrusco.ratelimiter.reactive.store.ReactiveRateLimitStore;
+import com.jrusco.ratelimiter.service.RateLimiterService;
+import com.jrusco.ratelimiter.util.Constants;
+import com.jrusco.ratelimiter.util.RateLimitHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Valid;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.util.Map;
+
+/**
+ * REST Controller for rate limiting operations on the reactive stack. Same
+ * paths, bodies and headers as the servlet API; permits are taken through a
+ * {@link ReactiveRateLimitStore} so no event loop thread waits on a store.
+ */
+@RestController
+@RequestMapping("/rate_limit")
+@Validated
+public class ReactiveRateLimiterController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRateLimiterController.class);
+
+    @Autowired
+    private RateLimiterService rateLimiterService;
+
+    @Autowired
+    private ReactiveRateLimitStore rateLimitStore;
+
+    @Autowired
+    private Clock clock;
+
+    /**
+     * Check if a request is allowed based on rate limiting rules.
+     */
+    @PostMapping("/check")
+    public Mono<ResponseEntity<RateLimitCheckResponse>> checkRateLimit(
+            @Valid @RequestBody RateLimitCheckRequest request,
+            ServerHttpRequest serverRequest) {
+
+        logger.debug("{} - msg=[Rate limit check requested], request=[{}]",
+                Constants.LOG_PREFIX, request);
+
+        // Extract client IP if not provided
+        if (request.getClientIp() == null || request.getClientIp().isEmpty()) {
+            request.setClientIp(extractClientIp(serverRequest));
+        }
+
+        long keyHash = rateLimiterService.keyHash(request);
+        RateLimitEngine engine = rateLimiterService.resolveEngine();
+        long now = clock.millis();
+
+        return rateLimitStore.tryAcquire(engine, request.getType(), keyHash, now)
+                .map(decision -> {
+                    RateLimitCheckResponse response = rateLimiterService.respond(request, decision, engine, now);
+                    HttpStatus status = response.isAllowed() ? HttpStatus.OK : HttpStatus.TOO_MANY_REQUESTS;
+
+                    logger.info("{} - msg=[Rate limit check completed], identifier=[{}], allowed=[{}]",
+                            Constants.LOG_PREFIX, request.getIdentifier(), response.isAllowed());
+
+                    return ResponseEntity.status(status)
+                            .headers(headers -> RateLimitHeaders.write(headers::set, response))
+                            .body(response);
+                });
+    }
+
+    /**
+     * Get current rate limit configuration.
+     */
+    @GetMapping("/config")
+    public Mono<RateLimitConfigDto> getConfig() {
+
+        logger.debug("{} - msg=[Rate limit configuration requested]", Constants.LOG_PREFIX);
+
+        return Mono.fromSupplier(rateLimiterService::getConfiguration);
+    }
+
+    /**
+     * Update rate limit configuration.
+     */
+    @PostMapping("/config")
+    public Mono<Map<String, String>> updateConfig(
+            @Valid @RequestBody RateLimitConfigDto config) {
+
+        logger.debug("{} - msg=[Rate limit configuration update requested], config=[{}]",
+                Constants.LOG_PREFIX, config);
+
+        rateLimiterService.updateConfiguration(config);
+
+        logger.info("{} - msg=[Rate limit configuration updated], config=[{}]",
+                Constants.LOG_PREFIX, config);
+
+        return Mono.just(Map.of("message", Constants.MSG_CONFIGURATION_UPDATED));
+    }
+
+    /**
+     * Health check endpoint.
+     */
+    @GetMapping("/health")
+    public Mono<Map<String, String>> health() {
+        return Mono.just(Map.of(
+                "status", "UP",
+                "service", "rate-limiter",
+                "timestamp", String.valueOf(System.currentTimeMillis())));
+    }
+
+    /**
+     * Extract client IP from request headers and remote address.
+     */
+    private String extractClientIp(ServerHttpRequest request) {
+        String xForwardedFor = request.getHeaders().getFirst(Constants.HEADER_X_FORWARDED_FOR);
+        String xRealIp = request.getHeaders().getFirst(Constants.HEADER_X_REAL_IP);
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String remoteAddr = remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : null;
+
+        // Use validation utility to extract real IP
+        return rateLimiterService.extractRealClientIp(xForwardedFor, xRealIp, remoteAddr);
+    }
+}
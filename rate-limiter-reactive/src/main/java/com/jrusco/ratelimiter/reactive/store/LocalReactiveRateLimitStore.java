@@ -0,0 +1,18 @@
+package com.jrusco.ratelimiter.reactive.store;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decides on the engine's own in-process store. Engines update state with
+ * lock-free compare-and-set, so the decision runs on the subscribing event
+ * loop thread without a hop to another scheduler.
+ */
+public class LocalReactiveRateLimitStore implements ReactiveRateLimitStore {
+
+    @Override
+    public Mono<Long> tryAcquire(RateLimitEngine engine, RateLimitType type, long keyHash, long now) {
+        return Mono.fromSupplier(() -> engine.tryAcquire(type, keyHash, now));
+    }
+}
@@ -0,0 +1,19 @@
+package com.jrusco.ratelimiter.reactive.store;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import reactor.core.publisher.Mono;
+
+/**
+ * Takes permits without blocking the calling thread. The engine supplies the
+ * algorithm and limits; the store decides where the key's state lives.
+ */
+public interface ReactiveRateLimitStore {
+
+    /**
+     * Take one permit for the key, completing with the packed decision.
+     *
+     * @see com.jrusco.ratelimiter.algorithm.RateLimitDecision
+     */
+    Mono<Long> tryAcquire(RateLimitEngine engine, RateLimitType type, long keyHash, long now);
+}
@@ -0,0 +1,22 @@
+package com.jrusco.ratelimiter.reactive.store;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.redis.RemoteRateLimitEngine;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decides with a single Redis script call per request, or from a local lease
+ * of permits for leased key types. The reply completes the decision on the
+ * Redis client's I/O thread, so no event loop thread waits for the round trip.
+ */
+public class RedisReactiveRateLimitStore implements ReactiveRateLimitStore {
+
+    @Override
+    public Mono<Long> tryAcquire(RateLimitEngine engine, RateLimitType type, long keyHash, long now) {
+        if (!(engine instanceof RemoteRateLimitEngine remoteEngine)) {
+            throw new IllegalStateException("Redis store needs a Redis engine, got: " + engine.getAlgorithm());
+        }
+        return Mono.fromFuture(() -> remoteEngine.tryAcquireAsync(type, keyHash, now));
+    }
+}
@@ -0,0 +1,127 @@
+package com.jrusco.ratelimiter.reactive.integration;
+
+import com.jrusco.ratelimiter.dto.RateLimitCheckRequest;
+import com.jrusco.ratelimiter.dto.RateLimitConfigDto;
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.util.Constants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveRateLimiterIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void testRateLimitCheckEndpoint() {
+        webTestClient.post().uri("/rate_limit/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(checkRequest("user123", RateLimitType.USER_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(Constants.HEADER_RATE_LIMIT_LIMIT)
+                .expectHeader().exists(Constants.HEADER_RATE_LIMIT_REMAINING)
+                .expectHeader().exists(Constants.HEADER_RATE_LIMIT_RESET)
+                .expectBody()
+                .jsonPath("$.allowed").isEqualTo(true)
+                .jsonPath("$.message").exists()
+                .jsonPath("$.rate_limit_limit").exists()
+                .jsonPath("$.rate_limit_remaining").exists()
+                .jsonPath("$.rate_limit_reset").exists();
+    }
+
+    @Test
+    void testRateLimitCheckWithInvalidRequest() {
+        webTestClient.post().uri("/rate_limit/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RateLimitCheckRequest())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.errors").exists();
+    }
+
+    @Test
+    void testRateLimitCheckDeniesWhenLimitExhausted() {
+        RateLimitCheckRequest request = checkRequest("burst-user", RateLimitType.USER_ID);
+
+        // Requests cross the network here, so the per-second tier may refill;
+        // the per-minute tier of 100 still denies within 101 requests
+        int status = HttpStatus.OK.value();
+        for (int i = 0; i <= 100 && status == HttpStatus.OK.value(); i++) {
+            status = webTestClient.post().uri("/rate_limit/check")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .returnResult(Void.class)
+                    .getStatus()
+                    .value();
+        }
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), status);
+
+        webTestClient.post().uri("/rate_limit/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().exists(Constants.HEADER_RETRY_AFTER)
+                .expectBody()
+                .jsonPath("$.allowed").isEqualTo(false)
+                .jsonPath("$.retry_after").exists();
+    }
+
+    @Test
+    void testGetConfigEndpoint() {
+        webTestClient.get().uri("/rate_limit/config")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.algorithm").exists()
+                .jsonPath("$.requestsPerMinute").exists()
+                .jsonPath("$.burstSize").exists()
+                .jsonPath("$.enabled").exists();
+    }
+
+    @Test
+    void testUpdateConfigEndpoint() {
+        RateLimitConfigDto config = new RateLimitConfigDto();
+        config.setAlgorithm(RateLimitAlgorithm.TOKEN_BUCKET);
+        config.setRequestsPerMinute(200);
+        config.setBurstSize(20);
+        config.setEnabled(true);
+
+        webTestClient.post().uri("/rate_limit/config")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(config)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(Constants.MSG_CONFIGURATION_UPDATED);
+    }
+
+    @Test
+    void testHealthEndpoint() {
+        webTestClient.get().uri("/rate_limit/health")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("UP")
+                .jsonPath("$.service").isEqualTo("rate-limiter");
+    }
+
+    private static RateLimitCheckRequest checkRequest(String identifier, RateLimitType type) {
+        RateLimitCheckRequest request = new RateLimitCheckRequest();
+        request.setIdentifier(identifier);
+        request.setType(type);
+        return request;
+    }
+}
@@ -3,11 +3,13 @@ package com.jrusco.ratelimiter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.jrusco.ratelimiter.config.RateLimiterConfig;
 
 @SpringBootApplication
 @EnableConfigurationProperties(RateLimiterConfig.class)
+@EnableScheduling
 public class RateLimiterApplication {
     public static void main(String[] args) {
         SpringApplication.run(RateLimiterApplication.class, args);
@@ -0,0 +1,27 @@
+package com.jrusco.ratelimiter.config;
+
+import com.jrusco.ratelimiter.filter.RateLimitFilter;
+import com.jrusco.ratelimiter.service.RateLimiterService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers {@link RateLimitFilter} when {@code rate-limiter.filter.enabled}
+ * is set, so the limits apply to this application's own endpoints.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "rate-limiter.filter", name = "enabled", havingValue = "true")
+public class RateLimitFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiterService rateLimiterService,
+            RateLimiterConfig rateLimiterConfig) {
+        RateLimiterConfig.Filter filterConfig = rateLimiterConfig.getFilter();
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimiterService, filterConfig));
+        registration.setUrlPatterns(filterConfig.getUrlPatterns());
+        return registration;
+    }
+}
@@ -0,0 +1,40 @@
+package com.jrusco.ratelimiter.config;
+
+import com.jrusco.ratelimiter.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Threads for request handling.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} on Java 21 or later,
+ * Spring Boot runs Tomcat requests on virtual threads, so a request waiting on
+ * a {@code REDIS} store round trip parks instead of holding a platform thread.
+ * On older runtimes the switch is ignored, so it is reported at startup.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    @Autowired
+    private Environment environment;
+
+    @PostConstruct
+    void logThreading() {
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+        if (!virtual && environment.getProperty(VIRTUAL_THREADS_PROPERTY, Boolean.class, false)) {
+            logger.warn("{} - msg=[Virtual threads need Java 21, using platform threads], javaVersion=[{}]",
+                    Constants.LOG_PREFIX, Runtime.version().feature());
+        }
+        logger.info("{} - msg=[Request threading selected], virtual=[{}]", Constants.LOG_PREFIX, virtual);
+    }
+}
@@ -2,9 +2,11 @@ package com.jrusco.ratelimiter.controller;
 
 import com.jrusco.ratelimiter.dto.RateLimitCheckRequest;
 import com.jrusco.ratelimiter.dto.RateLimitCheckResponse;
+import com.jrusco.ratelimiter.dto.RateLimitCompoundCheckRequest;
 import com.jrusco.ratelimiter.dto.RateLimitConfigDto;
 import com.jrusco.ratelimiter.service.RateLimiterService;
 import com.jrusco.ratelimiter.util.Constants;
+import com.jrusco.ratelimiter.util.RateLimitHeaders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +16,9 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -36,7 +40,8 @@ public class RateLimiterController {
     @PostMapping("/check")
     public ResponseEntity<RateLimitCheckResponse> checkRateLimit(
             @Valid @RequestBody RateLimitCheckRequest request,
-            HttpServletRequest servletRequest) {
+            HttpServletRequest servletRequest,
+            HttpServletResponse servletResponse) {
 
         logger.debug("{} - msg=[Rate limit check requested], request=[{}]",
                 Constants.LOG_PREFIX, request);
@@ -51,6 +56,7 @@ public class RateLimiterController {
         RateLimitCheckResponse response = rateLimiterService.checkRateLimit(request);
 
         // Set response headers
+        RateLimitHeaders.write(servletResponse::setHeader, response);
         HttpStatus status = response.isAllowed() ? HttpStatus.OK : HttpStatus.TOO_MANY_REQUESTS;
 
         logger.info("{} - msg=[Rate limit check completed], identifier=[{}], allowed=[{}]",
@@ -59,6 +65,71 @@ public class RateLimiterController {
         return new ResponseEntity<>(response, status);
     }
 
+    /**
+     * Check several keys for one inbound request. Responds 429 if any check
+     * was denied; with {@code all_or_nothing} no permit is consumed unless
+     * every check passes.
+     */
+    @PostMapping("/check/batch")
+    public ResponseEntity<List<RateLimitCheckResponse>> checkRateLimits(
+            @RequestBody List<@Valid RateLimitCheckRequest> requests,
+            @RequestParam(name = "all_or_nothing", defaultValue = "false") boolean allOrNothing,
+            HttpServletRequest servletRequest) {
+
+        logger.debug("{} - msg=[Rate limit batch check requested], size=[{}], allOrNothing=[{}]",
+                Constants.LOG_PREFIX, requests.size(), allOrNothing);
+
+        // Extract client IP once for every check that does not provide one
+        String clientIp = null;
+        for (RateLimitCheckRequest request : requests) {
+            if (request.getClientIp() == null || request.getClientIp().isEmpty()) {
+                if (clientIp == null) {
+                    clientIp = extractClientIp(servletRequest);
+                }
+                request.setClientIp(clientIp);
+            }
+        }
+
+        List<RateLimitCheckResponse> responses = rateLimiterService.checkRateLimits(requests, allOrNothing);
+
+        boolean allowed = responses.stream().allMatch(RateLimitCheckResponse::isAllowed);
+        HttpStatus status = allowed ? HttpStatus.OK : HttpStatus.TOO_MANY_REQUESTS;
+
+        logger.info("{} - msg=[Rate limit batch check completed], size=[{}], allowed=[{}]",
+                Constants.LOG_PREFIX, requests.size(), allowed);
+
+        return new ResponseEntity<>(responses, status);
+    }
+
+    /**
+     * Check one caller against several dimensions at once, consuming from all
+     * of them only if all allow.
+     */
+    @PostMapping("/check/compound")
+    public ResponseEntity<RateLimitCheckResponse> checkCompoundRateLimit(
+            @Valid @RequestBody RateLimitCompoundCheckRequest request,
+            HttpServletRequest servletRequest,
+            HttpServletResponse servletResponse) {
+
+        logger.debug("{} - msg=[Compound rate limit check requested], request=[{}]",
+                Constants.LOG_PREFIX, request);
+
+        // Extract client IP if not provided
+        if (request.getClientIp() == null || request.getClientIp().isEmpty()) {
+            request.setClientIp(extractClientIp(servletRequest));
+        }
+
+        RateLimitCheckResponse response = rateLimiterService.checkCompoundRateLimit(request);
+
+        RateLimitHeaders.write(servletResponse::setHeader, response);
+        HttpStatus status = response.isAllowed() ? HttpStatus.OK : HttpStatus.TOO_MANY_REQUESTS;
+
+        logger.info("{} - msg=[Compound rate limit check completed], identifier=[{}], allowed=[{}], dimension=[{}]",
+                Constants.LOG_PREFIX, request.getIdentifier(), response.isAllowed(), response.getRateLimitDimension());
+
+        return new ResponseEntity<>(response, status);
+    }
+
     /**
      * Get current rate limit configuration.
      */
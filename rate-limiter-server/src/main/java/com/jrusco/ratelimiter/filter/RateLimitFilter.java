@@ -0,0 +1,145 @@
+package com.jrusco.ratelimiter.filter;
+
+import com.jrusco.ratelimiter.config.RateLimiterConfig;
+import com.jrusco.ratelimiter.dto.RateLimitCheckRequest;
+import com.jrusco.ratelimiter.dto.RateLimitCheckResponse;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.service.RateLimiterService;
+import com.jrusco.ratelimiter.util.Constants;
+import com.jrusco.ratelimiter.util.RateLimitHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+
+/**
+ * Enforces rate limits in-process on the requests of the application it is
+ * embedded in, without a round trip to the check API.
+ *
+ * <p>Each request is counted under a key derived from the request itself:
+ * the client IP, the {@code X-API-Key} header, the authenticated user or the
+ * request path. Allowed requests carry the {@code X-RateLimit-*} headers on
+ * to the handler; denied requests are answered here with 429, a
+ * {@code Retry-After} header and the same JSON body as the check API.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimiterService rateLimiterService;
+    private final RateLimiterConfig.Filter filterConfig;
+
+    public RateLimitFilter(RateLimiterService rateLimiterService, RateLimiterConfig.Filter filterConfig) {
+        this.rateLimiterService = rateLimiterService;
+        this.filterConfig = filterConfig;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = requestPath(request);
+        for (String excluded : filterConfig.getExcludedPaths()) {
+            if (path.startsWith(excluded)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        RateLimitCheckResponse decision = check(request);
+        if (decision == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitHeaders.write(response::setHeader, decision);
+        if (decision.isAllowed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(decision.toString());
+    }
+
+    /**
+     * Counts the request under its configured key. A missing or malformed
+     * API key or user falls back to the client IP, so a caller cannot dodge
+     * its limit by sending garbage; a request with no usable key at all is
+     * let through unlimited.
+     */
+    private RateLimitCheckResponse check(HttpServletRequest request) {
+        RateLimitType type = filterConfig.getKeyType();
+        String identifier = resolveIdentifier(request, type);
+        if (identifier != null) {
+            try {
+                return rateLimiterService.checkRateLimit(new RateLimitCheckRequest(identifier, type));
+            } catch (IllegalArgumentException e) {
+                if (type == RateLimitType.CLIENT_IP) {
+                    return skip(request, e);
+                }
+                logger.debug("{} - msg=[Invalid filter key, falling back to client IP], type=[{}], error=[{}]",
+                        Constants.LOG_PREFIX, type, e.getMessage());
+            }
+        }
+
+        try {
+            return rateLimiterService.checkRateLimit(
+                    new RateLimitCheckRequest(clientIp(request), RateLimitType.CLIENT_IP));
+        } catch (IllegalArgumentException e) {
+            return skip(request, e);
+        }
+    }
+
+    private String resolveIdentifier(HttpServletRequest request, RateLimitType type) {
+        switch (type) {
+            case CLIENT_IP:
+                return clientIp(request);
+            case API_KEY:
+                return request.getHeader(Constants.HEADER_API_KEY);
+            case USER_ID:
+                Principal principal = request.getUserPrincipal();
+                return principal != null ? principal.getName() : null;
+            case ENDPOINT:
+                return requestPath(request);
+            case GLOBAL:
+                return Constants.GLOBAL_IDENTIFIER;
+            default:
+                return null;
+        }
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        return rateLimiterService.extractRealClientIp(request.getHeader(Constants.HEADER_X_FORWARDED_FOR),
+                request.getHeader(Constants.HEADER_X_REAL_IP), request.getRemoteAddr());
+    }
+
+    private RateLimitCheckResponse skip(HttpServletRequest request, IllegalArgumentException e) {
+        logger.debug("{} - msg=[No rate limit key for request, not limited], path=[{}], error=[{}]",
+                Constants.LOG_PREFIX, request.getRequestURI(), e.getMessage());
+        return null;
+    }
+
+    /**
+     * The request path below the context path.
+     */
+    private static String requestPath(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return contextPath != null && uri.startsWith(contextPath) ? uri.substring(contextPath.length()) : uri;
+    }
+}
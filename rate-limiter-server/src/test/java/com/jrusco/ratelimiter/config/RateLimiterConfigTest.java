@@ -1,11 +1,16 @@
 package com.jrusco.ratelimiter.config;
 
 import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.EnumSet;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -42,6 +47,18 @@ class RateLimiterConfigTest {
         assertEquals(RateLimitAlgorithm.FIXED_WINDOW, algorithms.getDefaultAlgorithm());
     }
 
+    @Test
+    void testOnlyGlobalKeysCanBeStriped() {
+        RateLimiterConfig.Algorithms algorithms = new RateLimiterConfig.Algorithms();
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            assertTrue(factory.getValidator().validate(algorithms).isEmpty());
+
+            algorithms.setStripedTypes(EnumSet.of(RateLimitType.GLOBAL, RateLimitType.USER_ID));
+            assertEquals("Only the GLOBAL key type can be striped",
+                    factory.getValidator().validate(algorithms).iterator().next().getMessage());
+        }
+    }
+
     @Test
     void testSecurityConfiguration() {
         RateLimiterConfig.Security security = rateLimiterConfig.getSecurity();
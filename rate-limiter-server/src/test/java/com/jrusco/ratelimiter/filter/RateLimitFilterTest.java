@@ -0,0 +1,149 @@
+package com.jrusco.ratelimiter.filter;
+
+import com.jrusco.ratelimiter.config.RateLimiterConfig;
+import com.jrusco.ratelimiter.dto.RateLimitCheckRequest;
+import com.jrusco.ratelimiter.dto.RateLimitCheckResponse;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.service.RateLimiterService;
+import com.jrusco.ratelimiter.util.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private RateLimiterService rateLimiterService;
+
+    private RateLimiterConfig.Filter filterConfig;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filterConfig = new RateLimiterConfig.Filter();
+        filter = new RateLimitFilter(rateLimiterService, filterConfig);
+    }
+
+    @Test
+    void testAllowedRequestReachesHandlerWithHeaders() throws Exception {
+        when(rateLimiterService.extractRealClientIp(null, null, "203.0.113.7")).thenReturn("203.0.113.7");
+        when(rateLimiterService.checkRateLimit(any())).thenReturn(decision(true, 9, null));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/orders"), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals("10", response.getHeader(Constants.HEADER_RATE_LIMIT_LIMIT));
+        assertEquals("9", response.getHeader(Constants.HEADER_RATE_LIMIT_REMAINING));
+        assertEquals("1700000001", response.getHeader(Constants.HEADER_RATE_LIMIT_RESET));
+        assertNull(response.getHeader(Constants.HEADER_RETRY_AFTER));
+
+        ArgumentCaptor<RateLimitCheckRequest> checked = ArgumentCaptor.forClass(RateLimitCheckRequest.class);
+        verify(rateLimiterService).checkRateLimit(checked.capture());
+        assertEquals(RateLimitType.CLIENT_IP, checked.getValue().getType());
+        assertEquals("203.0.113.7", checked.getValue().getIdentifier());
+    }
+
+    @Test
+    void testDeniedRequestIsAnsweredWith429() throws Exception {
+        when(rateLimiterService.extractRealClientIp(null, null, "203.0.113.7")).thenReturn("203.0.113.7");
+        when(rateLimiterService.checkRateLimit(any())).thenReturn(decision(false, 0, 3L));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/orders"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("3", response.getHeader(Constants.HEADER_RETRY_AFTER));
+        assertEquals("0", response.getHeader(Constants.HEADER_RATE_LIMIT_REMAINING));
+        assertTrue(response.getContentType().startsWith("application/json"));
+        assertTrue(response.getContentAsString().contains("\"allowed\":false"));
+    }
+
+    @Test
+    void testKeysByApiKeyHeader() throws Exception {
+        filterConfig.setKeyType(RateLimitType.API_KEY);
+        when(rateLimiterService.checkRateLimit(any())).thenReturn(decision(true, 9, null));
+
+        MockHttpServletRequest request = request("/orders");
+        request.addHeader(Constants.HEADER_API_KEY, "key-123");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(rateLimiterService).checkRateLimit(argThat(checked ->
+                checked.getType() == RateLimitType.API_KEY && "key-123".equals(checked.getIdentifier())));
+    }
+
+    @Test
+    void testInvalidApiKeyFallsBackToClientIp() throws Exception {
+        filterConfig.setKeyType(RateLimitType.API_KEY);
+        when(rateLimiterService.extractRealClientIp(null, null, "203.0.113.7")).thenReturn("203.0.113.7");
+        when(rateLimiterService.checkRateLimit(any())).thenAnswer(invocation -> {
+            RateLimitCheckRequest checked = invocation.getArgument(0);
+            if (checked.getType() == RateLimitType.API_KEY) {
+                throw new IllegalArgumentException("Invalid API key format");
+            }
+            return decision(false, 0, 1L);
+        });
+
+        MockHttpServletRequest request = request("/orders");
+        request.addHeader(Constants.HEADER_API_KEY, "bad key!");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        verify(rateLimiterService).checkRateLimit(argThat(checked ->
+                checked.getType() == RateLimitType.CLIENT_IP && "203.0.113.7".equals(checked.getIdentifier())));
+    }
+
+    @Test
+    void testKeysByPathBelowContextPath() throws Exception {
+        filterConfig.setKeyType(RateLimitType.ENDPOINT);
+        when(rateLimiterService.checkRateLimit(any())).thenReturn(decision(true, 9, null));
+
+        filter.doFilter(request("/orders"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(rateLimiterService).checkRateLimit(argThat(checked ->
+                checked.getType() == RateLimitType.ENDPOINT && "/orders".equals(checked.getIdentifier())));
+    }
+
+    @Test
+    void testExcludedPathsAreNotLimited() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/rate_limit/check"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        verifyNoInteractions(rateLimiterService);
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1" + path);
+        request.setContextPath("/api/v1");
+        request.setRemoteAddr("203.0.113.7");
+        return request;
+    }
+
+    private static RateLimitCheckResponse decision(boolean allowed, long remaining, Long retryAfter) {
+        RateLimitCheckResponse response = new RateLimitCheckResponse(allowed,
+                allowed ? Constants.MSG_REQUEST_ALLOWED : Constants.MSG_RATE_LIMIT_EXCEEDED);
+        response.setRateLimitLimit(10L);
+        response.setRateLimitRemaining(remaining);
+        response.setRateLimitReset(1_700_000_000_500L);
+        response.setRetryAfter(retryAfter);
+        return response;
+    }
+}
@@ -0,0 +1,374 @@
+package com.jrusco.ratelimiter.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jrusco.ratelimiter.dto.RateLimitCheckRequest;
+import com.jrusco.ratelimiter.dto.RateLimitCompoundCheckRequest;
+import com.jrusco.ratelimiter.dto.RateLimitConfigDto;
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.util.Constants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureWebMvc
+class RateLimiterIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @Test
+    void testRateLimitCheckEndpoint() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        RateLimitCheckRequest request = new RateLimitCheckRequest();
+        request.setIdentifier("user123");
+        request.setType(RateLimitType.USER_ID);
+
+        String requestJson = objectMapper.writeValueAsString(request);
+
+        mockMvc.perform(post("/api/v1/rate_limit/check")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allowed").value(true))
+                .andExpect(jsonPath("$.message").exists())
+                .andExpect(jsonPath("$.rate_limit_limit").exists())
+                .andExpect(jsonPath("$.rate_limit_remaining").exists())
+                .andExpect(jsonPath("$.rate_limit_reset").exists())
+                .andExpect(header().exists(Constants.HEADER_RATE_LIMIT_LIMIT))
+                .andExpect(header().exists(Constants.HEADER_RATE_LIMIT_REMAINING))
+                .andExpect(header().exists(Constants.HEADER_RATE_LIMIT_RESET));
+    }
+
+    @Test
+    void testRateLimitCheckValidationError() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        RateLimitCheckRequest request = new RateLimitCheckRequest();
+        // Missing required fields
+
+        String requestJson = objectMapper.writeValueAsString(request);
+
+        mockMvc.perform(post("/api/v1/rate_limit/check")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors").exists());
+    }
+
+    @Test
+    void testRateLimitCheckDeniesWhenBurstExhausted() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        RateLimitCheckRequest request = new RateLimitCheckRequest();
+        request.setIdentifier("burst-user");
+        request.setType(RateLimitType.USER_ID);
+
+        String requestJson = objectMapper.writeValueAsString(request);
+
+        for (int i = 0; i < Constants.DEFAULT_BURST_SIZE; i++) {
+            mockMvc.perform(post("/api/v1/rate_limit/check")
+                    .contextPath("/api/v1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(requestJson))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(post("/api/v1/rate_limit/check")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.allowed").value(false))
+                .andExpect(jsonPath("$.rate_limit_remaining").value(0))
+                .andExpect(jsonPath("$.retry_after").exists());
+    }
+
+    @Test
+    void testBatchCheckEndpoint() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        String requestJson = objectMapper.writeValueAsString(List.of(
+                checkRequest("batch-user", RateLimitType.USER_ID),
+                checkRequest("192.168.1.10", RateLimitType.CLIENT_IP)));
+
+        mockMvc.perform(post("/api/v1/rate_limit/check/batch")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].allowed").value(true))
+                .andExpect(jsonPath("$[1].allowed").value(true))
+                .andExpect(jsonPath("$[1].rate_limit_remaining").value(Constants.DEFAULT_BURST_SIZE - 1));
+    }
+
+    @Test
+    void testBatchCheckAllOrNothingConsumesNothingWhenDenied() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        String exhaustJson = objectMapper.writeValueAsString(checkRequest("batch-exhausted", RateLimitType.USER_ID));
+        for (int i = 0; i < Constants.DEFAULT_BURST_SIZE; i++) {
+            mockMvc.perform(post("/api/v1/rate_limit/check")
+                    .contextPath("/api/v1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(exhaustJson))
+                    .andExpect(status().isOk());
+        }
+
+        String batchJson = objectMapper.writeValueAsString(List.of(
+                checkRequest("batch-fresh", RateLimitType.USER_ID),
+                checkRequest("batch-exhausted", RateLimitType.USER_ID),
+                checkRequest("batch-skipped", RateLimitType.USER_ID)));
+
+        mockMvc.perform(post("/api/v1/rate_limit/check/batch")
+                .contextPath("/api/v1")
+                .param("all_or_nothing", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batchJson))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$[0].allowed").value(false))
+                .andExpect(jsonPath("$[0].message").value(Constants.MSG_BATCH_REJECTED))
+                .andExpect(jsonPath("$[0].rate_limit_remaining").value(Constants.DEFAULT_BURST_SIZE))
+                .andExpect(jsonPath("$[1].allowed").value(false))
+                .andExpect(jsonPath("$[1].retry_after").exists())
+                .andExpect(jsonPath("$[2].message").value(Constants.MSG_BATCH_REJECTED));
+
+        // The rolled back permit is available again
+        mockMvc.perform(post("/api/v1/rate_limit/check")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(checkRequest("batch-fresh", RateLimitType.USER_ID))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rate_limit_remaining").value(Constants.DEFAULT_BURST_SIZE - 1));
+    }
+
+    @Test
+    void testBatchCheckValidationError() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        String requestJson = objectMapper.writeValueAsString(List.of(
+                checkRequest("batch-valid", RateLimitType.USER_ID),
+                new RateLimitCheckRequest()));
+
+        mockMvc.perform(post("/api/v1/rate_limit/check/batch")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors").exists());
+
+        mockMvc.perform(post("/api/v1/rate_limit/check/batch")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCompoundCheckReportsMostRestrictiveDimension() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        String userJson = objectMapper.writeValueAsString(checkRequest("compound-user", RateLimitType.USER_ID));
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/v1/rate_limit/check")
+                    .contextPath("/api/v1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(userJson))
+                    .andExpect(status().isOk());
+        }
+
+        RateLimitCompoundCheckRequest request = new RateLimitCompoundCheckRequest("compound-user", RateLimitType.USER_ID,
+                List.of(RateLimitType.GLOBAL, RateLimitType.CLIENT_IP, RateLimitType.USER_ID));
+        request.setClientIp("10.1.0.1");
+
+        mockMvc.perform(post("/api/v1/rate_limit/check/compound")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allowed").value(true))
+                .andExpect(jsonPath("$.rate_limit_dimension").value("USER_ID"))
+                .andExpect(jsonPath("$.rate_limit_remaining").value(Constants.DEFAULT_BURST_SIZE - 4));
+    }
+
+    @Test
+    void testCompoundCheckConsumesNothingWhenOneDimensionDenies() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        String ipJson = objectMapper.writeValueAsString(checkRequest("10.1.0.2", RateLimitType.CLIENT_IP));
+        for (int i = 0; i < Constants.DEFAULT_BURST_SIZE; i++) {
+            mockMvc.perform(post("/api/v1/rate_limit/check")
+                    .contextPath("/api/v1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(ipJson))
+                    .andExpect(status().isOk());
+        }
+
+        RateLimitCompoundCheckRequest request = new RateLimitCompoundCheckRequest("compound-fresh", RateLimitType.USER_ID,
+                List.of(RateLimitType.USER_ID, RateLimitType.CLIENT_IP));
+        request.setClientIp("10.1.0.2");
+
+        mockMvc.perform(post("/api/v1/rate_limit/check/compound")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.allowed").value(false))
+                .andExpect(jsonPath("$.rate_limit_dimension").value("CLIENT_IP"))
+                .andExpect(jsonPath("$.retry_after").exists());
+
+        // The user's permit was given back when the IP denied
+        mockMvc.perform(post("/api/v1/rate_limit/check")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(checkRequest("compound-fresh", RateLimitType.USER_ID))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rate_limit_remaining").value(Constants.DEFAULT_BURST_SIZE - 1));
+    }
+
+    @Test
+    void testCompoundCheckTakesExplicitIdentifiers() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        RateLimitCompoundCheckRequest request = new RateLimitCompoundCheckRequest("10.1.0.3", RateLimitType.CLIENT_IP,
+                List.of(RateLimitType.CLIENT_IP, RateLimitType.USER_ID));
+        request.setIdentifiers(Map.of(RateLimitType.USER_ID, "compound-secondary"));
+
+        mockMvc.perform(post("/api/v1/rate_limit/check/compound")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allowed").value(true));
+
+        // The secondary USER_ID dimension consumed from the user's own key
+        mockMvc.perform(post("/api/v1/rate_limit/check")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(checkRequest("compound-secondary", RateLimitType.USER_ID))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rate_limit_remaining").value(Constants.DEFAULT_BURST_SIZE - 2));
+    }
+
+    @Test
+    void testCompoundCheckWithoutDimensionIdentifierIsRejected() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        RateLimitCompoundCheckRequest request = new RateLimitCompoundCheckRequest("10.1.0.4", RateLimitType.CLIENT_IP,
+                List.of(RateLimitType.CLIENT_IP, RateLimitType.USER_ID));
+
+        mockMvc.perform(post("/api/v1/rate_limit/check/compound")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.field").value("identifiers"));
+    }
+
+    @Test
+    void testCompoundCheckValidationError() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        RateLimitCompoundCheckRequest request = new RateLimitCompoundCheckRequest("compound-user", RateLimitType.USER_ID,
+                List.of());
+
+        mockMvc.perform(post("/api/v1/rate_limit/check/compound")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.dimensions").exists());
+    }
+
+    @Test
+    void testGetConfigurationEndpoint() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        mockMvc.perform(get("/api/v1/rate_limit/config")
+                .contextPath("/api/v1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.algorithm").exists())
+                .andExpect(jsonPath("$.requestsPerMinute").exists())
+                .andExpect(jsonPath("$.burstSize").exists())
+                .andExpect(jsonPath("$.enabled").exists());
+    }
+
+    @Test
+    void testUpdateConfigurationEndpoint() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        RateLimitConfigDto config = new RateLimitConfigDto();
+        config.setAlgorithm(RateLimitAlgorithm.TOKEN_BUCKET);
+        config.setRequestsPerMinute(150);
+        config.setBurstSize(15);
+        config.setEnabled(true);
+
+        String configJson = objectMapper.writeValueAsString(config);
+
+        mockMvc.perform(post("/api/v1/rate_limit/config")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(configJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    void testUpdateConfigurationValidationError() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        RateLimitConfigDto config = new RateLimitConfigDto();
+        // Missing required fields and invalid values
+        config.setRequestsPerMinute(-1);
+        config.setBurstSize(0);
+
+        String configJson = objectMapper.writeValueAsString(config);
+
+        mockMvc.perform(post("/api/v1/rate_limit/config")
+                .contextPath("/api/v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(configJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors").exists());
+    }
+
+    @Test
+    void testHealthEndpoint() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        mockMvc.perform(get("/api/v1/rate_limit/health")
+                .contextPath("/api/v1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.service").value("rate-limiter"))
+                .andExpect(jsonPath("$.timestamp").exists());
+    }
+
+    private static RateLimitCheckRequest checkRequest(String identifier, RateLimitType type) {
+        RateLimitCheckRequest request = new RateLimitCheckRequest();
+        request.setIdentifier(identifier);
+        request.setType(type);
+        return request;
+    }
+}
@@ -0,0 +1,244 @@
+package com.jrusco.ratelimiter.config;
+
+import com.jrusco.ratelimiter.algorithm.FixedWindowEngine;
+import com.jrusco.ratelimiter.algorithm.GcraEngine;
+import com.jrusco.ratelimiter.algorithm.MultiTierEngine;
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.algorithm.SlidingWindowCounterEngine;
+import com.jrusco.ratelimiter.algorithm.SlidingWindowEngine;
+import com.jrusco.ratelimiter.algorithm.TokenBucketEngine;
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitStoreMode;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.DeniedKeyCache;
+import com.jrusco.ratelimiter.store.IdleKeyReaper;
+import com.jrusco.ratelimiter.store.InMemoryRateLimitStore;
+import com.jrusco.ratelimiter.store.OffHeapRateLimitStore;
+import com.jrusco.ratelimiter.store.RateLimitStore;
+import com.jrusco.ratelimiter.store.redis.DeniedKeyCachingEngine;
+import com.jrusco.ratelimiter.store.redis.LeasingRateLimitEngine;
+import com.jrusco.ratelimiter.store.redis.RedisRateLimitEngine;
+import com.jrusco.ratelimiter.store.redis.RedisScriptStore;
+import com.jrusco.ratelimiter.store.redis.RemoteRateLimitEngine;
+import com.jrusco.ratelimiter.store.redis.SyncingRateLimitEngine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wires the rate limiting engines. Engines are plain classes so they can be
+ * used without Spring; this class only feeds them the configured limits and
+ * gives each one its own store. Idle keys of every store are freed by the
+ * {@link IdleKeyReaper}, and store occupancy is published as
+ * {@code rate_limiter.store.*} gauges tagged with the algorithm. In REDIS
+ * mode each engine is replaced by a {@link RedisRateLimitEngine} of the same
+ * algorithm and limits, and nothing is stored in-process; key types given a
+ * lease fraction are served through a {@link LeasingRateLimitEngine}, types
+ * given a sync fraction are counted locally by a {@link SyncingRateLimitEngine},
+ * and denials are cached by a {@link DeniedKeyCachingEngine}.
+ */
+@Configuration
+public class RateLimitEngineConfig {
+
+    // Only the GLOBAL key is striped, so the striped store never fills or needs expiry
+    private static final long STRIPED_KEY_CAPACITY = 64;
+
+    @Bean
+    public Clock rateLimiterClock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    public IdleKeyReaper idleKeyReaper(Clock rateLimiterClock, RateLimiterConfig rateLimiterConfig) {
+        return new IdleKeyReaper(rateLimiterClock, rateLimiterConfig.getStore().getExpiryTickMillis());
+    }
+
+    @Bean
+    public RateLimitEngine tokenBucketEngine(RateLimiterConfig rateLimiterConfig, MeterRegistry meterRegistry,
+            IdleKeyReaper idleKeyReaper, ObjectProvider<RedisScriptStore> redisScriptStore) {
+        RateLimiterConfig.DefaultLimits limits = rateLimiterConfig.getDefaultLimits();
+        RedisScriptStore remote = redisScriptStore.getIfAvailable();
+        if (remote != null) {
+            return remoteEngine(RedisRateLimitEngine.tokenBucket(limits.getBurstSize(), limits.getRequestsPerMinute(),
+                    remote), rateLimiterConfig, meterRegistry);
+        }
+        RateLimitStore store = createStore(rateLimiterConfig, meterRegistry, RateLimitAlgorithm.TOKEN_BUCKET,
+                TokenBucketEngine.RECORD_WORDS);
+        return expireIdleKeys(new TokenBucketEngine(limits.getBurstSize(), limits.getRequestsPerMinute(), store),
+                store, idleKeyReaper);
+    }
+
+    @Bean
+    public RateLimitEngine fixedWindowEngine(RateLimiterConfig rateLimiterConfig, MeterRegistry meterRegistry,
+            IdleKeyReaper idleKeyReaper, ObjectProvider<RedisScriptStore> redisScriptStore) {
+        RedisScriptStore remote = redisScriptStore.getIfAvailable();
+        if (remote != null) {
+            int limit = rateLimiterConfig.getDefaultLimits().getRequestsPerMinute();
+            return remoteEngine(RedisRateLimitEngine.fixedWindow(limit, remote), rateLimiterConfig, meterRegistry);
+        }
+        int stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+        // Striped keys are few, so their records always stay on the heap
+        RateLimitStore stripedStore = new InMemoryRateLimitStore(STRIPED_KEY_CAPACITY,
+                FixedWindowEngine.stripedRecordWords(stripes));
+        RateLimitStore store = createStore(rateLimiterConfig, meterRegistry, RateLimitAlgorithm.FIXED_WINDOW,
+                FixedWindowEngine.RECORD_WORDS);
+        return expireIdleKeys(new FixedWindowEngine(rateLimiterConfig.getDefaultLimits().getRequestsPerMinute(),
+                stripes, rateLimiterConfig.getAlgorithms().getStripedTypes(), store, stripedStore),
+                store, idleKeyReaper);
+    }
+
+    @Bean
+    public RateLimitEngine slidingWindowEngine(RateLimiterConfig rateLimiterConfig, MeterRegistry meterRegistry,
+            IdleKeyReaper idleKeyReaper, ObjectProvider<RedisScriptStore> redisScriptStore) {
+        int limit = rateLimiterConfig.getDefaultLimits().getRequestsPerMinute();
+        RedisScriptStore remote = redisScriptStore.getIfAvailable();
+        if (remote != null) {
+            return remoteEngine(RedisRateLimitEngine.slidingWindow(limit, remote), rateLimiterConfig,
+                    meterRegistry);
+        }
+        RateLimitStore store = createStore(rateLimiterConfig, meterRegistry, RateLimitAlgorithm.SLIDING_WINDOW,
+                SlidingWindowEngine.recordWords(limit));
+        return expireIdleKeys(new SlidingWindowEngine(limit, store), store, idleKeyReaper);
+    }
+
+    @Bean
+    public RateLimitEngine slidingWindowCounterEngine(RateLimiterConfig rateLimiterConfig, MeterRegistry meterRegistry,
+            IdleKeyReaper idleKeyReaper, ObjectProvider<RedisScriptStore> redisScriptStore) {
+        RedisScriptStore remote = redisScriptStore.getIfAvailable();
+        if (remote != null) {
+            int limit = rateLimiterConfig.getDefaultLimits().getRequestsPerMinute();
+            return remoteEngine(RedisRateLimitEngine.slidingWindowCounter(limit, remote), rateLimiterConfig,
+                    meterRegistry);
+        }
+        RateLimitStore store = createStore(rateLimiterConfig, meterRegistry, RateLimitAlgorithm.SLIDING_WINDOW_COUNTER,
+                SlidingWindowCounterEngine.RECORD_WORDS);
+        return expireIdleKeys(new SlidingWindowCounterEngine(rateLimiterConfig.getDefaultLimits().getRequestsPerMinute(),
+                store), store, idleKeyReaper);
+    }
+
+    @Bean
+    public RateLimitEngine gcraEngine(RateLimiterConfig rateLimiterConfig, MeterRegistry meterRegistry,
+            IdleKeyReaper idleKeyReaper, ObjectProvider<RedisScriptStore> redisScriptStore) {
+        RateLimiterConfig.DefaultLimits limits = rateLimiterConfig.getDefaultLimits();
+        RedisScriptStore remote = redisScriptStore.getIfAvailable();
+        if (remote != null) {
+            return remoteEngine(RedisRateLimitEngine.gcra(limits.getBurstSize(), limits.getRequestsPerMinute(), remote),
+                    rateLimiterConfig, meterRegistry);
+        }
+        RateLimitStore store = createStore(rateLimiterConfig, meterRegistry, RateLimitAlgorithm.GCRA,
+                GcraEngine.RECORD_WORDS);
+        return expireIdleKeys(new GcraEngine(limits.getBurstSize(), limits.getRequestsPerMinute(), store),
+                store, idleKeyReaper);
+    }
+
+    @Bean
+    public RateLimitEngine multiTierEngine(RateLimiterConfig rateLimiterConfig, MeterRegistry meterRegistry,
+            IdleKeyReaper idleKeyReaper, ObjectProvider<RedisScriptStore> redisScriptStore) {
+        RateLimiterConfig.DefaultLimits limits = rateLimiterConfig.getDefaultLimits();
+        List<RateLimiterConfig.Tier> tiers = limits.getTiers().isEmpty()
+                ? List.of(new RateLimiterConfig.Tier(limits.getBurstSize(), Duration.ofSeconds(1)),
+                        new RateLimiterConfig.Tier(limits.getRequestsPerMinute(), Duration.ofMinutes(1)))
+                : limits.getTiers();
+        long[] tierLimits = new long[tiers.size()];
+        long[] windowMillis = new long[tiers.size()];
+        for (int i = 0; i < tiers.size(); i++) {
+            tierLimits[i] = tiers.get(i).getLimit();
+            windowMillis[i] = tiers.get(i).getWindow().toMillis();
+        }
+        RedisScriptStore remote = redisScriptStore.getIfAvailable();
+        if (remote != null) {
+            return remoteEngine(RedisRateLimitEngine.multiTier(tierLimits, windowMillis, remote), rateLimiterConfig,
+                    meterRegistry);
+        }
+        RateLimitStore store = createStore(rateLimiterConfig, meterRegistry, RateLimitAlgorithm.MULTI_TIER,
+                MultiTierEngine.recordWords(tiers.size()));
+        return expireIdleKeys(new MultiTierEngine(tierLimits, windowMillis, store), store, idleKeyReaper);
+    }
+
+    /**
+     * Wraps a Redis engine so the key types given a lease fraction are
+     * decided from permits leased a chunk at a time, those given a sync
+     * fraction are counted locally and pushed as deltas, and keys just denied
+     * are answered from memory until their retry time.
+     */
+    private RateLimitEngine remoteEngine(RedisRateLimitEngine engine, RateLimiterConfig rateLimiterConfig,
+            MeterRegistry meterRegistry) {
+        RateLimiterConfig.Redis redis = rateLimiterConfig.getStore().getRedis();
+        RemoteRateLimitEngine remote = engine;
+        int requestsPerMinute = rateLimiterConfig.getDefaultLimits().getRequestsPerMinute();
+        if (!redis.getLease().getFractions().isEmpty()) {
+            Map<RateLimitType, Long> leaseSizes = permitsPerKey(redis.getLease().getFractions(), engine,
+                    requestsPerMinute);
+            remote = new LeasingRateLimitEngine(engine, leaseSizes, redis.getLease().getDuration().toMillis());
+        }
+        // A type with both fractions is synced; leasing still serves the others
+        if (!redis.getSync().getFractions().isEmpty()) {
+            Map<RateLimitType, Long> bounds = permitsPerKey(redis.getSync().getFractions(), engine, requestsPerMinute);
+            SyncingRateLimitEngine syncing = new SyncingRateLimitEngine(remote, engine, bounds);
+            FunctionCounter.builder("rate_limiter.sync.over_admitted", syncing, SyncingRateLimitEngine::overAdmitted)
+                    .tag("algorithm", engine.getAlgorithm().name())
+                    .description("Requests admitted locally that Redis had no room for when pushed")
+                    .register(meterRegistry);
+            remote = syncing;
+        }
+        if (redis.getDeniedKeyCacheSize() == 0) {
+            return remote;
+        }
+        DeniedKeyCache deniedKeys = new DeniedKeyCache(redis.getDeniedKeyCacheSize());
+        FunctionCounter.builder("rate_limiter.denied_cache.hits", deniedKeys, DeniedKeyCache::hits)
+                .tag("algorithm", engine.getAlgorithm().name())
+                .description("Requests denied from the denied key cache without a store call")
+                .register(meterRegistry);
+        return new DeniedKeyCachingEngine(remote, deniedKeys);
+    }
+
+    /**
+     * Converts per-type shares of requests-per-minute into permit counts, at
+     * least one and at most the engine's limit.
+     */
+    private static Map<RateLimitType, Long> permitsPerKey(Map<RateLimitType, Double> fractions,
+            RedisRateLimitEngine engine, int requestsPerMinute) {
+        Map<RateLimitType, Long> permits = new EnumMap<>(RateLimitType.class);
+        fractions.forEach((type, fraction) -> permits.put(type,
+                Math.min(engine.getLimit(), Math.max(1, (long) (fraction * requestsPerMinute)))));
+        return permits;
+    }
+
+    private RateLimitStore createStore(RateLimiterConfig rateLimiterConfig, MeterRegistry meterRegistry,
+            RateLimitAlgorithm algorithm, int recordWords) {
+        RateLimiterConfig.Store storeConfig = rateLimiterConfig.getStore();
+        RateLimitStore store = storeConfig.getMode() == RateLimitStoreMode.OFF_HEAP
+                ? new OffHeapRateLimitStore(storeConfig.getOffHeapBytes(), recordWords)
+                : new InMemoryRateLimitStore(storeConfig.getCapacity(), recordWords);
+
+        String algorithmTag = algorithm.name();
+        String modeTag = storeConfig.getMode().name();
+        Gauge.builder("rate_limiter.store.keys", store, RateLimitStore::size)
+                .tag("algorithm", algorithmTag).tag("mode", modeTag)
+                .description("Keys held by the rate limit store")
+                .register(meterRegistry);
+        Gauge.builder("rate_limiter.store.capacity", store, RateLimitStore::getCapacity)
+                .tag("algorithm", algorithmTag).tag("mode", modeTag)
+                .description("Keys the rate limit store can hold")
+                .register(meterRegistry);
+        Gauge.builder("rate_limiter.store.reserved.bytes", store, RateLimitStore::getReservedBytes)
+                .tag("algorithm", algorithmTag).tag("mode", modeTag)
+                .description("Bytes reserved for rate limit store records")
+                .register(meterRegistry);
+        return store;
+    }
+
+    private RateLimitEngine expireIdleKeys(RateLimitEngine engine, RateLimitStore store, IdleKeyReaper idleKeyReaper) {
+        idleKeyReaper.register(store, engine);
+        return engine;
+    }
+}
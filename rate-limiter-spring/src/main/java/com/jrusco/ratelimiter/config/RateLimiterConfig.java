@@ -0,0 +1,578 @@
+package com.jrusco.ratelimiter.config;
+
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitStoreMode;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Configuration
+@ConfigurationProperties(prefix = "rate-limiter")
+@Validated
+public class RateLimiterConfig {
+
+    private DefaultLimits defaultLimits = new DefaultLimits();
+    private Algorithms algorithms = new Algorithms();
+    private Security security = new Security();
+    private Logging logging = new Logging();
+    private Store store = new Store();
+    private Filter filter = new Filter();
+
+    public DefaultLimits getDefaultLimits() {
+        return defaultLimits;
+    }
+
+    public void setDefaultLimits(DefaultLimits defaultLimits) {
+        this.defaultLimits = defaultLimits;
+    }
+
+    public Algorithms getAlgorithms() {
+        return algorithms;
+    }
+
+    public void setAlgorithms(Algorithms algorithms) {
+        this.algorithms = algorithms;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public void setSecurity(Security security) {
+        this.security = security;
+    }
+
+    public Logging getLogging() {
+        return logging;
+    }
+
+    public void setLogging(Logging logging) {
+        this.logging = logging;
+    }
+
+    public Store getStore() {
+        return store;
+    }
+
+    public void setStore(Store store) {
+        this.store = store;
+    }
+
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(Filter filter) {
+        this.filter = filter;
+    }
+
+    public static class DefaultLimits {
+        @Min(value = 1, message = "Requests per minute must be at least 1")
+        private int requestsPerMinute = 100;
+
+        @Min(value = 1, message = "Burst size must be at least 1")
+        private int burstSize = 10;
+
+        // Limits the MULTI_TIER algorithm enforces together; defaults to burst size per second and requests per minute
+        @Valid
+        private List<Tier> tiers = new ArrayList<>();
+
+        public int getRequestsPerMinute() {
+            return requestsPerMinute;
+        }
+
+        public void setRequestsPerMinute(int requestsPerMinute) {
+            this.requestsPerMinute = requestsPerMinute;
+        }
+
+        public int getBurstSize() {
+            return burstSize;
+        }
+
+        public void setBurstSize(int burstSize) {
+            this.burstSize = burstSize;
+        }
+
+        public List<Tier> getTiers() {
+            return tiers;
+        }
+
+        public void setTiers(List<Tier> tiers) {
+            this.tiers = tiers;
+        }
+    }
+
+    public static class Tier {
+        @Min(value = 1, message = "Tier limit must be at least 1")
+        private long limit;
+
+        @NotNull(message = "Tier window is required")
+        private Duration window;
+
+        public Tier() {
+        }
+
+        public Tier(long limit, Duration window) {
+            this.limit = limit;
+            this.window = window;
+        }
+
+        public long getLimit() {
+            return limit;
+        }
+
+        public void setLimit(long limit) {
+            this.limit = limit;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+    }
+
+    public static class Algorithms {
+        @NotNull(message = "Default algorithm is required")
+        private RateLimitAlgorithm defaultAlgorithm = RateLimitAlgorithm.TOKEN_BUCKET;
+
+        // Key types whose fixed window counters are striped across cells to avoid contention; only
+        // GLOBAL, as striped records are a kilobyte or more each and kept for good in a small store
+        private Set<RateLimitType> stripedTypes = EnumSet.of(RateLimitType.GLOBAL);
+
+        public RateLimitAlgorithm getDefaultAlgorithm() {
+            return defaultAlgorithm;
+        }
+
+        public void setDefaultAlgorithm(RateLimitAlgorithm defaultAlgorithm) {
+            this.defaultAlgorithm = defaultAlgorithm;
+        }
+
+        public Set<RateLimitType> getStripedTypes() {
+            return stripedTypes;
+        }
+
+        public void setStripedTypes(Set<RateLimitType> stripedTypes) {
+            this.stripedTypes = stripedTypes;
+        }
+
+        @AssertTrue(message = "Only the GLOBAL key type can be striped")
+        public boolean isStripedTypesGlobalOnly() {
+            return stripedTypes == null || EnumSet.of(RateLimitType.GLOBAL).containsAll(stripedTypes);
+        }
+    }
+
+    public static class Security {
+        private List<String> trustedHeaders = List.of("X-Forwarded-For", "X-Real-IP");
+
+        // Peers whose forwarding headers are believed; their own addresses are never the client
+        private List<String> trustedProxies = List.of("127.0.0.0/8", "::1/128", "10.0.0.0/8", "172.16.0.0/12",
+                "192.168.0.0/16", "fc00::/7");
+
+        // Subnets whose addresses share CLIENT_IP limits; the most specific block wins
+        @Valid
+        private List<IpRange> ipRanges = new ArrayList<>();
+
+        @Min(value = 1, message = "Max user ID length must be at least 1")
+        private int maxUserIdLength = 255;
+
+        @Min(value = 1, message = "Max API key length must be at least 1")
+        private int maxApiKeyLength = 128;
+
+        @Min(value = 1, message = "Max batch size must be at least 1")
+        private int maxBatchSize = 100;
+
+        public List<String> getTrustedHeaders() {
+            return trustedHeaders;
+        }
+
+        public void setTrustedHeaders(List<String> trustedHeaders) {
+            this.trustedHeaders = trustedHeaders;
+        }
+
+        public List<String> getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(List<String> trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+
+        public List<IpRange> getIpRanges() {
+            return ipRanges;
+        }
+
+        public void setIpRanges(List<IpRange> ipRanges) {
+            this.ipRanges = ipRanges;
+        }
+
+        public int getMaxUserIdLength() {
+            return maxUserIdLength;
+        }
+
+        public void setMaxUserIdLength(int maxUserIdLength) {
+            this.maxUserIdLength = maxUserIdLength;
+        }
+
+        public int getMaxApiKeyLength() {
+            return maxApiKeyLength;
+        }
+
+        public void setMaxApiKeyLength(int maxApiKeyLength) {
+            this.maxApiKeyLength = maxApiKeyLength;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
+
+    public static class IpRange {
+        @NotBlank(message = "IP range CIDR is required")
+        private String cidr;
+
+        // Leading address bits, in the block's own address family, that identify one client,
+        // e.g. 64 for IPv6 subnets; defaults to the block's length so the whole range shares one limit
+        @Min(value = 0, message = "Key prefix length must be at least 0")
+        @Max(value = 128, message = "Key prefix length must be at most 128")
+        private Integer keyPrefixLength;
+
+        public IpRange() {
+        }
+
+        public IpRange(String cidr, Integer keyPrefixLength) {
+            this.cidr = cidr;
+            this.keyPrefixLength = keyPrefixLength;
+        }
+
+        public String getCidr() {
+            return cidr;
+        }
+
+        public void setCidr(String cidr) {
+            this.cidr = cidr;
+        }
+
+        public Integer getKeyPrefixLength() {
+            return keyPrefixLength;
+        }
+
+        public void setKeyPrefixLength(Integer keyPrefixLength) {
+            this.keyPrefixLength = keyPrefixLength;
+        }
+    }
+
+    public static class Logging {
+        private boolean logAllRequests = false;
+        private boolean logDeniedRequests = true;
+        private boolean logConfigurationChanges = true;
+
+        public boolean isLogAllRequests() {
+            return logAllRequests;
+        }
+
+        public void setLogAllRequests(boolean logAllRequests) {
+            this.logAllRequests = logAllRequests;
+        }
+
+        public boolean isLogDeniedRequests() {
+            return logDeniedRequests;
+        }
+
+        public void setLogDeniedRequests(boolean logDeniedRequests) {
+            this.logDeniedRequests = logDeniedRequests;
+        }
+
+        public boolean isLogConfigurationChanges() {
+            return logConfigurationChanges;
+        }
+
+        public void setLogConfigurationChanges(boolean logConfigurationChanges) {
+            this.logConfigurationChanges = logConfigurationChanges;
+        }
+    }
+
+    public static class Store {
+        @NotNull(message = "Store mode is required")
+        private RateLimitStoreMode mode = RateLimitStoreMode.IN_MEMORY;
+
+        // Keys each engine can track in IN_MEMORY mode, rounded up to a power of two; new keys past it are denied
+        @Min(value = 1, message = "Store capacity must be at least 1")
+        private long capacity = 1_048_576;
+
+        // Bytes each engine may reserve outside the heap in OFF_HEAP mode
+        @Min(value = 1_024, message = "Off-heap store size must be at least 1024 bytes")
+        private long offHeapBytes = 67_108_864;
+
+        // Resolution at which idle keys are found and freed
+        @Min(value = 1, message = "Expiry tick must be at least 1 ms")
+        private long expiryTickMillis = 1_000;
+
+        // Server and failure policy for REDIS mode
+        @Valid
+        private Redis redis = new Redis();
+
+        public RateLimitStoreMode getMode() {
+            return mode;
+        }
+
+        public void setMode(RateLimitStoreMode mode) {
+            this.mode = mode;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getOffHeapBytes() {
+            return offHeapBytes;
+        }
+
+        public void setOffHeapBytes(long offHeapBytes) {
+            this.offHeapBytes = offHeapBytes;
+        }
+
+        public long getExpiryTickMillis() {
+            return expiryTickMillis;
+        }
+
+        public void setExpiryTickMillis(long expiryTickMillis) {
+            this.expiryTickMillis = expiryTickMillis;
+        }
+
+        public Redis getRedis() {
+            return redis;
+        }
+
+        public void setRedis(Redis redis) {
+            this.redis = redis;
+        }
+    }
+
+    public static class Redis {
+        // Server every node shares, e.g. redis://host:6379/0, or rediss:// for TLS
+        @NotBlank(message = "Redis URI is required")
+        private String uri = "redis://localhost:6379";
+
+        // Prepended to every key, so several limiters can share one server
+        @NotNull(message = "Redis key prefix is required")
+        private String keyPrefix = "rate-limiter:";
+
+        // Longest a decision waits for Redis before the failure policy applies
+        @NotNull(message = "Redis timeout is required")
+        private Duration timeout = Duration.ofMillis(100);
+
+        // Admit requests while Redis cannot be reached instead of denying them
+        private boolean failOpen = true;
+
+        // Denied keys remembered until their retry time, so repeat requests skip Redis; 0 disables
+        @Min(value = 0, message = "Denied key cache size must not be negative")
+        private int deniedKeyCacheSize = 65_536;
+
+        // Calls made within this window share one write, and acquires on one key one script run; 0 sends each at once
+        @NotNull(message = "Redis batch window is required")
+        private Duration batchWindow = Duration.ZERO;
+
+        // Permits each node reserves at a time instead of asking Redis per request
+        @Valid
+        private Lease lease = new Lease();
+
+        // Key types counted on each node and pushed to Redis as deltas instead of asked per request
+        @Valid
+        private Sync sync = new Sync();
+
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+
+        public void setKeyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public boolean isFailOpen() {
+            return failOpen;
+        }
+
+        public void setFailOpen(boolean failOpen) {
+            this.failOpen = failOpen;
+        }
+
+        public int getDeniedKeyCacheSize() {
+            return deniedKeyCacheSize;
+        }
+
+        public void setDeniedKeyCacheSize(int deniedKeyCacheSize) {
+            this.deniedKeyCacheSize = deniedKeyCacheSize;
+        }
+
+        public Duration getBatchWindow() {
+            return batchWindow;
+        }
+
+        public void setBatchWindow(Duration batchWindow) {
+            this.batchWindow = batchWindow;
+        }
+
+        public Lease getLease() {
+            return lease;
+        }
+
+        public void setLease(Lease lease) {
+            this.lease = lease;
+        }
+
+        public Sync getSync() {
+            return sync;
+        }
+
+        public void setSync(Sync sync) {
+            this.sync = sync;
+        }
+    }
+
+    public static class Lease {
+        // Share of requests-per-minute leased at a time, per key type; unlisted types are not leased
+        private Map<RateLimitType, @Positive(message = "Lease fraction must be positive")
+                @DecimalMax(value = "1.0", message = "Lease fraction must be at most 1") Double> fractions =
+                new EnumMap<>(RateLimitType.class);
+
+        // Longest a node keeps leased permits before giving back the unused ones
+        @NotNull(message = "Lease duration is required")
+        private Duration duration = Duration.ofSeconds(1);
+
+        public Map<RateLimitType, Double> getFractions() {
+            return fractions;
+        }
+
+        public void setFractions(Map<RateLimitType, Double> fractions) {
+            this.fractions = fractions;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public void setDuration(Duration duration) {
+            this.duration = duration;
+        }
+    }
+
+    public static class Sync {
+        // Share of requests-per-minute each node may admit per key before pushing, per key type;
+        // nodes together exceed a limit by at most the sum of their shares. Unlisted types are not synced
+        private Map<RateLimitType, @Positive(message = "Sync fraction must be positive")
+                @DecimalMax(value = "1.0", message = "Sync fraction must be at most 1") Double> fractions =
+                new EnumMap<>(RateLimitType.class);
+
+        // How often each node pushes its admissions and takes the other nodes' counts back
+        @Min(value = 1, message = "Sync interval must be positive")
+        private long intervalMillis = 100;
+
+        public Map<RateLimitType, Double> getFractions() {
+            return fractions;
+        }
+
+        public void setFractions(Map<RateLimitType, Double> fractions) {
+            this.fractions = fractions;
+        }
+
+        public long getIntervalMillis() {
+            return intervalMillis;
+        }
+
+        public void setIntervalMillis(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+    }
+
+    public static class Filter {
+        // Enforce limits on this application's own requests before they reach a handler
+        private boolean enabled = false;
+
+        // Key each request is counted under; API_KEY and USER_ID fall back to CLIENT_IP when absent
+        @NotNull(message = "Filter key type is required")
+        private RateLimitType keyType = RateLimitType.CLIENT_IP;
+
+        @NotEmpty(message = "Filter URL patterns are required")
+        private List<String> urlPatterns = List.of("/*");
+
+        // Path prefixes, below the context path, that are never limited
+        private List<String> excludedPaths = List.of("/rate_limit/", "/actuator/");
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public RateLimitType getKeyType() {
+            return keyType;
+        }
+
+        public void setKeyType(RateLimitType keyType) {
+            this.keyType = keyType;
+        }
+
+        public List<String> getUrlPatterns() {
+            return urlPatterns;
+        }
+
+        public void setUrlPatterns(List<String> urlPatterns) {
+            this.urlPatterns = urlPatterns;
+        }
+
+        public List<String> getExcludedPaths() {
+            return excludedPaths;
+        }
+
+        public void setExcludedPaths(List<String> excludedPaths) {
+            this.excludedPaths = excludedPaths;
+        }
+    }
+}
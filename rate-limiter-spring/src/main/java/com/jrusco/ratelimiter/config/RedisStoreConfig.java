@@ -0,0 +1,43 @@
+package com.jrusco.ratelimiter.config;
+
+import com.jrusco.ratelimiter.store.redis.RedisScriptStore;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connects to Redis when {@code rate-limiter.store.mode=REDIS}. A single
+ * connection is shared by every engine and request thread; Lettuce pipelines
+ * their commands and reconnects on its own if the connection drops. With a
+ * batch window the store gets a connection of its own instead, since its
+ * batcher decides when that connection flushes.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "rate-limiter.store", name = "mode", havingValue = "REDIS")
+public class RedisStoreConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public RedisClient rateLimiterRedisClient(RateLimiterConfig rateLimiterConfig) {
+        return RedisClient.create(rateLimiterConfig.getStore().getRedis().getUri());
+    }
+
+    @Bean(destroyMethod = "close")
+    public StatefulRedisConnection<String, String> rateLimiterRedisConnection(RedisClient rateLimiterRedisClient) {
+        return rateLimiterRedisClient.connect();
+    }
+
+    @Bean(destroyMethod = "close")
+    public RedisScriptStore redisScriptStore(RedisClient rateLimiterRedisClient,
+            StatefulRedisConnection<String, String> rateLimiterRedisConnection, RateLimiterConfig rateLimiterConfig) {
+        RateLimiterConfig.Redis redis = rateLimiterConfig.getStore().getRedis();
+        if (redis.getBatchWindow().isZero()) {
+            return new RedisScriptStore(rateLimiterRedisConnection.async(), redis.getKeyPrefix(), redis.getTimeout(),
+                    redis.isFailOpen());
+        }
+        // Closed by the store
+        return new RedisScriptStore(rateLimiterRedisClient.connect(), redis.getKeyPrefix(), redis.getTimeout(),
+                redis.isFailOpen(), redis.getBatchWindow());
+    }
+}
@@ -2,6 +2,7 @@ package com.jrusco.ratelimiter.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jrusco.ratelimiter.enums.RateLimitType;
 import com.jrusco.ratelimiter.util.ParsingUtils;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -22,6 +23,14 @@ public class RateLimitCheckResponse {
     @JsonProperty("retry_after")
     private Long retryAfter;
 
+    // Window of the tier that decided a multi-tier check, in seconds
+    @JsonProperty("rate_limit_window")
+    private Long rateLimitWindow;
+
+    // The dimension that decided a compound check
+    @JsonProperty("rate_limit_dimension")
+    private RateLimitType rateLimitDimension;
+
     public RateLimitCheckResponse() {
     }
 
@@ -78,6 +87,22 @@ public class RateLimitCheckResponse {
         this.retryAfter = retryAfter;
     }
 
+    public Long getRateLimitWindow() {
+        return rateLimitWindow;
+    }
+
+    public void setRateLimitWindow(Long rateLimitWindow) {
+        this.rateLimitWindow = rateLimitWindow;
+    }
+
+    public RateLimitType getRateLimitDimension() {
+        return rateLimitDimension;
+    }
+
+    public void setRateLimitDimension(RateLimitType rateLimitDimension) {
+        this.rateLimitDimension = rateLimitDimension;
+    }
+
     @Override
     public String toString() {
         StringBuilder json = new StringBuilder();
@@ -88,6 +113,12 @@ public class RateLimitCheckResponse {
         json.append(",\"rate_limit_remaining\":").append(rateLimitRemaining);
         json.append(",\"rate_limit_reset\":").append(rateLimitReset);
         json.append(",\"retry_after\":").append(retryAfter);
+        if (rateLimitWindow != null) {
+            json.append(",\"rate_limit_window\":").append(rateLimitWindow);
+        }
+        if (rateLimitDimension != null) {
+            json.append(",\"rate_limit_dimension\":\"").append(rateLimitDimension).append("\"");
+        }
         json.append("}");
         return json.toString();
     }
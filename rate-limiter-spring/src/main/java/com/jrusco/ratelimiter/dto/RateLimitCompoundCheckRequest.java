@@ -0,0 +1,67 @@
+package com.jrusco.ratelimiter.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.util.ParsingUtils;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A check of one caller against several dimensions at once. The identifier of
+ * each dimension comes from {@code identifiers} if it names the dimension,
+ * else from the matching request field: the primary identifier for its own
+ * type, then {@code clientIp}, {@code apiKey} and {@code endpoint};
+ * {@code GLOBAL} needs none. Dimensions without a field, such as
+ * {@code USER_ID} next to another primary type, need an explicit identifier.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RateLimitCompoundCheckRequest extends RateLimitCheckRequest {
+
+    @NotEmpty(message = "At least one dimension is required")
+    private List<RateLimitType> dimensions;
+
+    private Map<RateLimitType, String> identifiers;
+
+    public RateLimitCompoundCheckRequest() {
+    }
+
+    public RateLimitCompoundCheckRequest(String identifier, RateLimitType type, List<RateLimitType> dimensions) {
+        super(identifier, type);
+        this.dimensions = dimensions;
+    }
+
+    public List<RateLimitType> getDimensions() {
+        return dimensions;
+    }
+
+    public void setDimensions(List<RateLimitType> dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    public Map<RateLimitType, String> getIdentifiers() {
+        return identifiers;
+    }
+
+    public void setIdentifiers(Map<RateLimitType, String> identifiers) {
+        this.identifiers = identifiers;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder json = new StringBuilder();
+        json.append("{");
+        json.append("\"identifier\":").append(ParsingUtils.escapeJsonString(getIdentifier()));
+        json.append(",\"type\":").append(getType() != null ? "\"" + getType() + "\"" : "null");
+        json.append(",\"endpoint\":").append(ParsingUtils.escapeJsonString(getEndpoint()));
+        json.append(",\"clientIp\":").append(ParsingUtils.escapeJsonString(getClientIp()));
+        json.append(",\"apiKey\":\"[MASKED]\"");
+        json.append(",\"dimensions\":").append(ParsingUtils.escapeJsonString(dimensions != null ? dimensions.toString() : null));
+        // Explicit identifiers may include an API key, so only their dimensions are logged
+        json.append(",\"identifiers\":")
+                .append(ParsingUtils.escapeJsonString(identifiers != null ? identifiers.keySet().toString() : null));
+        json.append("}");
+        return json.toString();
+    }
+}
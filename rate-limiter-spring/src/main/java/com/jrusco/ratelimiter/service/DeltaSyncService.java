@@ -0,0 +1,46 @@
+package com.jrusco.ratelimiter.service;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.store.redis.RemoteRateLimitEngine;
+import com.jrusco.ratelimiter.store.redis.SyncingRateLimitEngine;
+import com.jrusco.ratelimiter.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * Pushes the admissions each node counted locally to Redis once per sync
+ * interval, taking back what the other nodes have left. Keys that run out of
+ * local room push on their own between runs.
+ */
+@Service
+public class DeltaSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeltaSyncService.class);
+
+    @Autowired
+    private List<RateLimitEngine> rateLimitEngines;
+
+    @Autowired
+    private Clock clock;
+
+    @Scheduled(fixedDelayString = "${rate-limiter.store.redis.sync.interval-millis:100}")
+    public void pushDeltas() {
+        long now = clock.millis();
+        for (RateLimitEngine engine : rateLimitEngines) {
+            SyncingRateLimitEngine syncingEngine = RemoteRateLimitEngine.find(engine, SyncingRateLimitEngine.class);
+            if (syncingEngine != null) {
+                long pushed = syncingEngine.sync(now);
+                if (pushed > 0) {
+                    logger.debug("{} - msg=[Deltas pushed], algorithm=[{}], admissions=[{}], syncedKeys=[{}]",
+                            Constants.LOG_PREFIX, engine.getAlgorithm(), pushed, syncingEngine.syncedKeys());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.jrusco.ratelimiter.service;
+
+import com.jrusco.ratelimiter.store.IdleKeyReaper;
+import com.jrusco.ratelimiter.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+
+/**
+ * Advances the idle key timer wheels once per expiry tick. Each run only
+ * touches the keys that fall due, so there is no periodic sweep of the stores.
+ */
+@Service
+public class IdleKeyExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdleKeyExpiryService.class);
+
+    @Autowired
+    private IdleKeyReaper idleKeyReaper;
+
+    @Autowired
+    private Clock clock;
+
+    @Scheduled(fixedDelayString = "${rate-limiter.store.expiry-tick-millis:1000}")
+    public void expireIdleKeys() {
+        long removed = idleKeyReaper.expire(clock.millis());
+        if (removed > 0) {
+            logger.debug("{} - msg=[Idle keys expired], removed=[{}], scheduled=[{}]",
+                    Constants.LOG_PREFIX, removed, idleKeyReaper.scheduledKeys());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.jrusco.ratelimiter.service;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.store.redis.LeasingRateLimitEngine;
+import com.jrusco.ratelimiter.store.redis.RemoteRateLimitEngine;
+import com.jrusco.ratelimiter.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * Gives the unused permits of expired leases back to Redis once per expiry
+ * tick, so quiet keys do not keep permits from other nodes. Leases of busy
+ * keys are renewed, and given back, by the requests themselves.
+ */
+@Service
+public class LeaseReturnService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseReturnService.class);
+
+    @Autowired
+    private List<RateLimitEngine> rateLimitEngines;
+
+    @Autowired
+    private Clock clock;
+
+    @Scheduled(fixedDelayString = "${rate-limiter.store.expiry-tick-millis:1000}")
+    public void returnExpiredLeases() {
+        long now = clock.millis();
+        for (RateLimitEngine engine : rateLimitEngines) {
+            LeasingRateLimitEngine leasingEngine = RemoteRateLimitEngine.find(engine, LeasingRateLimitEngine.class);
+            if (leasingEngine != null) {
+                long returned = leasingEngine.returnExpiredLeases(now);
+                if (returned > 0) {
+                    logger.debug("{} - msg=[Expired leases returned], algorithm=[{}], permits=[{}], leasedKeys=[{}]",
+                            Constants.LOG_PREFIX, engine.getAlgorithm(), returned, leasingEngine.leasedKeys());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package com.jrusco.ratelimiter.service;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.config.RateLimiterConfig;
+import com.jrusco.ratelimiter.dto.RateLimitCheckRequest;
+import com.jrusco.ratelimiter.dto.RateLimitCheckResponse;
+import com.jrusco.ratelimiter.dto.RateLimitCompoundCheckRequest;
+import com.jrusco.ratelimiter.dto.RateLimitConfigDto;
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.exception.ValidationException;
+import com.jrusco.ratelimiter.util.Constants;
+import com.jrusco.ratelimiter.util.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class RateLimiterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiterService.class);
+
+    @Autowired
+    private RateLimiterConfig rateLimiterConfig;
+
+    @Autowired
+    private ValidationUtils validationUtils;
+
+    @Autowired
+    private List<RateLimitEngine> rateLimitEngines;
+
+    @Autowired
+    private Clock clock;
+
+    private final Map<RateLimitAlgorithm, RateLimitEngine> enginesByAlgorithm =
+            new EnumMap<>(RateLimitAlgorithm.class);
+
+    @PostConstruct
+    void registerEngines() {
+        for (RateLimitEngine engine : rateLimitEngines) {
+            enginesByAlgorithm.put(engine.getAlgorithm(), engine);
+            logger.info("{} - msg=[Rate limit engine registered], algorithm=[{}], limit=[{}], stateBytesPerKey=[{}]",
+                    Constants.LOG_PREFIX, engine.getAlgorithm(), engine.getLimit(), engine.getStateBytesPerKey());
+        }
+    }
+
+    /**
+     * Check if a request is allowed based on rate limiting rules.
+     * Consumes one permit for the request's key using the configured algorithm.
+     */
+    public RateLimitCheckResponse checkRateLimit(RateLimitCheckRequest request) {
+        logger.debug("{} - msg=[Checking rate limit], identifier=[{}], type=[{}]",
+                Constants.LOG_PREFIX, request.getIdentifier(), request.getType());
+
+        long keyHash = keyHash(request);
+        RateLimitEngine engine = resolveEngine();
+        long now = clock.millis();
+        long decision = engine.tryAcquire(request.getType(), keyHash, now);
+
+        return respond(request, decision, engine, now);
+    }
+
+    /**
+     * Validate a check request's identifier and hash its key in one pass.
+     * Callers that take the permit themselves, e.g. through a non-blocking
+     * store, use this with {@link #resolveEngine()} and {@link #respond}.
+     */
+    public long keyHash(RateLimitCheckRequest request) {
+        return validationUtils.keyHash(request.getType(), request.getIdentifier(), new long[2]);
+    }
+
+    /**
+     * Translate and log a decision taken for a single check request.
+     */
+    public RateLimitCheckResponse respond(RateLimitCheckRequest request, long decision, RateLimitEngine engine,
+            long now) {
+        RateLimitCheckResponse response = toResponse(decision, engine, now);
+        logDecision(request, response);
+        return response;
+    }
+
+    /**
+     * Check several keys for one inbound request in a single call.
+     * Every check is validated before any permit is consumed, and all checks
+     * share one timestamp. In all-or-nothing mode checking stops at the first
+     * denial and the permits already taken are released, so nothing is consumed
+     * unless every check passes.
+     */
+    public List<RateLimitCheckResponse> checkRateLimits(List<RateLimitCheckRequest> requests, boolean allOrNothing) {
+        logger.debug("{} - msg=[Checking rate limit batch], size=[{}], allOrNothing=[{}]",
+                Constants.LOG_PREFIX, requests.size(), allOrNothing);
+
+        int maxBatchSize = rateLimiterConfig.getSecurity().getMaxBatchSize();
+        if (requests.isEmpty() || requests.size() > maxBatchSize) {
+            throw new ValidationException("Batch must contain between 1 and " + maxBatchSize + " checks",
+                    "requests", String.valueOf(requests.size()));
+        }
+
+        int size = requests.size();
+        RateLimitType[] types = new RateLimitType[size];
+        long[] keyHashes = new long[size];
+        long[] address = new long[2];
+        for (int i = 0; i < size; i++) {
+            types[i] = requests.get(i).getType();
+            keyHashes[i] = validationUtils.keyHash(types[i], requests.get(i).getIdentifier(), address);
+        }
+
+        RateLimitEngine engine = resolveEngine();
+        long now = clock.millis();
+        long[] decisions = new long[size];
+        int checked = acquireAll(engine, types, keyHashes, now, decisions, allOrNothing);
+        boolean rolledBack = allOrNothing && !RateLimitDecision.isAllowed(decisions[checked - 1]);
+
+        List<RateLimitCheckResponse> responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            RateLimitCheckRequest request = requests.get(i);
+            if (i >= checked) {
+                responses.add(toRejectedResponse(engine.getLimit()));
+            } else if (rolledBack && RateLimitDecision.isAllowed(decisions[i])) {
+                responses.add(toReleasedResponse(decisions[i], engine, now));
+            } else {
+                RateLimitCheckResponse response = toResponse(decisions[i], engine, now);
+                logDecision(request, response);
+                responses.add(response);
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Check one caller against several dimensions, e.g. GLOBAL, CLIENT_IP and
+     * USER_ID, consuming from all of them only if all allow. Narrow dimensions
+     * are checked before GLOBAL so a denied caller never touches the shared
+     * global key. The response is the most restrictive decision: the denial if
+     * there is one, otherwise the dimension with the fewest permits left.
+     */
+    public RateLimitCheckResponse checkCompoundRateLimit(RateLimitCompoundCheckRequest request) {
+        logger.debug("{} - msg=[Checking compound rate limit], identifier=[{}], type=[{}], dimensions=[{}]",
+                Constants.LOG_PREFIX, request.getIdentifier(), request.getType(), request.getDimensions());
+
+        if (request.getDimensions() == null || request.getDimensions().isEmpty()) {
+            throw new IllegalArgumentException("At least one dimension is required");
+        }
+
+        RateLimitType[] types = orderDimensions(request.getDimensions());
+        long[] keyHashes = new long[types.length];
+        long[] address = new long[2];
+        for (int i = 0; i < types.length; i++) {
+            keyHashes[i] = validationUtils.keyHash(types[i], resolveIdentifier(request, types[i]), address);
+        }
+
+        RateLimitEngine engine = resolveEngine();
+        long now = clock.millis();
+        long[] decisions = new long[types.length];
+        int checked = acquireAll(engine, types, keyHashes, now, decisions, true);
+
+        int binding = checked - 1;
+        if (RateLimitDecision.isAllowed(decisions[binding])) {
+            for (int i = 0; i < checked; i++) {
+                if (RateLimitDecision.isMoreRestrictive(decisions[i], decisions[binding])) {
+                    binding = i;
+                }
+            }
+        }
+
+        RateLimitCheckResponse response = toResponse(decisions[binding], engine, now);
+        response.setRateLimitDimension(types[binding]);
+        logDecision(request, response);
+
+        return response;
+    }
+
+    /**
+     * Get current rate limit configuration.
+     */
+    public RateLimitConfigDto getConfiguration() {
+        logger.debug("{} - msg=[Getting configuration]", Constants.LOG_PREFIX);
+
+        RateLimitConfigDto config = new RateLimitConfigDto();
+        config.setAlgorithm(rateLimiterConfig.getAlgorithms().getDefaultAlgorithm());
+        config.setRequestsPerMinute(rateLimiterConfig.getDefaultLimits().getRequestsPerMinute());
+        config.setBurstSize(rateLimiterConfig.getDefaultLimits().getBurstSize());
+        config.setEnabled(true); // Default to enabled
+
+        return config;
+    }
+
+    /**
+     * Update rate limit configuration.
+     * This is a stub implementation for Milestone 1.
+     */
+    public void updateConfiguration(RateLimitConfigDto config) {
+        logger.info("{} - msg=[Updating configuration], config=[{}]",
+                Constants.LOG_PREFIX, config);
+
+        // Validate configuration
+        validateConfiguration(config);
+
+        // In a real implementation, this would update the actual configuration
+        // For now, we just log the update
+        if (rateLimiterConfig.getLogging().isLogConfigurationChanges()) {
+            logger.info("{} - msg=[Configuration updated], newConfig=[{}]",
+                    Constants.LOG_PREFIX, config);
+        }
+    }
+
+    /**
+     * Extract real client IP from headers and remote address.
+     */
+    public String extractRealClientIp(String xForwardedFor, String xRealIp, String remoteAddr) {
+        return validationUtils.extractRealClientIp(xForwardedFor, xRealIp, remoteAddr);
+    }
+
+    /**
+     * Legacy method for backward compatibility.
+     */
+    public boolean isAllowed(String identifier) {
+        logger.debug("{} - msg=[Legacy isAllowed check], identifier=[{}]",
+                Constants.LOG_PREFIX, identifier);
+
+        return true;
+    }
+
+    /**
+     * Select the engine for the configured default algorithm.
+     */
+    public RateLimitEngine resolveEngine() {
+        RateLimitAlgorithm algorithm = rateLimiterConfig.getAlgorithms().getDefaultAlgorithm();
+        RateLimitEngine engine = enginesByAlgorithm.get(algorithm);
+        if (engine == null) {
+            throw new IllegalStateException("No engine available for algorithm: " + algorithm);
+        }
+        return engine;
+    }
+
+    /**
+     * Translate a packed engine decision into the API response. Limits come
+     * from the tier that decided the request.
+     */
+    private RateLimitCheckResponse toResponse(long decision, RateLimitEngine engine, long now) {
+        boolean allowed = RateLimitDecision.isAllowed(decision);
+        int tier = RateLimitDecision.tier(decision);
+        long limit = engine.getLimit(tier);
+
+        RateLimitCheckResponse response = new RateLimitCheckResponse();
+        response.setAllowed(allowed);
+        response.setMessage(allowed ? Constants.MSG_REQUEST_ALLOWED : Constants.MSG_RATE_LIMIT_EXCEEDED);
+        response.setRateLimitLimit(limit);
+        response.setRateLimitRemaining(RateLimitDecision.remaining(decision));
+        response.setRateLimitReset(now + RateLimitDecision.resetAfterMillis(decision));
+        if (engine.getTierCount() > 1) {
+            response.setRateLimitWindow(engine.getTierWindowMillis(tier) / Constants.MILLIS_PER_SECOND);
+        }
+        if (!allowed) {
+            long retryAfterMillis = RateLimitDecision.retryAfterMillis(decision);
+            response.setRetryAfter((retryAfterMillis + Constants.MILLIS_PER_SECOND - 1) / Constants.MILLIS_PER_SECOND);
+        }
+        return response;
+    }
+
+    /**
+     * Takes a permit for each key in order. When atomic, stops at the first
+     * denial and gives back the permits already taken, so either every key
+     * consumed a permit or none did once this returns.
+     *
+     * <p>The rollback is not isolated. Between a key's acquire and its
+     * release, concurrent requests on that key see the permit as used and may
+     * be denied spuriously, so a key near its limit can over-deny but never
+     * over-admit. Checking every key before taking any permit would need a
+     * read-only check on each engine and, for Redis, a second round trip
+     * that could still race. Compound checks put GLOBAL, the most contended
+     * key, last, so it is never rolled back.
+     *
+     * @return the number of keys checked
+     */
+    private int acquireAll(RateLimitEngine engine, RateLimitType[] types, long[] keyHashes, long now,
+            long[] decisions, boolean atomic) {
+        int checked = 0;
+        boolean denied = false;
+        while (checked < types.length && !(denied && atomic)) {
+            decisions[checked] = engine.tryAcquire(types[checked], keyHashes[checked], now);
+            denied = !RateLimitDecision.isAllowed(decisions[checked]);
+            checked++;
+        }
+
+        if (denied && atomic) {
+            for (int i = 0; i < checked - 1; i++) {
+                engine.release(types[i], keyHashes[i], now);
+            }
+        }
+        return checked;
+    }
+
+    /**
+     * Deduplicates dimensions and moves GLOBAL, the most contended key, last.
+     */
+    private static RateLimitType[] orderDimensions(List<RateLimitType> dimensions) {
+        EnumSet<RateLimitType> unique = EnumSet.copyOf(dimensions);
+        boolean global = unique.remove(RateLimitType.GLOBAL);
+        RateLimitType[] ordered = new RateLimitType[unique.size() + (global ? 1 : 0)];
+        int index = 0;
+        for (RateLimitType type : unique) {
+            ordered[index++] = type;
+        }
+        if (global) {
+            ordered[index] = RateLimitType.GLOBAL;
+        }
+        return ordered;
+    }
+
+    /**
+     * The identifier a compound request carries for the given dimension.
+     *
+     * @throws ValidationException if a dimension has neither a matching field nor an explicit identifier
+     */
+    private static String resolveIdentifier(RateLimitCompoundCheckRequest request, RateLimitType type) {
+        Map<RateLimitType, String> identifiers = request.getIdentifiers();
+        if (identifiers != null && identifiers.containsKey(type)) {
+            return identifiers.get(type);
+        }
+        if (type == request.getType()) {
+            return request.getIdentifier();
+        }
+        switch (type) {
+            case CLIENT_IP:
+                return request.getClientIp();
+            case API_KEY:
+                return request.getApiKey();
+            case ENDPOINT:
+                return request.getEndpoint();
+            case GLOBAL:
+                return Constants.GLOBAL_IDENTIFIER;
+            default:
+                throw new ValidationException("No identifier provided for dimension: " + type, "identifiers",
+                        type.name());
+        }
+    }
+
+    /**
+     * Response for a batch check whose permit was given back because another
+     * check in the batch was denied.
+     */
+    private RateLimitCheckResponse toReleasedResponse(long decision, RateLimitEngine engine, long now) {
+        RateLimitCheckResponse response = toResponse(decision, engine, now);
+        response.setAllowed(false);
+        response.setMessage(Constants.MSG_BATCH_REJECTED);
+        response.setRateLimitRemaining(Math.min(response.getRateLimitLimit(), response.getRateLimitRemaining() + 1));
+        return response;
+    }
+
+    /**
+     * Response for a batch check that was skipped because an earlier check in
+     * the batch was denied.
+     */
+    private RateLimitCheckResponse toRejectedResponse(long limit) {
+        RateLimitCheckResponse response = new RateLimitCheckResponse(false, Constants.MSG_BATCH_REJECTED);
+        response.setRateLimitLimit(limit);
+        return response;
+    }
+
+    private void logDecision(RateLimitCheckRequest request, RateLimitCheckResponse response) {
+        if (!response.isAllowed() && rateLimiterConfig.getLogging().isLogDeniedRequests()) {
+            logger.warn("{} - msg=[Request denied], identifier=[{}], type=[{}], retryAfter=[{}]",
+                    Constants.LOG_PREFIX, request.getIdentifier(), request.getType(), response.getRetryAfter());
+        } else if (response.isAllowed() && rateLimiterConfig.getLogging().isLogAllRequests()) {
+            logger.info("{} - msg=[Request allowed], identifier=[{}], type=[{}]",
+                    Constants.LOG_PREFIX, request.getIdentifier(), request.getType());
+        }
+    }
+
+    private void validateConfiguration(RateLimitConfigDto config) {
+        if (config.getAlgorithm() == null) {
+            throw new IllegalArgumentException("Algorithm is required");
+        }
+
+        if (config.getRequestsPerMinute() <= 0) {
+            throw new IllegalArgumentException("Requests per minute must be positive");
+        }
+
+        if (config.getBurstSize() <= 0) {
+            throw new IllegalArgumentException("Burst size must be positive");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.DeniedKeyCache;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Answers requests for a key that was just denied from a {@link DeniedKeyCache}
+ * until the denial's retry time, so clients retrying after a 429 cost no
+ * store call. Every algorithm's retry time is the earliest its next request
+ * could be admitted, so a cached denial is the answer the store would give,
+ * unless another node gives permits back in the meantime.
+ */
+public class DeniedKeyCachingEngine extends ForwardingRateLimitEngine {
+
+    private final DeniedKeyCache cache;
+
+    public DeniedKeyCachingEngine(RemoteRateLimitEngine delegate, DeniedKeyCache cache) {
+        super(delegate);
+        this.cache = cache;
+    }
+
+    @Override
+    public long tryAcquire(RateLimitType type, long keyHash, long nowMillis) {
+        long cached = cache.lookup(keyHash, nowMillis);
+        if (cached != DeniedKeyCache.NOT_DENIED) {
+            return cached;
+        }
+        long decision = delegate.tryAcquire(type, keyHash, nowMillis);
+        cache.record(keyHash, decision, nowMillis);
+        return decision;
+    }
+
+    @Override
+    public CompletableFuture<Long> tryAcquireAsync(RateLimitType type, long keyHash, long nowMillis) {
+        long cached = cache.lookup(keyHash, nowMillis);
+        if (cached != DeniedKeyCache.NOT_DENIED) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return delegate.tryAcquireAsync(type, keyHash, nowMillis).thenApply(decision -> {
+            cache.record(keyHash, decision, nowMillis);
+            return decision;
+        });
+    }
+
+    /**
+     * A permit given back may admit the key sooner than its cached denial says.
+     */
+    @Override
+    public void release(RateLimitType type, long keyHash, long nowMillis) {
+        delegate.release(type, keyHash, nowMillis);
+        cache.invalidate(keyHash);
+    }
+}
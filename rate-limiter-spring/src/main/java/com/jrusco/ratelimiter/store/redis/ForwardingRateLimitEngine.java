@@ -0,0 +1,81 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+
+/**
+ * An engine that wraps another and answers some requests itself. It reports
+ * the limits and idle times of the engine it wraps, which end with Redis, so
+ * subclasses only decide what they answer locally.
+ */
+public abstract class ForwardingRateLimitEngine implements RemoteRateLimitEngine {
+
+    // Never a packed decision: denials carry a delay and admissions the allowed bit
+    static final long NO_PERMIT = 0L;
+
+    protected final RemoteRateLimitEngine delegate;
+
+    protected ForwardingRateLimitEngine(RemoteRateLimitEngine delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public RateLimitAlgorithm getAlgorithm() {
+        return delegate.getAlgorithm();
+    }
+
+    @Override
+    public long getLimit() {
+        return delegate.getLimit();
+    }
+
+    @Override
+    public int getTierCount() {
+        return delegate.getTierCount();
+    }
+
+    @Override
+    public long getLimit(int tier) {
+        return delegate.getLimit(tier);
+    }
+
+    @Override
+    public long getTierWindowMillis(int tier) {
+        return delegate.getTierWindowMillis(tier);
+    }
+
+    /**
+     * What a wrapper keeps locally is small and short-lived, so only the
+     * wrapped engine's state is counted.
+     */
+    @Override
+    public long getStateBytesPerKey() {
+        return delegate.getStateBytesPerKey();
+    }
+
+    /**
+     * Waits for {@link #tryAcquireAsync}.
+     */
+    @Override
+    public long tryAcquire(RateLimitType type, long keyHash, long nowMillis) {
+        return tryAcquireAsync(type, keyHash, nowMillis).join();
+    }
+
+    @Override
+    public long idleAtMillis(long slot, long nowMillis) {
+        return delegate.idleAtMillis(slot, nowMillis);
+    }
+
+    @Override
+    public long getMaxIdleMillis() {
+        return delegate.getMaxIdleMillis();
+    }
+
+    /**
+     * The engine this one wraps.
+     */
+    @Override
+    public RemoteRateLimitEngine getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,242 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves decisions for a node from permits it has leased from Redis, so Redis
+ * sees one call per lease rather than one per request. When a key of a leased
+ * type has no live lease, one script call takes up to the type's lease size
+ * from the shared limit; the node's later requests on that key are decided
+ * locally until the lease runs out or expires. Unused permits are given back
+ * when a lease is replaced or swept by {@link #returnExpiredLeases(long)}.
+ *
+ * <p>Leased permits are counted by Redis when taken, not when used, so each
+ * node can be off by at most one lease per key: other nodes may be denied
+ * while it holds unused permits, and permits taken late in a window may be
+ * spent early in the next. Smaller leases trade store calls for accuracy.
+ * Types without a lease size are decided by Redis on every request.
+ */
+public class LeasingRateLimitEngine extends ForwardingRateLimitEngine {
+
+    private final RedisRateLimitEngine remote;
+    private final long[] leaseSizes;
+    private final long leaseMillis;
+    private final Map<Long, CompletableFuture<Lease>> leases = new ConcurrentHashMap<>();
+
+    /**
+     * @param remote      engine that takes and gives back leased permits
+     * @param leaseSizes  permits leased at a time per key type; absent or zero
+     *                    sizes are not leased
+     * @param leaseMillis how long a node may keep unused leased permits
+     */
+    public LeasingRateLimitEngine(RedisRateLimitEngine remote, Map<RateLimitType, Long> leaseSizes, long leaseMillis) {
+        super(remote);
+        if (leaseMillis < 1) {
+            throw new IllegalArgumentException("Lease duration must be positive");
+        }
+        this.remote = remote;
+        this.leaseSizes = new long[RateLimitType.values().length];
+        leaseSizes.forEach((type, size) -> {
+            if (size < 0) {
+                throw new IllegalArgumentException("Lease size must not be negative");
+            }
+            this.leaseSizes[type.ordinal()] = size;
+        });
+        this.leaseMillis = leaseMillis;
+    }
+
+    @Override
+    public CompletableFuture<Long> tryAcquireAsync(RateLimitType type, long keyHash, long nowMillis) {
+        long leaseSize = leaseSizes[type.ordinal()];
+        if (leaseSize == 0) {
+            return remote.tryAcquireAsync(type, keyHash, nowMillis);
+        }
+        return acquire(keyHash, leaseSize, nowMillis);
+    }
+
+    /**
+     * Puts the permit back into the key's lease if it is still live, else
+     * gives it back to Redis.
+     */
+    @Override
+    public void release(RateLimitType type, long keyHash, long nowMillis) {
+        CompletableFuture<Lease> current = leases.get(keyHash);
+        Lease lease = current == null ? null : current.getNow(null);
+        if (lease == null || !lease.giveBack(nowMillis)) {
+            remote.release(type, keyHash, nowMillis);
+        }
+    }
+
+    /**
+     * Drops the leases that have expired by {@code nowMillis} and gives their
+     * unused permits back to Redis.
+     *
+     * @return the number of permits given back
+     */
+    public long returnExpiredLeases(long nowMillis) {
+        long returned = 0;
+        for (Map.Entry<Long, CompletableFuture<Lease>> entry : leases.entrySet()) {
+            Lease lease = entry.getValue().getNow(null);
+            if (lease != null && lease.expiresAtMillis <= nowMillis && leases.remove(entry.getKey(), entry.getValue())) {
+                returned += giveBack(entry.getKey(), lease);
+            }
+        }
+        return returned;
+    }
+
+    /**
+     * Keys currently holding a lease or waiting for one.
+     */
+    public int leasedKeys() {
+        return leases.size();
+    }
+
+    private CompletableFuture<Long> acquire(long keyHash, long leaseSize, long nowMillis) {
+        CompletableFuture<Lease> current = leases.get(keyHash);
+        if (current == null) {
+            return renew(keyHash, leaseSize, nowMillis, null);
+        }
+        boolean waited = !current.isDone();
+        return current.thenCompose(lease -> {
+            long decision = lease.take(nowMillis);
+            if (decision != NO_PERMIT) {
+                return CompletableFuture.completedFuture(decision);
+            }
+            // Callers that queued behind a refused lease share its answer rather than asking again
+            if (waited && lease.refusal != NO_PERMIT) {
+                return CompletableFuture.completedFuture(lease.refusal);
+            }
+            return renew(keyHash, leaseSize, nowMillis, current);
+        });
+    }
+
+    /**
+     * Replaces a spent or expired lease with a new one from Redis. Only one
+     * caller per key gets to ask; the others wait for its lease.
+     */
+    private CompletableFuture<Long> renew(long keyHash, long leaseSize, long nowMillis,
+            CompletableFuture<Lease> spent) {
+        CompletableFuture<Lease> next = new CompletableFuture<>();
+        boolean renewing = spent == null
+                ? leases.putIfAbsent(keyHash, next) == null
+                : leases.replace(keyHash, spent, next);
+        if (!renewing) {
+            return acquire(keyHash, leaseSize, nowMillis);
+        }
+        if (spent != null) {
+            giveBack(keyHash, spent.join());
+        }
+        remote.lease(keyHash, leaseSize, nowMillis).whenComplete((reply, failure) -> {
+            if (failure != null) {
+                // Nothing was leased, so the next request asks Redis again
+                leases.remove(keyHash, next);
+                next.complete(Lease.refused(remote.onFailure(failure, keyHash), nowMillis));
+            } else {
+                next.complete(Lease.granted(reply, nowMillis, nowMillis + leaseMillis));
+            }
+        });
+        return next.thenApply(lease -> {
+            long decision = lease.take(nowMillis);
+            return decision != NO_PERMIT ? decision : lease.refusal;
+        });
+    }
+
+    private long giveBack(long keyHash, Lease lease) {
+        long unused = lease.drain();
+        if (unused > 0) {
+            remote.giveBack(keyHash, unused, lease.leasedAtMillis);
+        }
+        return unused;
+    }
+
+    /**
+     * Permits one node holds for one key, with what Redis reported when they
+     * were taken so local decisions carry comparable headers.
+     */
+    private static final class Lease {
+
+        private final long leasedAtMillis;
+        private final long expiresAtMillis;
+        private final long granted;
+        private final AtomicLong permits;
+        private final long sharedRemaining;
+        private final long resetAtMillis;
+        private final int tier;
+        // Decision for callers that find no permit left, when Redis granted none
+        private final long refusal;
+
+        private Lease(long leasedAtMillis, long expiresAtMillis, long granted, long sharedRemaining,
+                long resetAtMillis, int tier, long refusal) {
+            this.leasedAtMillis = leasedAtMillis;
+            this.expiresAtMillis = expiresAtMillis;
+            this.granted = granted;
+            this.permits = new AtomicLong(granted);
+            this.sharedRemaining = sharedRemaining;
+            this.resetAtMillis = resetAtMillis;
+            this.tier = tier;
+            this.refusal = refusal;
+        }
+
+        static Lease granted(List<Long> reply, long nowMillis, long expiresAtMillis) {
+            long granted = reply.get(0);
+            if (granted == 0) {
+                return refused(RedisScriptStore.toDecision(reply), nowMillis);
+            }
+            return new Lease(nowMillis, expiresAtMillis, granted, reply.get(1), nowMillis + reply.get(2),
+                    reply.get(3).intValue(), NO_PERMIT);
+        }
+
+        static Lease refused(long decision, long nowMillis) {
+            return new Lease(nowMillis, nowMillis, 0, 0, nowMillis, 0, decision);
+        }
+
+        /**
+         * Takes one permit, reporting as remaining what Redis had left plus
+         * what is left of this lease.
+         *
+         * @return the packed decision, or {@link #NO_PERMIT} if the lease is spent or expired
+         */
+        long take(long nowMillis) {
+            if (nowMillis >= expiresAtMillis) {
+                return NO_PERMIT;
+            }
+            long left;
+            do {
+                left = permits.get();
+                if (left == 0) {
+                    return NO_PERMIT;
+                }
+            } while (!permits.compareAndSet(left, left - 1));
+            long decision = RateLimitDecision.allow(sharedRemaining + left - 1, Math.max(0, resetAtMillis - nowMillis));
+            return RateLimitDecision.withTier(decision, tier);
+        }
+
+        /**
+         * Returns one permit taken from this lease, if the lease is still live.
+         */
+        boolean giveBack(long nowMillis) {
+            if (nowMillis >= expiresAtMillis) {
+                return false;
+            }
+            long left;
+            do {
+                left = permits.get();
+                if (left == granted) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(left, left + 1));
+            return true;
+        }
+
+        long drain() {
+            return permits.getAndSet(0);
+        }
+    }
+}
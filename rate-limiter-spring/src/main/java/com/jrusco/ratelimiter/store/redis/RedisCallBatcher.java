@@ -0,0 +1,232 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.util.Constants;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends script calls to Redis in batches. Calls made during a short window
+ * are written to the connection together and flushed once, so they share a
+ * round trip; acquires on the same key within a batch are merged into one
+ * call for the sum of their permits, so a hot key costs one script run per
+ * batch however many requests hit it.
+ *
+ * <p>A merged call's permits are handed out in arrival order. If the limit
+ * runs out part way through, the callers left without a permit are sent again
+ * in the next batch, where they are denied with the script's own retry delay.
+ *
+ * <p>The batcher owns its connection: commands are only written when its
+ * thread flushes, so the connection must not be shared, and it is closed
+ * with the batcher.
+ */
+final class RedisCallBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCallBatcher.class);
+
+    private final StatefulRedisConnection<String, String> connection;
+    private final RedisAsyncCommands<String, String> commands;
+    private final long windowNanos;
+    private final BlockingQueue<Call> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    /**
+     * @param connection  a connection used by nothing else
+     * @param windowNanos how long calls are collected before a batch is sent
+     */
+    RedisCallBatcher(StatefulRedisConnection<String, String> connection, long windowNanos) {
+        this.connection = connection;
+        this.commands = connection.async();
+        this.windowNanos = windowNanos;
+        connection.setAutoFlushCommands(false);
+        this.flusher = new Thread(this::run, "rate-limiter-redis-batcher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues a script call for the next batch.
+     *
+     * @return a future of the script's reply, or of this caller's share of a merged acquire
+     */
+    CompletableFuture<List<Long>> submit(RedisRateLimitScript script, String key, String[] args) {
+        return enqueue(new Call(script, key, args, false));
+    }
+
+    /**
+     * Stops sending batches and closes the connection; calls still queued are
+     * failed.
+     */
+    void close() {
+        running = false;
+        flusher.interrupt();
+        IllegalStateException closed = new IllegalStateException("Redis call batcher is closed");
+        for (Call call = queue.poll(); call != null; call = queue.poll()) {
+            call.reply.completeExceptionally(closed);
+        }
+        connection.close();
+    }
+
+    private CompletableFuture<List<Long>> enqueue(Call call) {
+        if (!running) {
+            call.reply.completeExceptionally(new IllegalStateException("Redis call batcher is closed"));
+        } else {
+            queue.add(call);
+        }
+        return call.reply;
+    }
+
+    private void run() {
+        List<Call> batch = new ArrayList<>();
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            LockSupport.parkNanos(windowNanos);
+            queue.drainTo(batch);
+            try {
+                send(batch);
+            } catch (RuntimeException e) {
+                logger.warn("{} - msg=[Redis batch failed], calls=[{}], error=[{}]",
+                        Constants.LOG_PREFIX, batch.size(), e.toString());
+                batch.forEach(call -> call.reply.completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes one command per key acquired on and one per other call, in order
+     * of first appearance, then flushes them in one write.
+     */
+    private void send(List<Call> batch) {
+        // Acquires are grouped by key; any other call is a group of its own
+        Map<Object, List<Call>> groups = new LinkedHashMap<>();
+        for (Call call : batch) {
+            if (call.isAcquire()) {
+                groups.computeIfAbsent(call.key, key -> new ArrayList<>()).add(call);
+            } else {
+                groups.put(call, List.of(call));
+            }
+        }
+        for (List<Call> group : groups.values()) {
+            if (group.size() == 1) {
+                Call call = group.get(0);
+                dispatch(call).whenComplete((reply, failure) -> complete(call.reply, reply, failure));
+            } else {
+                dispatch(merge(group)).whenComplete((reply, failure) -> share(group, reply, failure));
+            }
+        }
+        connection.flushCommands();
+    }
+
+    private CompletionStage<List<Long>> dispatch(Call call) {
+        String[] keys = { call.key };
+        if (call.bySource) {
+            return commands.eval(call.script.getSource(), ScriptOutputType.MULTI, keys, call.args);
+        }
+        // A server that lost its script cache gets the source in the next batch
+        return commands.<List<Long>>evalsha(call.script.getSha(), ScriptOutputType.MULTI, keys, call.args)
+                .exceptionallyCompose(failure -> cause(failure) instanceof RedisNoScriptException
+                        ? enqueue(new Call(call.script, call.key, call.args, true))
+                        : CompletableFuture.failedStage(failure));
+    }
+
+    /**
+     * One acquire for every permit the group asks for, at the latest time any
+     * of them was made.
+     */
+    private static Call merge(List<Call> group) {
+        String[] args = group.get(0).args.clone();
+        long now = 0;
+        long permits = 0;
+        for (Call call : group) {
+            now = Math.max(now, Long.parseLong(call.args[1]));
+            permits += call.permits();
+        }
+        args[1] = Long.toString(now);
+        args[2] = Long.toString(permits);
+        return new Call(group.get(0).script, group.get(0).key, args, false);
+    }
+
+    /**
+     * Hands a merged acquire's permits to its callers in arrival order, each
+     * seeing as remaining what is left for the callers after it.
+     */
+    private void share(List<Call> group, List<Long> reply, Throwable failure) {
+        if (failure != null) {
+            group.forEach(call -> call.reply.completeExceptionally(failure));
+            return;
+        }
+        long granted = reply.get(0);
+        if (granted == 0) {
+            group.forEach(call -> call.reply.complete(reply));
+            return;
+        }
+        long left = granted;
+        for (Call call : group) {
+            if (left == 0) {
+                enqueue(call);
+                continue;
+            }
+            long share = Math.min(call.permits(), left);
+            left -= share;
+            call.reply.complete(List.of(share, reply.get(1) + left, reply.get(2), reply.get(3)));
+        }
+    }
+
+    private static void complete(CompletableFuture<List<Long>> future, List<Long> reply, Throwable failure) {
+        if (failure != null) {
+            future.completeExceptionally(failure);
+        } else {
+            future.complete(reply);
+        }
+    }
+
+    private static Throwable cause(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private static final class Call {
+
+        private final RedisRateLimitScript script;
+        private final String key;
+        private final String[] args;
+        // Sent with EVAL, after the server answered that it did not have the script
+        private final boolean bySource;
+        private final CompletableFuture<List<Long>> reply = new CompletableFuture<>();
+
+        private Call(RedisRateLimitScript script, String key, String[] args, boolean bySource) {
+            this.script = script;
+            this.key = key;
+            this.args = args;
+            this.bySource = bySource;
+        }
+
+        boolean isAcquire() {
+            return !bySource && RedisRateLimitScript.ACQUIRE.equals(args[0]);
+        }
+
+        long permits() {
+            return Long.parseLong(args[2]);
+        }
+    }
+}
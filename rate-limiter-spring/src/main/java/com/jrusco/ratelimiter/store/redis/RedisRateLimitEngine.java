@@ -0,0 +1,234 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.enums.RateLimitAlgorithm;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.util.Constants;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A rate limiting algorithm whose per-key state lives in Redis, so every node
+ * sharing the server enforces one limit. Each decision is a single
+ * {@link RedisRateLimitScript} call that makes the same decision as the
+ * in-process engine of the same algorithm; limits are passed with every call,
+ * so nodes can be reconfigured one at a time.
+ *
+ * <p>Keys expire in Redis once they read the same as a new key, so the engine
+ * holds no local records and is not registered for idle key expiry. Fixed
+ * window keys are never striped, as Redis already serializes their updates.
+ */
+public class RedisRateLimitEngine implements RemoteRateLimitEngine {
+
+    private static final long MICROS_PER_MILLI = 1_000L;
+
+    private final RateLimitAlgorithm algorithm;
+    private final RedisRateLimitScript script;
+    private final long[] limits;
+    private final long[] windowMillis;
+    private final String[] limitArgs;
+    private final String namespace;
+    private final RedisScriptStore store;
+
+    private RedisRateLimitEngine(RateLimitAlgorithm algorithm, RedisRateLimitScript script, long[] limits,
+            long[] windowMillis, RedisScriptStore store, long... limitArgs) {
+        this.algorithm = algorithm;
+        this.script = script;
+        this.limits = limits;
+        this.windowMillis = windowMillis;
+        this.limitArgs = new String[limitArgs.length];
+        for (int i = 0; i < limitArgs.length; i++) {
+            this.limitArgs[i] = Long.toString(limitArgs[i]);
+        }
+        this.namespace = algorithm.name().toLowerCase(Locale.ROOT);
+        this.store = store;
+    }
+
+    /**
+     * @see com.jrusco.ratelimiter.algorithm.TokenBucketEngine
+     */
+    public static RedisRateLimitEngine tokenBucket(long capacity, long refillPerMinute, RedisScriptStore store) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (refillPerMinute < 1) {
+            throw new IllegalArgumentException("Refill rate must be positive");
+        }
+        return new RedisRateLimitEngine(RateLimitAlgorithm.TOKEN_BUCKET, RedisRateLimitScript.TOKEN_BUCKET,
+                new long[] { capacity }, new long[] { 0 }, store, capacity, refillPerMinute);
+    }
+
+    /**
+     * @see com.jrusco.ratelimiter.algorithm.FixedWindowEngine
+     */
+    public static RedisRateLimitEngine fixedWindow(long limit, RedisScriptStore store) {
+        requirePositiveLimit(limit);
+        return new RedisRateLimitEngine(RateLimitAlgorithm.FIXED_WINDOW, RedisRateLimitScript.FIXED_WINDOW,
+                new long[] { limit }, new long[] { 0 }, store, limit, Constants.MILLIS_PER_MINUTE);
+    }
+
+    /**
+     * @see com.jrusco.ratelimiter.algorithm.SlidingWindowEngine
+     */
+    public static RedisRateLimitEngine slidingWindow(long limit, RedisScriptStore store) {
+        requirePositiveLimit(limit);
+        return new RedisRateLimitEngine(RateLimitAlgorithm.SLIDING_WINDOW, RedisRateLimitScript.SLIDING_WINDOW,
+                new long[] { limit }, new long[] { 0 }, store, limit, Constants.MILLIS_PER_MINUTE);
+    }
+
+    /**
+     * @see com.jrusco.ratelimiter.algorithm.SlidingWindowCounterEngine
+     */
+    public static RedisRateLimitEngine slidingWindowCounter(long limit, RedisScriptStore store) {
+        requirePositiveLimit(limit);
+        return new RedisRateLimitEngine(RateLimitAlgorithm.SLIDING_WINDOW_COUNTER,
+                RedisRateLimitScript.SLIDING_WINDOW_COUNTER, new long[] { limit }, new long[] { 0 }, store,
+                limit, Constants.MILLIS_PER_MINUTE);
+    }
+
+    /**
+     * @see com.jrusco.ratelimiter.algorithm.GcraEngine
+     */
+    public static RedisRateLimitEngine gcra(long burst, long ratePerMinute, RedisScriptStore store) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be positive");
+        }
+        if (ratePerMinute < 1) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        long emissionIntervalMicros = Constants.MILLIS_PER_MINUTE * MICROS_PER_MILLI / ratePerMinute;
+        return new RedisRateLimitEngine(RateLimitAlgorithm.GCRA, RedisRateLimitScript.GCRA,
+                new long[] { burst }, new long[] { 0 }, store, emissionIntervalMicros, burst * emissionIntervalMicros);
+    }
+
+    /**
+     * @see com.jrusco.ratelimiter.algorithm.MultiTierEngine
+     */
+    public static RedisRateLimitEngine multiTier(long[] limits, long[] windowMillis, RedisScriptStore store) {
+        if (limits.length != windowMillis.length) {
+            throw new IllegalArgumentException("Each tier needs both a limit and a window");
+        }
+        long[] args = new long[2 * limits.length];
+        for (int tier = 0; tier < limits.length; tier++) {
+            requirePositiveLimit(limits[tier]);
+            if (tier > 0 && windowMillis[tier] <= windowMillis[tier - 1]) {
+                throw new IllegalArgumentException("Tier windows must be in increasing order");
+            }
+            args[2 * tier] = limits[tier];
+            args[2 * tier + 1] = windowMillis[tier];
+        }
+        return new RedisRateLimitEngine(RateLimitAlgorithm.MULTI_TIER, RedisRateLimitScript.SLIDING_WINDOW_COUNTER,
+                limits.clone(), windowMillis.clone(), store, args);
+    }
+
+    @Override
+    public RateLimitAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public long getLimit() {
+        return limits[0];
+    }
+
+    @Override
+    public int getTierCount() {
+        return limits.length;
+    }
+
+    @Override
+    public long getLimit(int tier) {
+        return limits[tier];
+    }
+
+    @Override
+    public long getTierWindowMillis(int tier) {
+        return windowMillis[tier];
+    }
+
+    /**
+     * State is held by Redis, not by this process.
+     */
+    @Override
+    public long getStateBytesPerKey() {
+        return 0;
+    }
+
+    /**
+     * Waits for {@link #tryAcquireAsync}; the store's timeout bounds the wait.
+     */
+    @Override
+    public long tryAcquire(RateLimitType type, long keyHash, long nowMillis) {
+        return tryAcquireAsync(type, keyHash, nowMillis).join();
+    }
+
+    @Override
+    public CompletableFuture<Long> tryAcquireAsync(RateLimitType type, long keyHash, long nowMillis) {
+        return store.evaluate(script, key(keyHash), args(RedisRateLimitScript.ACQUIRE, nowMillis, 1), getLimit());
+    }
+
+    @Override
+    public void release(RateLimitType type, long keyHash, long nowMillis) {
+        store.execute(script, key(keyHash), args(RedisRateLimitScript.RELEASE, nowMillis, 1)).join();
+    }
+
+    /**
+     * Takes up to {@code permits} permits for one key in a single call.
+     *
+     * @return a future of the script's {@code {permits granted, remaining, delay ms, tier}}
+     *         reply, failed if Redis did not answer in time
+     */
+    CompletableFuture<List<Long>> lease(long keyHash, long permits, long nowMillis) {
+        return store.call(script, key(keyHash), args(RedisRateLimitScript.ACQUIRE, nowMillis, permits));
+    }
+
+    /**
+     * Gives back permits taken by {@link #lease} at {@code leasedAtMillis}
+     * without waiting for Redis. Window algorithms drop permits whose window
+     * has since ended, and the sliding window log only drops entries logged at
+     * {@code leasedAtMillis}, so admissions made since by other nodes stay.
+     */
+    void giveBack(long keyHash, long permits, long leasedAtMillis) {
+        store.execute(script, key(keyHash), args(RedisRateLimitScript.RELEASE, leasedAtMillis, permits));
+    }
+
+    /**
+     * The decision the store's failure policy makes for a failed {@link #lease}.
+     */
+    long onFailure(Throwable failure, long keyHash) {
+        return store.onFailure(failure, key(keyHash), getLimit());
+    }
+
+    /**
+     * Redis expires keys itself, so there are no local records to go idle.
+     */
+    @Override
+    public long idleAtMillis(long slot, long nowMillis) {
+        return nowMillis;
+    }
+
+    @Override
+    public long getMaxIdleMillis() {
+        return 0;
+    }
+
+    private String key(long keyHash) {
+        return store.key(namespace, keyHash);
+    }
+
+    private String[] args(String operation, long nowMillis, long permits) {
+        String[] args = new String[limitArgs.length + 3];
+        args[0] = operation;
+        args[1] = Long.toString(nowMillis);
+        args[2] = Long.toString(permits);
+        System.arraycopy(limitArgs, 0, args, 3, limitArgs.length);
+        return args;
+    }
+
+    private static void requirePositiveLimit(long limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Lua scripts that run an engine's whole read-modify-write inside Redis, so a
+ * decision is one round trip and needs no locks or retries. Each script ports
+ * the arithmetic of its in-process engine and returns
+ * {@code {permits granted, remaining, delay ms, tier}}. An acquire may ask for
+ * several permits and is granted as many as the limit has left, at least one,
+ * or denied; a release gives back the given number of permits.
+ */
+public enum RedisRateLimitScript {
+
+    TOKEN_BUCKET("token_bucket.lua"),
+    FIXED_WINDOW("fixed_window.lua"),
+    SLIDING_WINDOW("sliding_window.lua"),
+    // One or more tiers, shared by the sliding window counter and multi-tier engines
+    SLIDING_WINDOW_COUNTER("sliding_window_counter.lua"),
+    GCRA("gcra.lua");
+
+    static final String ACQUIRE = "acquire";
+    static final String RELEASE = "release";
+
+    private final String source;
+    private final String sha;
+
+    RedisRateLimitScript(String resource) {
+        this.source = load(resource);
+        this.sha = sha1Hex(source);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * The digest Redis caches the script under, for {@code EVALSHA}.
+     */
+    public String getSha() {
+        return sha;
+    }
+
+    private static String load(String resource) {
+        try (InputStream in = RedisRateLimitScript.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing Redis script: " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read Redis script: " + resource, e);
+        }
+    }
+
+    private static String sha1Hex(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+}
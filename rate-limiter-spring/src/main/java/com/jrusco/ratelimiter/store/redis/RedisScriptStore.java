@@ -0,0 +1,164 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.util.Constants;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link RedisRateLimitScript}s against one Redis connection shared by
+ * every engine. Scripts are called by digest; a server that has not cached a
+ * script yet, e.g. after a restart, gets the source once and caches it.
+ *
+ * <p>Calls never block: the connection pipelines commands from all callers
+ * and completes them on its I/O thread. A call that fails or outlasts the
+ * timeout completes with the failure decision instead, which admits the
+ * request when failing open and denies it for a second otherwise.
+ *
+ * <p>With a batch window, calls go through a {@link RedisCallBatcher} instead,
+ * which sends the calls of each window in one write and merges acquires on
+ * the same key; the store then needs a connection of its own.
+ */
+public class RedisScriptStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisScriptStore.class);
+
+    private final RedisAsyncCommands<String, String> commands;
+    private final String keyPrefix;
+    private final long timeoutMillis;
+    private final boolean failOpen;
+    private final RedisCallBatcher batcher;
+
+    /**
+     * @param commands  async commands of the shared connection
+     * @param keyPrefix prepended to every key
+     * @param timeout   longest a call may take before the failure decision applies
+     * @param failOpen  whether requests are admitted while Redis cannot answer
+     */
+    public RedisScriptStore(RedisAsyncCommands<String, String> commands, String keyPrefix, Duration timeout,
+            boolean failOpen) {
+        this(commands, keyPrefix, timeout, failOpen, null);
+    }
+
+    /**
+     * Sends calls through a {@link RedisCallBatcher}.
+     *
+     * @param connection  a connection used by nothing else; the batcher
+     *                    controls when it flushes, and closes it on
+     *                    {@link #close()}
+     * @param batchWindow how long calls are collected and sent together
+     */
+    public RedisScriptStore(StatefulRedisConnection<String, String> connection, String keyPrefix, Duration timeout,
+            boolean failOpen, Duration batchWindow) {
+        this(connection.async(), keyPrefix, timeout, failOpen, new RedisCallBatcher(connection, positive(batchWindow)));
+    }
+
+    private RedisScriptStore(RedisAsyncCommands<String, String> commands, String keyPrefix, Duration timeout,
+            boolean failOpen, RedisCallBatcher batcher) {
+        this.commands = commands;
+        this.keyPrefix = keyPrefix;
+        this.timeoutMillis = timeout.toMillis();
+        this.failOpen = failOpen;
+        this.batcher = batcher;
+    }
+
+    /**
+     * Stops the batcher and closes its connection, if any; the shared
+     * connection is closed by its owner.
+     */
+    public void close() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    /**
+     * The Redis key holding the state of one key of one algorithm.
+     */
+    String key(String namespace, long keyHash) {
+        return keyPrefix + namespace + ':' + Long.toHexString(keyHash);
+    }
+
+    /**
+     * Runs a script on one key and completes with the packed decision.
+     *
+     * @param limit permits reported if the call fails open
+     */
+    CompletableFuture<Long> evaluate(RedisRateLimitScript script, String key, String[] args, long limit) {
+        return call(script, key, args)
+                .thenApply(RedisScriptStore::toDecision)
+                .exceptionally(failure -> onFailure(failure, key, limit));
+    }
+
+    /**
+     * Runs a script on one key for its side effect only.
+     */
+    CompletableFuture<Void> execute(RedisRateLimitScript script, String key, String[] args) {
+        return call(script, key, args)
+                .<Void>thenApply(reply -> null)
+                .exceptionally(failure -> {
+                    logger.warn("{} - msg=[Redis script call failed], key=[{}], error=[{}]",
+                            Constants.LOG_PREFIX, key, cause(failure).toString());
+                    return null;
+                });
+    }
+
+    /**
+     * Runs a script on one key and completes with its raw reply, or with the
+     * failure if Redis does not answer in time.
+     */
+    CompletableFuture<List<Long>> call(RedisRateLimitScript script, String key, String[] args) {
+        if (batcher != null) {
+            return batcher.submit(script, key, args).orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        String[] keys = { key };
+        return commands.<List<Long>>evalsha(script.getSha(), ScriptOutputType.MULTI, keys, args)
+                .exceptionallyCompose(failure -> cause(failure) instanceof RedisNoScriptException
+                        ? commands.<List<Long>>eval(script.getSource(), ScriptOutputType.MULTI, keys, args)
+                        : CompletableFuture.failedStage(failure))
+                .toCompletableFuture()
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Logs a failed call and returns the decision the failure policy makes.
+     */
+    long onFailure(Throwable failure, String key, long limit) {
+        logger.warn("{} - msg=[Redis store unavailable], key=[{}], failOpen=[{}], error=[{}]",
+                Constants.LOG_PREFIX, key, failOpen, cause(failure).toString());
+        return failOpen
+                ? RateLimitDecision.allow(limit, 0)
+                : RateLimitDecision.deny(Constants.MILLIS_PER_SECOND);
+    }
+
+    /**
+     * Packs a script's {@code {permits granted, remaining, delay ms, tier}} reply.
+     */
+    static long toDecision(List<Long> reply) {
+        long decision = reply.get(0) > 0
+                ? RateLimitDecision.allow(reply.get(1), reply.get(2))
+                : RateLimitDecision.deny(reply.get(2));
+        return RateLimitDecision.withTier(decision, reply.get(3).intValue());
+    }
+
+    private static long positive(Duration batchWindow) {
+        if (batchWindow.isNegative() || batchWindow.isZero()) {
+            throw new IllegalArgumentException("Batch window must be positive");
+        }
+        return batchWindow.toNanos();
+    }
+
+    private static Throwable cause(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+}
@@ -0,0 +1,41 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An engine whose decisions may wait on another server, and which can
+ * therefore also decide without blocking the caller.
+ */
+public interface RemoteRateLimitEngine extends RateLimitEngine {
+
+    /**
+     * Attempts to consume one permit for the given key without blocking.
+     *
+     * @return a future of a decision packed by {@link com.jrusco.ratelimiter.algorithm.RateLimitDecision}
+     */
+    CompletableFuture<Long> tryAcquireAsync(RateLimitType type, long keyHash, long nowMillis);
+
+    /**
+     * The engine this one hands decisions to, or {@code null} if it makes its own.
+     */
+    default RemoteRateLimitEngine getDelegate() {
+        return null;
+    }
+
+    /**
+     * Finds the engine of the given class among {@code engine} and the
+     * engines it hands decisions to.
+     *
+     * @return the engine found, or {@code null} if there is none
+     */
+    static <T extends RemoteRateLimitEngine> T find(RateLimitEngine engine, Class<T> type) {
+        RemoteRateLimitEngine current = engine instanceof RemoteRateLimitEngine remote ? remote : null;
+        while (current != null && !type.isInstance(current)) {
+            current = current.getDelegate();
+        }
+        return type.cast(current);
+    }
+}
@@ -0,0 +1,284 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts a node's admissions locally and pushes them to Redis as deltas, so
+ * requests on keys of a synced type are decided in memory. Each key's first
+ * request is decided by Redis, and what Redis reports as remaining is then
+ * spent locally; {@link #sync(long)} pushes the admissions made since the
+ * last push in one script call per key and takes the remaining count the
+ * other nodes' pushes have left. A key that runs out of local room pushes
+ * at once rather than waiting for the next sync, and is decided by Redis
+ * per request while Redis has nothing left for it.
+ *
+ * <p>Nodes only see each other's admissions when they push, so together they
+ * may admit more than the limit: each node admits at most its bound per key
+ * before its count reaches Redis, and the limit is exceeded by at most the
+ * sum of the nodes' bounds. Keys with no admissions since the last sync are
+ * dropped, so a quiet key asks Redis again on its next request. Types
+ * without a bound are decided by the delegate.
+ */
+public class SyncingRateLimitEngine extends ForwardingRateLimitEngine {
+
+    private final RedisRateLimitEngine remote;
+    private final long[] bounds;
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final LongAdder overAdmitted = new LongAdder();
+
+    /**
+     * @param delegate engine deciding the types that are not synced
+     * @param remote   engine that pushes synced admissions to Redis
+     * @param bounds   admissions per key a node may make before they reach
+     *                 Redis, per key type; absent or zero bounds are not synced
+     */
+    public SyncingRateLimitEngine(RemoteRateLimitEngine delegate, RedisRateLimitEngine remote,
+            Map<RateLimitType, Long> bounds) {
+        super(delegate);
+        this.remote = remote;
+        this.bounds = new long[RateLimitType.values().length];
+        bounds.forEach((type, bound) -> {
+            if (bound < 0) {
+                throw new IllegalArgumentException("Sync bound must not be negative");
+            }
+            this.bounds[type.ordinal()] = bound;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> tryAcquireAsync(RateLimitType type, long keyHash, long nowMillis) {
+        long bound = bounds[type.ordinal()];
+        if (bound == 0) {
+            return delegate.tryAcquireAsync(type, keyHash, nowMillis);
+        }
+        Counter counter = counters.get(keyHash);
+        if (counter == null || counter.isRetired()) {
+            return join(type, keyHash, bound, nowMillis);
+        }
+        long decision = counter.take(nowMillis);
+        if (decision != NO_PERMIT) {
+            return CompletableFuture.completedFuture(decision);
+        }
+        return push(keyHash, counter, nowMillis).thenCompose(pushed -> {
+            long retried = counter.take(nowMillis);
+            return retried != NO_PERMIT
+                    ? CompletableFuture.completedFuture(retried)
+                    : remote.tryAcquireAsync(type, keyHash, nowMillis);
+        });
+    }
+
+    /**
+     * Takes back an admission not yet pushed, else gives the permit back to
+     * Redis.
+     */
+    @Override
+    public void release(RateLimitType type, long keyHash, long nowMillis) {
+        if (bounds[type.ordinal()] == 0) {
+            delegate.release(type, keyHash, nowMillis);
+            return;
+        }
+        Counter counter = counters.get(keyHash);
+        if (counter == null || !counter.giveBack()) {
+            remote.release(type, keyHash, nowMillis);
+        }
+    }
+
+    /**
+     * Pushes every key's admissions since its last push to Redis and drops
+     * the keys that had none, returning once Redis has answered the pushes;
+     * the store's timeout bounds the wait. Pushes that fail are retried by
+     * the next sync.
+     *
+     * @return the number of admissions pushed
+     */
+    public long sync(long nowMillis) {
+        long pushed = 0;
+        List<CompletableFuture<Void>> pushes = new ArrayList<>();
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            long unsynced = counter.unsynced();
+            if (unsynced > 0) {
+                pushed += unsynced;
+                pushes.add(push(entry.getKey(), counter, nowMillis));
+            } else if (counter.retire()) {
+                counters.remove(entry.getKey(), counter);
+            }
+        }
+        CompletableFuture.allOf(pushes.toArray(CompletableFuture[]::new)).join();
+        return pushed;
+    }
+
+    /**
+     * Keys counted locally since the last sync.
+     */
+    public int syncedKeys() {
+        return counters.size();
+    }
+
+    /**
+     * Admissions made locally that Redis had no room for when they were
+     * pushed, which is how far the nodes together went past the limit.
+     */
+    public long overAdmitted() {
+        return overAdmitted.sum();
+    }
+
+    /**
+     * Decides a key's first request in Redis and starts counting it locally
+     * from what Redis has left.
+     */
+    private CompletableFuture<Long> join(RateLimitType type, long keyHash, long bound, long nowMillis) {
+        return remote.tryAcquireAsync(type, keyHash, nowMillis).thenApply(decision -> {
+            if (RateLimitDecision.isAllowed(decision)) {
+                View view = new View(0, RateLimitDecision.remaining(decision),
+                        nowMillis + RateLimitDecision.resetAfterMillis(decision), RateLimitDecision.tier(decision),
+                        bound);
+                counters.compute(keyHash, (key, current) ->
+                        current == null || current.isRetired() ? new Counter(bound, view) : current);
+            }
+            return decision;
+        });
+    }
+
+    /**
+     * Sends a key's admissions since its last push as one acquire. Only one
+     * push per key is in flight; other callers wait for it.
+     */
+    private CompletableFuture<Void> push(long keyHash, Counter counter, long nowMillis) {
+        CompletableFuture<Void> next = new CompletableFuture<>();
+        if (!counter.pushing.compareAndSet(null, next)) {
+            CompletableFuture<Void> current = counter.pushing.get();
+            return current != null ? current : CompletableFuture.completedFuture(null);
+        }
+        View view = counter.view;
+        long admitted = counter.admitted.get();
+        long delta = admitted - view.basis;
+        if (delta <= 0) {
+            counter.pushing.set(null);
+            next.complete(null);
+            return next;
+        }
+        remote.lease(keyHash, delta, nowMillis).whenComplete((reply, failure) -> {
+            if (failure != null) {
+                // The admissions stay unpushed; callers without room go to Redis meanwhile
+                remote.onFailure(failure, keyHash);
+            } else {
+                long granted = reply.get(0);
+                if (granted < delta) {
+                    overAdmitted.add(delta - granted);
+                }
+                counter.view = View.pushed(admitted, reply, nowMillis, counter.bound);
+            }
+            counter.pushing.set(null);
+            next.complete(null);
+        });
+        return next;
+    }
+
+    /**
+     * One key's local admissions, counted against what Redis last reported.
+     */
+    private static final class Counter {
+
+        // Admissions are never taken from a counter that sync has dropped
+        private static final long RETIRED = Long.MIN_VALUE;
+
+        private final long bound;
+        // Every admission this node has made on the key while the counter lived
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicReference<CompletableFuture<Void>> pushing = new AtomicReference<>();
+        private volatile View view;
+
+        private Counter(long bound, View view) {
+            this.bound = bound;
+            this.view = view;
+        }
+
+        /**
+         * Admits one request if the key has local room left, reporting as
+         * remaining what Redis had left less what this node has admitted since.
+         *
+         * @return the packed decision, or {@link #NO_PERMIT} if there is no room left
+         */
+        long take(long nowMillis) {
+            View current = view;
+            long count;
+            do {
+                count = admitted.get();
+                if (count == RETIRED || count - current.basis >= current.room) {
+                    return NO_PERMIT;
+                }
+            } while (!admitted.compareAndSet(count, count + 1));
+            long remaining = Math.max(0, current.sharedRemaining - (count + 1 - current.basis));
+            long decision = RateLimitDecision.allow(remaining, Math.max(0, current.resetAtMillis - nowMillis));
+            return RateLimitDecision.withTier(decision, current.tier);
+        }
+
+        /**
+         * Takes back one admission that has not been pushed yet. While a push
+         * is in flight its admissions are already on their way to Redis.
+         */
+        boolean giveBack() {
+            long count;
+            do {
+                count = admitted.get();
+                if (count == RETIRED || count <= view.basis || pushing.get() != null) {
+                    return false;
+                }
+            } while (!admitted.compareAndSet(count, count - 1));
+            return true;
+        }
+
+        long unsynced() {
+            long count = admitted.get();
+            return count == RETIRED ? 0 : count - view.basis;
+        }
+
+        boolean retire() {
+            long count = admitted.get();
+            return count == view.basis && pushing.get() == null && admitted.compareAndSet(count, RETIRED);
+        }
+
+        boolean isRetired() {
+            return admitted.get() == RETIRED;
+        }
+    }
+
+    /**
+     * What Redis reported for a key after the node's admissions up to
+     * {@code basis} were counted.
+     */
+    private static final class View {
+
+        private final long basis;
+        private final long sharedRemaining;
+        private final long resetAtMillis;
+        private final int tier;
+        // Admissions past basis this node may make before pushing
+        private final long room;
+
+        private View(long basis, long sharedRemaining, long resetAtMillis, int tier, long bound) {
+            this.basis = basis;
+            this.sharedRemaining = sharedRemaining;
+            this.resetAtMillis = resetAtMillis;
+            this.tier = tier;
+            this.room = Math.min(sharedRemaining, bound);
+        }
+
+        static View pushed(long basis, List<Long> reply, long nowMillis, long bound) {
+            // A push Redis refused leaves no room, and its delay is a retry time rather than a reset
+            long sharedRemaining = reply.get(0) > 0 ? reply.get(1) : 0;
+            return new View(basis, sharedRemaining, nowMillis + reply.get(2), reply.get(3).intValue(), bound);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.jrusco.ratelimiter.util;
+
+import com.jrusco.ratelimiter.dto.RateLimitCheckResponse;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Writes a rate limit decision as {@code X-RateLimit-*} and
+ * {@code Retry-After} response headers. The reset time is sent in epoch
+ * seconds and the retry delay in whole seconds, rounded up. Takes a header
+ * setter so servlet and reactive responses share the same mapping.
+ */
+public final class RateLimitHeaders {
+
+    private RateLimitHeaders() {
+        // Utility class, prevent instantiation
+    }
+
+    public static void write(BiConsumer<String, String> setHeader, RateLimitCheckResponse decision) {
+        if (decision.getRateLimitLimit() != null) {
+            setHeader.accept(Constants.HEADER_RATE_LIMIT_LIMIT, String.valueOf(decision.getRateLimitLimit()));
+        }
+        if (decision.getRateLimitRemaining() != null) {
+            setHeader.accept(Constants.HEADER_RATE_LIMIT_REMAINING, String.valueOf(decision.getRateLimitRemaining()));
+        }
+        if (decision.getRateLimitReset() != null) {
+            long resetSeconds = (decision.getRateLimitReset() + Constants.MILLIS_PER_SECOND - 1) / Constants.MILLIS_PER_SECOND;
+            setHeader.accept(Constants.HEADER_RATE_LIMIT_RESET, String.valueOf(resetSeconds));
+        }
+        if (!decision.isAllowed() && decision.getRetryAfter() != null) {
+            setHeader.accept(Constants.HEADER_RETRY_AFTER, String.valueOf(decision.getRetryAfter()));
+        }
+    }
+}
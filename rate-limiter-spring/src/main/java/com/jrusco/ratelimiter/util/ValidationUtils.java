@@ -0,0 +1,370 @@
+package com.jrusco.ratelimiter.util;
+
+import com.jrusco.ratelimiter.config.RateLimiterConfig;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+
+@Component
+public class ValidationUtils {
+
+    // Flag bits of the IP range trie
+    private static final int PRIVATE = 1;
+    private static final int TRUSTED_PROXY = 2;
+
+    // Non-public ranges: RFC 1918, loopback, link-local, carrier-grade NAT and IPv6 unique local
+    private static final List<String> PRIVATE_RANGES = List.of("10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16",
+            "127.0.0.0/8", "169.254.0.0/16", "100.64.0.0/10", "::1/128", "fe80::/10", "fc00::/7");
+
+    private static final int MAX_USER_ID_LENGTH = 255;
+    private static final int MAX_API_KEY_LENGTH = 128;
+    private static final int MAX_ENDPOINT_LENGTH = 255;
+
+    // Character classes of the ASCII range, looked up instead of running a regex
+    private static final byte IDENTIFIER_CHAR = 1; // alphanumeric, dot, underscore, dash
+    private static final byte PATH_CHAR = 2;       // identifier characters and slash
+    private static final byte[] CHAR_CLASSES = new byte[128];
+
+    static {
+        for (char c = 0; c < 128; c++) {
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '_' || c == '-') {
+                CHAR_CLASSES[c] = IDENTIFIER_CHAR | PATH_CHAR;
+            }
+        }
+        CHAR_CLASSES['/'] = PATH_CHAR;
+    }
+
+    @Autowired
+    private RateLimiterConfig rateLimiterConfig;
+
+    // Built from the configuration defaults until the configured ranges are loaded
+    private volatile IpRanges ipRanges = new IpRanges(new RateLimiterConfig.Security());
+
+    @PostConstruct
+    void loadIpRanges() {
+        ipRanges = new IpRanges(rateLimiterConfig.getSecurity());
+    }
+
+    /**
+     * Validates if the given string is a valid IP address (IPv4 or IPv6).
+     *
+     * @param ip the IP address to validate
+     * @return true if valid, false otherwise
+     */
+    public boolean isValidIpAddress(String ip) {
+        // Literals only; never resolves host names
+        return IpAddressUtils.isValid(ip);
+    }
+
+    /**
+     * Checks whether an IP literal is in a non-public range: RFC 1918,
+     * loopback, link-local, carrier-grade NAT or IPv6 unique local.
+     *
+     * @param ip the IP address to classify
+     * @return true if the IP is a valid literal in a private range, false otherwise
+     */
+    public boolean isPrivateAddress(String ip) {
+        long[] address = new long[2];
+        return IpAddressUtils.parse(ip, address) && (ipRanges.flags(address) & PRIVATE) != 0;
+    }
+
+    /**
+     * Validates if the given string is a valid user ID.
+     *
+     * @param userId the user ID to validate
+     * @return true if valid, false otherwise
+     */
+    public boolean isValidUserId(String userId) {
+        return matches(userId, 0, MAX_USER_ID_LENGTH, IDENTIFIER_CHAR);
+    }
+
+    /**
+     * Validates if the given string is a valid API key.
+     *
+     * @param apiKey the API key to validate
+     * @return true if valid, false otherwise
+     */
+    public boolean isValidApiKey(String apiKey) {
+        return matches(apiKey, 0, MAX_API_KEY_LENGTH, IDENTIFIER_CHAR);
+    }
+
+    /**
+     * Validates if the given string is a valid endpoint path.
+     *
+     * @param endpoint the endpoint to validate
+     * @return true if valid, false otherwise
+     */
+    public boolean isValidEndpoint(String endpoint) {
+        return endpoint != null && !endpoint.isEmpty() && endpoint.charAt(0) == '/'
+                && matches(endpoint, 1, MAX_ENDPOINT_LENGTH, PATH_CHAR);
+    }
+
+    /**
+     * Validates an identifier for its rate limit type and hashes it into its
+     * limiter key in the same pass over its characters. IP addresses are
+     * hashed in packed form, see {@link #resolveClientKey(String, long[])}.
+     *
+     * @param type       the rate limit dimension
+     * @param identifier the key within that dimension
+     * @param address    scratch space for a packed IP address
+     * @return the key hash, see {@link KeyHasher}
+     * @throws IllegalArgumentException if the identifier is not valid for the type
+     */
+    public long keyHash(RateLimitType type, String identifier, long[] address) {
+        if (type == null) {
+            throw new IllegalArgumentException("Rate limit type is required");
+        }
+        switch (type) {
+            case USER_ID:
+                return hash(type, identifier, 0, MAX_USER_ID_LENGTH, IDENTIFIER_CHAR, "Invalid user ID format");
+            case CLIENT_IP:
+                if (!resolveClientKey(identifier, address)) {
+                    throw new IllegalArgumentException("Invalid IP address format");
+                }
+                return KeyHasher.hash(type, address[IpAddressUtils.HIGH], address[IpAddressUtils.LOW]);
+            case API_KEY:
+                return hash(type, identifier, 0, MAX_API_KEY_LENGTH, IDENTIFIER_CHAR, "Invalid API key format");
+            case ENDPOINT:
+                if (identifier == null || identifier.isEmpty() || identifier.charAt(0) != '/') {
+                    throw new IllegalArgumentException("Invalid endpoint format");
+                }
+                return hash(type, identifier, 1, MAX_ENDPOINT_LENGTH, PATH_CHAR, "Invalid endpoint format");
+            case GLOBAL:
+                // Global doesn't need specific validation
+                if (!isNotNullOrEmpty(identifier)) {
+                    throw new IllegalArgumentException("Identifier is required");
+                }
+                return KeyHasher.hash(type, identifier);
+            default:
+                throw new IllegalArgumentException("Unsupported rate limit type: " + type);
+        }
+    }
+
+    /**
+     * Whether every character from {@code start} on is in the character class
+     * and the value is non-empty and within the length limit.
+     */
+    private static boolean matches(String value, int start, int maxLength, byte charClass) {
+        if (value == null || value.isEmpty() || value.length() > maxLength) {
+            return false;
+        }
+        for (int i = start, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 128 || (CHAR_CLASSES[c] & charClass) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same check as {@link #matches}, hashing the key while the characters
+     * are walked.
+     */
+    private static long hash(RateLimitType type, String value, int start, int maxLength, byte charClass,
+            String message) {
+        if (value == null || value.isEmpty() || value.length() > maxLength) {
+            throw new IllegalArgumentException(message);
+        }
+        long hash = KeyHasher.seed(type);
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (i >= start && (c >= 128 || (CHAR_CLASSES[c] & charClass) == 0)) {
+                throw new IllegalArgumentException(message);
+            }
+            hash = KeyHasher.update(hash, c);
+        }
+        return KeyHasher.finish(hash);
+    }
+
+    /**
+     * Validates if the given string is not null and not empty.
+     *
+     * @param value the value to validate
+     * @return true if valid, false otherwise
+     */
+    public boolean isNotNullOrEmpty(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    /**
+     * Validates if the given string is within the specified length limit.
+     *
+     * @param value     the value to validate
+     * @param maxLength the maximum allowed length
+     * @return true if valid, false otherwise
+     */
+    public boolean isValidLength(String value, int maxLength) {
+        if (value == null) {
+            return false;
+        }
+        return value.length() <= maxLength;
+    }
+
+    /**
+     * Sanitizes a string by removing potentially dangerous characters.
+     *
+     * @param input the input string to sanitize
+     * @return the sanitized string
+     */
+    public String sanitizeString(String input) {
+        if (input == null) {
+            return null;
+        }
+
+        // Remove control characters and potential injection attempts
+        return input.replaceAll("[\\p{Cntrl}&&[^\r\n\t]]", "")
+                .replaceAll("[<>\"'&]", "")
+                .trim();
+    }
+
+    /**
+     * Parses a client IP into the packed form used as its limiter key. If the
+     * address falls in a configured IP range, it is cut to the range's key
+     * prefix so every client of the subnet shares one limit.
+     *
+     * @param ip      the client IP
+     * @param address receives the packed key, see {@link IpAddressUtils}
+     * @return true if the IP is a valid literal, false otherwise
+     */
+    public boolean resolveClientKey(String ip, long[] address) {
+        if (!IpAddressUtils.parse(ip, address)) {
+            return false;
+        }
+        IpRanges ranges = ipRanges;
+        int rule = CidrTrie.rule(ranges.trie.lookup(address[IpAddressUtils.HIGH], address[IpAddressUtils.LOW]));
+        if (rule >= 0) {
+            IpAddressUtils.mask(address, ranges.keyPrefixLengths[rule]);
+        }
+        return true;
+    }
+
+    /**
+     * Extracts the real client IP from request headers, considering proxies.
+     * Forwarding headers are only believed when the peer is a trusted proxy
+     * and the header is one of the trusted headers. X-Forwarded-For is read
+     * from the nearest hop backwards, skipping trusted proxies, and stops at
+     * the first entry that is not an IP literal. A hop that is not a trusted
+     * proxy is returned even if it is private, since anything before it may
+     * have been written by the client.
+     *
+     * @param xForwardedFor the X-Forwarded-For header value
+     * @param xRealIp       the X-Real-IP header value
+     * @param remoteAddr    the remote address from the request
+     * @return the best guess for the real client IP
+     */
+    public String extractRealClientIp(String xForwardedFor, String xRealIp, String remoteAddr) {
+        IpRanges ranges = ipRanges;
+        long[] address = new long[2];
+
+        if (!IpAddressUtils.parse(remoteAddr, address)) {
+            return "unknown";
+        }
+        if ((ranges.flags(address) & TRUSTED_PROXY) == 0) {
+            return remoteAddr;
+        }
+
+        // Try X-Forwarded-For first (can contain multiple IPs), parsing each entry in place
+        if (ranges.trustForwardedFor && xForwardedFor != null) {
+            int end = xForwardedFor.length();
+            while (end >= 0) {
+                int comma = xForwardedFor.lastIndexOf(',', end - 1);
+                int from = comma + 1;
+                int to = end;
+                while (from < to && Character.isWhitespace(xForwardedFor.charAt(from))) {
+                    from++;
+                }
+                while (to > from && Character.isWhitespace(xForwardedFor.charAt(to - 1))) {
+                    to--;
+                }
+                if (!IpAddressUtils.parse(xForwardedFor, from, to, address)) {
+                    break;
+                }
+                if ((ranges.flags(address) & TRUSTED_PROXY) == 0) {
+                    return xForwardedFor.substring(from, to);
+                }
+                end = comma;
+            }
+        }
+
+        // Try X-Real-IP
+        if (ranges.trustRealIp && isValidIpAddress(xRealIp)) {
+            return xRealIp;
+        }
+
+        // Fall back to remote address
+        return remoteAddr;
+    }
+
+    /**
+     * Private ranges, trusted proxies and IP range rules in one prefix trie, so
+     * classifying an address is a single walk.
+     */
+    private static final class IpRanges {
+
+        private final CidrTrie trie = new CidrTrie();
+        private final int[] keyPrefixLengths;
+        private final boolean trustForwardedFor;
+        private final boolean trustRealIp;
+
+        IpRanges(RateLimiterConfig.Security security) {
+            for (String cidr : PRIVATE_RANGES) {
+                trie.insert(cidr, PRIVATE);
+            }
+            for (String cidr : security.getTrustedProxies()) {
+                trie.insert(cidr, TRUSTED_PROXY);
+            }
+
+            List<RateLimiterConfig.IpRange> rules = security.getIpRanges();
+            keyPrefixLengths = new int[rules.size()];
+            long[] network = new long[2];
+            for (int i = 0; i < rules.size(); i++) {
+                RateLimiterConfig.IpRange range = rules.get(i);
+                int prefixLength = IpAddressUtils.parseCidr(range.getCidr(), network);
+                if (prefixLength < 0) {
+                    throw new IllegalArgumentException("Invalid CIDR block: " + range.getCidr());
+                }
+                keyPrefixLengths[i] = keyPrefixLength(range, prefixLength);
+                trie.insert(range.getCidr(), 0, i);
+            }
+
+            trustForwardedFor = containsIgnoreCase(security.getTrustedHeaders(), Constants.HEADER_X_FORWARDED_FOR);
+            trustRealIp = containsIgnoreCase(security.getTrustedHeaders(), Constants.HEADER_X_REAL_IP);
+        }
+
+        int flags(long[] address) {
+            return CidrTrie.flags(trie.lookup(address[IpAddressUtils.HIGH], address[IpAddressUtils.LOW]));
+        }
+
+        /**
+         * The rule's key prefix over all 128 bits; never shorter than the block.
+         */
+        private static int keyPrefixLength(RateLimiterConfig.IpRange range, int prefixLength) {
+            if (range.getKeyPrefixLength() == null) {
+                return prefixLength;
+            }
+            boolean ipv4 = range.getCidr().indexOf(':') < 0;
+            int keyPrefixLength = ipv4
+                    ? IpAddressUtils.IPV4_MAPPED_PREFIX_LENGTH + range.getKeyPrefixLength()
+                    : range.getKeyPrefixLength();
+            if (keyPrefixLength > 128 || (ipv4 && range.getKeyPrefixLength() > 32)) {
+                throw new IllegalArgumentException("Key prefix length is too long for " + range.getCidr());
+            }
+            return Math.max(prefixLength, keyPrefixLength);
+        }
+
+        private static boolean containsIgnoreCase(List<String> values, String value) {
+            for (String candidate : values) {
+                if (candidate.equalsIgnoreCase(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
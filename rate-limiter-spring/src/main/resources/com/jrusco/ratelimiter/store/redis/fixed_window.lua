@@ -0,0 +1,34 @@
+-- Fixed window counter, with the arithmetic of FixedWindowEngine.
+-- KEYS[1]: hash with w = window epoch (epoch ms divided by the window) and c = requests counted in it
+-- ARGV: operation (acquire or release), now in epoch ms, permits, limit, window ms
+-- Returns {permits granted, remaining, delay ms, tier}
+local key = KEYS[1]
+local now = tonumber(ARGV[2])
+local permits = tonumber(ARGV[3])
+local limit = tonumber(ARGV[4])
+local window = tonumber(ARGV[5])
+
+local epoch = math.floor(now / window)
+local reset_after = (epoch + 1) * window - now
+local state = redis.call('HMGET', key, 'w', 'c')
+local count = 0
+if tonumber(state[1]) == epoch then
+    count = tonumber(state[2])
+end
+
+if ARGV[1] == 'release' then
+    -- A window that has already rolled over has nothing to give back
+    if count > 0 then
+        redis.call('HINCRBY', key, 'c', -math.min(count, permits))
+    end
+    return {1, 0, 0, 0}
+end
+
+if count >= limit then
+    return {0, 0, reset_after, 0}
+end
+
+local granted = math.min(permits, limit - count)
+redis.call('HSET', key, 'w', epoch, 'c', count + granted)
+redis.call('PEXPIRE', key, reset_after)
+return {granted, limit - count - granted, reset_after, 0}
@@ -0,0 +1,38 @@
+-- Generic Cell Rate Algorithm, with the arithmetic of GcraEngine.
+-- KEYS[1]: theoretical arrival time (TAT) in epoch microseconds
+-- ARGV: operation (acquire or release), now in epoch ms, permits, emission interval us, burst offset us
+-- Returns {permits granted, remaining, delay ms, tier}
+local key = KEYS[1]
+local now = tonumber(ARGV[2]) * 1000
+local permits = tonumber(ARGV[3])
+local interval = tonumber(ARGV[4])
+local burst_offset = tonumber(ARGV[5])
+
+local function to_millis(micros)
+    return math.floor((micros + 999) / 1000)
+end
+
+local tat = tonumber(redis.call('GET', key) or '0')
+
+if ARGV[1] == 'release' then
+    local ttl = redis.call('PTTL', key)
+    if tat > 0 and ttl > 0 then
+        redis.call('SET', key, tat - permits * interval, 'PX', ttl)
+    end
+    return {1, 0, 0, 0}
+end
+
+-- Each permit moves the TAT on by one interval, and it may run at most burst offset ahead of now
+local base = math.max(tat, now)
+local available = math.floor((now + burst_offset - base) / interval)
+if available < 1 then
+    return {0, 0, to_millis(base + interval - burst_offset - now), 0}
+end
+
+local granted = math.min(permits, available)
+local new_tat = base + granted * interval
+local allow_at = new_tat - burst_offset
+
+-- Once the TAT has passed, a key is indistinguishable from a new one
+redis.call('SET', key, new_tat, 'PX', to_millis(new_tat - now))
+return {granted, math.floor((now - allow_at) / interval), to_millis(new_tat - now), 0}
@@ -0,0 +1,35 @@
+-- Sliding window log, with the arithmetic of SlidingWindowEngine.
+-- KEYS[1]: list of admitted request times in epoch ms, oldest first, at most limit long
+-- ARGV: operation (acquire or release), now in epoch ms, permits, limit, window ms
+-- Returns {permits granted, remaining, delay ms, tier}
+local key = KEYS[1]
+local now = tonumber(ARGV[2])
+local permits = tonumber(ARGV[3])
+local limit = tonumber(ARGV[4])
+local window = tonumber(ARGV[5])
+
+if ARGV[1] == 'release' then
+    -- Only the entries logged at the acquire time, as SlidingWindowEngine gives permits
+    -- back; entries since evicted are not given back and other requests' entries stay
+    redis.call('LREM', key, -permits, now)
+    return {1, 0, 0, 0}
+end
+
+local expired_before = now - window
+local oldest = tonumber(redis.call('LINDEX', key, 0))
+while oldest and oldest <= expired_before do
+    redis.call('LPOP', key)
+    oldest = tonumber(redis.call('LINDEX', key, 0))
+end
+
+local size = redis.call('LLEN', key)
+if size >= limit then
+    return {0, 0, oldest + window - now, 0}
+end
+
+local granted = math.min(permits, limit - size)
+for i = 1, granted do
+    redis.call('RPUSH', key, now)
+end
+redis.call('PEXPIRE', key, window)
+return {granted, limit - size - granted, window, 0}
@@ -0,0 +1,92 @@
+-- Sliding window counters for one or more tiers, with the arithmetic of
+-- SlidingWindowCounterEngine and MultiTierEngine. Every tier is checked before
+-- any is counted, so a denied request consumes nothing.
+-- KEYS[1]: hash with, for tier i, e<i> = window epoch and p<i>, c<i> = previous and current window counts
+-- ARGV: operation (acquire or release), now in epoch ms, permits, then limit and window ms of each tier
+-- Returns {permits granted, remaining, delay ms, tier}; the tier is zero-based
+local key = KEYS[1]
+local now = tonumber(ARGV[2])
+local permits = tonumber(ARGV[3])
+local tiers = (#ARGV - 3) / 2
+
+local limits, windows, epochs, elapsed, previous, current = {}, {}, {}, {}, {}, {}
+for i = 1, tiers do
+    limits[i] = tonumber(ARGV[2 * i + 2])
+    windows[i] = tonumber(ARGV[2 * i + 3])
+    epochs[i] = math.floor(now / windows[i])
+    elapsed[i] = now - epochs[i] * windows[i]
+    local state = redis.call('HMGET', key, 'e' .. i, 'p' .. i, 'c' .. i)
+    local stored_epoch = tonumber(state[1])
+    if stored_epoch == epochs[i] then
+        previous[i] = tonumber(state[2])
+        current[i] = tonumber(state[3])
+    elseif stored_epoch == epochs[i] - 1 then
+        previous[i] = tonumber(state[3])
+        current[i] = 0
+    else
+        previous[i] = 0
+        current[i] = 0
+    end
+end
+
+if ARGV[1] == 'release' then
+    -- Only counts in the current window can be given back
+    for i = 1, tiers do
+        if current[i] > 0 then
+            redis.call('HINCRBY', key, 'c' .. i, -math.min(current[i], permits))
+        end
+    end
+    return {1, 0, 0, 0}
+end
+
+-- Elapsed time into a window after which count weighted by the remaining overlap is at most allowed_carry
+local function overlap_needed(count, allowed_carry, window)
+    if count <= allowed_carry then
+        return 0
+    end
+    return window - math.floor(allowed_carry * window / count)
+end
+
+local function retry_after(i)
+    local allowed_carry = limits[i] - current[i] - 1
+    if allowed_carry >= 0 then
+        return overlap_needed(previous[i], allowed_carry, windows[i]) - elapsed[i]
+    end
+    return windows[i] - elapsed[i] + overlap_needed(current[i], limits[i] - 1, windows[i])
+end
+
+-- Denied by the tier with the longest wait, else bound by the tier with the fewest permits left
+local denied_tier, denied_delay = nil, 0
+local bound_tier, bound_remaining, bound_reset = 1, nil, 0
+for i = 1, tiers do
+    local headroom = limits[i] * windows[i] - previous[i] * (windows[i] - elapsed[i]) - (current[i] + 1) * windows[i]
+    if headroom < 0 then
+        local delay = retry_after(i)
+        if denied_tier == nil or delay > denied_delay then
+            denied_tier, denied_delay = i, delay
+        end
+    else
+        local remaining = math.floor(headroom / windows[i])
+        local reset = 2 * windows[i] - elapsed[i]
+        if bound_remaining == nil or remaining < bound_remaining
+                or (remaining == bound_remaining and reset > bound_reset) then
+            bound_tier, bound_remaining, bound_reset = i, remaining, reset
+        end
+    end
+end
+
+if denied_tier ~= nil then
+    return {0, 0, denied_delay, denied_tier - 1}
+end
+
+-- The bound tier has the fewest permits left, so it caps how many are granted
+local granted = math.min(permits, bound_remaining + 1)
+
+local idle_at = 0
+for i = 1, tiers do
+    redis.call('HSET', key, 'e' .. i, epochs[i], 'p' .. i, previous[i], 'c' .. i, current[i] + granted)
+    -- Counts stop mattering once the window after this one has ended
+    idle_at = math.max(idle_at, (epochs[i] + 2) * windows[i])
+end
+redis.call('PEXPIRE', key, idle_at - now)
+return {granted, bound_remaining - granted + 1, bound_reset, bound_tier - 1}
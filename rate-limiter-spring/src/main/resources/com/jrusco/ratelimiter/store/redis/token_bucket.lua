@@ -0,0 +1,54 @@
+-- Token bucket, with the arithmetic of TokenBucketEngine.
+-- KEYS[1]: hash with t = whole tokens left and r = last refill time in epoch ms;
+--          an absent bucket was refilled at the epoch, which reads back as full
+-- ARGV: operation (acquire or release), now in epoch ms, permits, capacity, tokens added per minute
+-- Returns {permits granted, remaining, delay ms, tier}
+local key = KEYS[1]
+local now = tonumber(ARGV[2])
+local permits = tonumber(ARGV[3])
+local capacity = tonumber(ARGV[4])
+local refill_per_minute = tonumber(ARGV[5])
+local minute = 60000
+
+local function ceil_div(dividend, divisor)
+    return math.floor((dividend + divisor - 1) / divisor)
+end
+
+local state = redis.call('HMGET', key, 't', 'r')
+local tokens = tonumber(state[1]) or 0
+local refilled_at = tonumber(state[2]) or 0
+
+if ARGV[1] == 'release' then
+    if state[1] and tokens < capacity then
+        redis.call('HSET', key, 't', math.min(capacity, tokens + permits))
+    end
+    return {1, 0, 0, 0}
+end
+
+local elapsed = now - refilled_at
+if elapsed >= ceil_div(capacity * minute, refill_per_minute) then
+    tokens = capacity
+    refilled_at = now
+elseif elapsed > 0 then
+    local added = math.floor(elapsed * refill_per_minute / minute)
+    if added > 0 then
+        tokens = math.min(capacity, tokens + added)
+        if tokens == capacity then
+            refilled_at = now
+        else
+            refilled_at = refilled_at + math.floor(added * minute / refill_per_minute)
+        end
+    end
+end
+
+if tokens == 0 then
+    return {0, 0, ceil_div(minute, refill_per_minute) - (now - refilled_at), 0}
+end
+
+local granted = math.min(permits, tokens)
+local remaining = tokens - granted
+local reset_after = ceil_div((capacity - remaining) * minute, refill_per_minute) - (now - refilled_at)
+redis.call('HSET', key, 't', remaining, 'r', refilled_at)
+-- A bucket that has refilled to capacity is as good as absent
+redis.call('PEXPIRE', key, math.max(1, reset_after))
+return {granted, remaining, reset_after, 0}
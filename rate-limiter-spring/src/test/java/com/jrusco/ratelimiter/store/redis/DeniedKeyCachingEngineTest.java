@@ -0,0 +1,95 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.DeniedKeyCache;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeniedKeyCachingEngineTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private RemoteRateLimitEngine delegate;
+    private DeniedKeyCachingEngine engine;
+    private long key;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(RemoteRateLimitEngine.class);
+        engine = new DeniedKeyCachingEngine(delegate, new DeniedKeyCache(1_024));
+        key = KeyHasher.hash(RateLimitType.API_KEY, "abusive-client");
+    }
+
+    @Test
+    void testRepeatChecksAfterDenialSkipTheStore() {
+        when(delegate.tryAcquire(eq(RateLimitType.API_KEY), eq(key), anyLong()))
+                .thenReturn(RateLimitDecision.deny(5_000));
+
+        engine.tryAcquire(RateLimitType.API_KEY, key, NOW);
+        long repeat = engine.tryAcquire(RateLimitType.API_KEY, key, NOW + 2_000);
+
+        assertFalse(RateLimitDecision.isAllowed(repeat));
+        assertEquals(3_000, RateLimitDecision.retryAfterMillis(repeat));
+        verify(delegate, times(1)).tryAcquire(eq(RateLimitType.API_KEY), eq(key), anyLong());
+    }
+
+    @Test
+    void testStoreIsAskedAgainAtRetryTime() {
+        when(delegate.tryAcquire(eq(RateLimitType.API_KEY), eq(key), anyLong()))
+                .thenReturn(RateLimitDecision.deny(5_000), RateLimitDecision.allow(0, 55_000));
+
+        engine.tryAcquire(RateLimitType.API_KEY, key, NOW);
+        long retried = engine.tryAcquire(RateLimitType.API_KEY, key, NOW + 5_000);
+
+        assertTrue(RateLimitDecision.isAllowed(retried));
+        verify(delegate, times(2)).tryAcquire(eq(RateLimitType.API_KEY), eq(key), anyLong());
+    }
+
+    @Test
+    void testAdmissionsAreNotCached() {
+        when(delegate.tryAcquire(eq(RateLimitType.API_KEY), eq(key), anyLong()))
+                .thenReturn(RateLimitDecision.allow(9, 60_000));
+
+        engine.tryAcquire(RateLimitType.API_KEY, key, NOW);
+        engine.tryAcquire(RateLimitType.API_KEY, key, NOW);
+
+        verify(delegate, times(2)).tryAcquire(eq(RateLimitType.API_KEY), eq(key), anyLong());
+    }
+
+    @Test
+    void testAsyncDenialIsCached() {
+        when(delegate.tryAcquireAsync(eq(RateLimitType.API_KEY), eq(key), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(RateLimitDecision.withTier(RateLimitDecision.deny(5_000), 1)));
+
+        engine.tryAcquireAsync(RateLimitType.API_KEY, key, NOW).join();
+        long repeat = engine.tryAcquireAsync(RateLimitType.API_KEY, key, NOW + 1_000).join();
+
+        assertEquals(4_000, RateLimitDecision.retryAfterMillis(repeat));
+        assertEquals(1, RateLimitDecision.tier(repeat));
+        verify(delegate, times(1)).tryAcquireAsync(eq(RateLimitType.API_KEY), eq(key), anyLong());
+    }
+
+    @Test
+    void testReleaseForgetsDenial() {
+        when(delegate.tryAcquire(eq(RateLimitType.API_KEY), eq(key), anyLong()))
+                .thenReturn(RateLimitDecision.deny(5_000), RateLimitDecision.allow(0, 55_000));
+
+        engine.tryAcquire(RateLimitType.API_KEY, key, NOW);
+        engine.release(RateLimitType.API_KEY, key, NOW);
+
+        assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.API_KEY, key, NOW)));
+        verify(delegate).release(RateLimitType.API_KEY, key, NOW);
+    }
+}
@@ -0,0 +1,67 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts a redis-server for each test class and empties it before each test.
+ * Scripts are cached and command stats reset first, so a test can count its
+ * script calls and none of them falls back to EVAL.
+ */
+abstract class EmbeddedRedisTest {
+
+    static final String PREFIX = "test:";
+    static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+    private static final Pattern EVALSHA_CALLS = Pattern.compile("cmdstat_evalsha:calls=(\\d+),");
+
+    private static RedisServer redisServer;
+    static RedisClient redisClient;
+    static StatefulRedisConnection<String, String> connection;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = RedisServer.newRedisServer().port(port).setting("save \"\"").build();
+        redisServer.start();
+        redisClient = RedisClient.create("redis://localhost:" + port);
+        connection = redisClient.connect();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connection.close();
+        redisClient.shutdown();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void resetRedis() {
+        connection.sync().flushall();
+        for (RedisRateLimitScript script : RedisRateLimitScript.values()) {
+            connection.sync().scriptLoad(script.getSource());
+        }
+        connection.sync().configResetstat();
+    }
+
+    /**
+     * Script calls by digest since the last stats reset.
+     */
+    static long evalshaCalls() {
+        Matcher matcher = EVALSHA_CALLS.matcher(connection.sync().info("commandstats"));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+}
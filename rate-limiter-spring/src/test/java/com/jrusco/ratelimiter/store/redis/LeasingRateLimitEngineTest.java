@@ -0,0 +1,171 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeasingRateLimitEngineTest extends EmbeddedRedisTest {
+
+    private static final long START = 1_700_000_040_000L;
+    private static final long LEASE_MILLIS = 1_000;
+
+    private RedisScriptStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisScriptStore(connection.async(), PREFIX, TIMEOUT, true);
+    }
+
+    @Test
+    void testLeaseIsCappedByWhatIsLeft() {
+        long key = KeyHasher.hash(RateLimitType.USER_ID, "capped");
+        RedisRateLimitEngine[] engines = {
+                RedisRateLimitEngine.tokenBucket(3, 6, store),
+                RedisRateLimitEngine.fixedWindow(3, store),
+                RedisRateLimitEngine.slidingWindow(3, store),
+                RedisRateLimitEngine.slidingWindowCounter(3, store),
+                RedisRateLimitEngine.gcra(3, 6, store),
+                RedisRateLimitEngine.multiTier(new long[] { 3, 4 }, new long[] { 1_000, 10_000 }, store) };
+
+        for (RedisRateLimitEngine engine : engines) {
+            String algorithm = engine.getAlgorithm().name();
+            List<Long> first = engine.lease(key, 5, START).join();
+            assertEquals(3, first.get(0), algorithm);
+            assertEquals(0, first.get(1), algorithm);
+            assertEquals(0, engine.lease(key, 5, START).join().get(0), algorithm);
+
+            engine.giveBack(key, 3, START);
+            assertEquals(3, engine.lease(key, 5, START).join().get(0), algorithm + " after give back");
+        }
+    }
+
+    @Test
+    void testLeasedKeyCallsRedisOncePerLease() {
+        RateLimitEngine engine = leasing(RedisRateLimitEngine.fixedWindow(100, store), 10);
+        long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+        for (int i = 0; i < 25; i++) {
+            long decision = engine.tryAcquire(RateLimitType.GLOBAL, key, START + i);
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            assertEquals(100 - i - 1, RateLimitDecision.remaining(decision));
+        }
+
+        assertEquals(3, evalshaCalls());
+    }
+
+    @Test
+    void testUnleasedTypesCallRedisPerRequest() {
+        RateLimitEngine engine = leasing(RedisRateLimitEngine.fixedWindow(100, store), 10);
+        long key = KeyHasher.hash(RateLimitType.USER_ID, "alice");
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, key, START)));
+        }
+
+        assertEquals(5, evalshaCalls());
+    }
+
+    @Test
+    void testNodesNeverAdmitMoreThanTheLimit() {
+        try (StatefulRedisConnection<String, String> otherConnection = redisClient.connect()) {
+            RedisScriptStore otherStore = new RedisScriptStore(otherConnection.async(), PREFIX, TIMEOUT, true);
+            RateLimitEngine nodeA = leasing(RedisRateLimitEngine.fixedWindow(20, store), 6);
+            RateLimitEngine nodeB = leasing(RedisRateLimitEngine.fixedWindow(20, otherStore), 6);
+            long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+            int allowed = 0;
+            for (int i = 0; i < 40; i++) {
+                RateLimitEngine node = i % 2 == 0 ? nodeA : nodeB;
+                if (RateLimitDecision.isAllowed(node.tryAcquire(RateLimitType.GLOBAL, key, START + i))) {
+                    allowed++;
+                }
+            }
+
+            assertEquals(20, allowed);
+        }
+    }
+
+    @Test
+    void testExpiredLeaseGivesBackUnusedPermits() {
+        LeasingRateLimitEngine nodeA = leasing(RedisRateLimitEngine.fixedWindow(10, store), 5);
+        RateLimitEngine nodeB = RedisRateLimitEngine.fixedWindow(10, store);
+        long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+        nodeA.tryAcquire(RateLimitType.GLOBAL, key, START);
+        assertEquals(0, nodeA.returnExpiredLeases(START + LEASE_MILLIS - 1));
+        assertEquals(4, nodeA.returnExpiredLeases(START + LEASE_MILLIS));
+        assertEquals(0, nodeA.leasedKeys());
+
+        long decision = nodeB.tryAcquire(RateLimitType.GLOBAL, key, START + LEASE_MILLIS);
+        assertEquals(8, RateLimitDecision.remaining(decision));
+    }
+
+    @Test
+    void testExpiredSlidingWindowLeaseKeepsOtherNodesAdmissions() {
+        RedisRateLimitEngine remote = RedisRateLimitEngine.slidingWindow(10, store);
+        LeasingRateLimitEngine nodeA = leasing(remote, 5);
+        RateLimitEngine nodeB = RedisRateLimitEngine.slidingWindow(10, store);
+        long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+        nodeA.tryAcquire(RateLimitType.GLOBAL, key, START);
+        nodeB.tryAcquire(RateLimitType.GLOBAL, key, START + 500);
+        assertEquals(4, nodeA.returnExpiredLeases(START + LEASE_MILLIS));
+
+        String redisKey = store.key(remote.getAlgorithm().name().toLowerCase(), key);
+        assertEquals(List.of(String.valueOf(START), String.valueOf(START + 500)),
+                connection.sync().lrange(redisKey, 0, -1));
+    }
+
+    @Test
+    void testExpiredLeaseIsRenewedOnNextRequest() {
+        RateLimitEngine engine = leasing(RedisRateLimitEngine.fixedWindow(10, store), 5);
+        long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+        engine.tryAcquire(RateLimitType.GLOBAL, key, START);
+        long decision = engine.tryAcquire(RateLimitType.GLOBAL, key, START + LEASE_MILLIS);
+
+        // The first lease's four unused permits went back before the second was taken
+        assertEquals(8, RateLimitDecision.remaining(decision));
+        assertEquals(3, evalshaCalls());
+    }
+
+    @Test
+    void testReleaseReturnsPermitToLease() {
+        RateLimitEngine engine = leasing(RedisRateLimitEngine.fixedWindow(10, store), 5);
+        long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+        engine.tryAcquire(RateLimitType.GLOBAL, key, START);
+        engine.release(RateLimitType.GLOBAL, key, START);
+        long decision = engine.tryAcquire(RateLimitType.GLOBAL, key, START);
+
+        assertEquals(9, RateLimitDecision.remaining(decision));
+        assertEquals(1, evalshaCalls());
+    }
+
+    @Test
+    void testDeniedOnceLimitAndLeaseAreSpent() {
+        RateLimitEngine engine = leasing(RedisRateLimitEngine.tokenBucket(3, 6, store), 2);
+        long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.GLOBAL, key, START)));
+        }
+        long denied = engine.tryAcquire(RateLimitType.GLOBAL, key, START);
+
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(10_000, RateLimitDecision.retryAfterMillis(denied));
+    }
+
+    private static LeasingRateLimitEngine leasing(RedisRateLimitEngine engine, long globalLeaseSize) {
+        return new LeasingRateLimitEngine(engine, Map.of(RateLimitType.GLOBAL, globalLeaseSize), LEASE_MILLIS);
+    }
+}
@@ -0,0 +1,145 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisCallBatcherTest extends EmbeddedRedisTest {
+
+    private static final Duration BATCH_WINDOW = Duration.ofMillis(5);
+    private static final long START = 1_700_000_040_000L;
+
+    private RedisScriptStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisScriptStore(redisClient.connect(), PREFIX, TIMEOUT, false, BATCH_WINDOW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void testConcurrentChecksOnOneKeyShareOneCall() {
+        RedisRateLimitEngine engine = RedisRateLimitEngine.fixedWindow(1_000, store);
+        long key = KeyHasher.hash(RateLimitType.API_KEY, "hot-key");
+
+        List<Long> decisions = acquireAll(engine, key, 500);
+
+        Set<Long> remaining = new TreeSet<>();
+        for (long decision : decisions) {
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            remaining.add(RateLimitDecision.remaining(decision));
+        }
+        // Every caller saw its own place in the count
+        assertEquals(500, remaining.size());
+        assertEquals(500L, remaining.iterator().next());
+        assertTrue(evalshaCalls() < 50, "Script calls: " + evalshaCalls());
+    }
+
+    @Test
+    void testMergedChecksPastTheLimitAreDenied() {
+        RedisRateLimitEngine engine = RedisRateLimitEngine.fixedWindow(20, store);
+        long key = KeyHasher.hash(RateLimitType.API_KEY, "hot-key");
+
+        List<Long> decisions = acquireAll(engine, key, 30);
+
+        long allowed = decisions.stream().filter(RateLimitDecision::isAllowed).count();
+        assertEquals(20, allowed);
+        for (long decision : decisions) {
+            if (!RateLimitDecision.isAllowed(decision)) {
+                // START is on a minute boundary, so the window ends a minute later
+                assertEquals(60_000, RateLimitDecision.retryAfterMillis(decision));
+            }
+        }
+    }
+
+    @Test
+    void testBlockingCallersOnManyThreadsNeverExceedTheLimit() throws InterruptedException {
+        RedisRateLimitEngine engine = RedisRateLimitEngine.fixedWindow(100, store);
+        long key = KeyHasher.hash(RateLimitType.API_KEY, "hot-key");
+        AtomicInteger allowed = new AtomicInteger();
+        Thread[] threads = new Thread[64];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 5; i++) {
+                    if (RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.API_KEY, key, START))) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, allowed.get());
+    }
+
+    @Test
+    void testChecksOnDifferentKeysAreNotMerged() {
+        RedisRateLimitEngine engine = RedisRateLimitEngine.tokenBucket(5, 60, store);
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(engine.tryAcquireAsync(RateLimitType.USER_ID, KeyHasher.hash(RateLimitType.USER_ID, "user-" + i),
+                    START));
+        }
+
+        for (CompletableFuture<Long> future : futures) {
+            long decision = future.join();
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            assertEquals(4, RateLimitDecision.remaining(decision));
+        }
+        assertEquals(100, evalshaCalls());
+    }
+
+    @Test
+    void testReleaseIsSentInOrder() {
+        RedisRateLimitEngine engine = RedisRateLimitEngine.fixedWindow(10, store);
+        long key = KeyHasher.hash(RateLimitType.API_KEY, "released");
+
+        engine.tryAcquire(RateLimitType.API_KEY, key, START);
+        engine.release(RateLimitType.API_KEY, key, START);
+        long decision = engine.tryAcquire(RateLimitType.API_KEY, key, START);
+
+        assertEquals(9, RateLimitDecision.remaining(decision));
+    }
+
+    @Test
+    void testReloadsScriptAfterServerCacheFlush() {
+        RedisRateLimitEngine engine = RedisRateLimitEngine.gcra(10, 60, store);
+        long key = KeyHasher.hash(RateLimitType.API_KEY, "flushed");
+        connection.sync().scriptFlush();
+
+        List<Long> decisions = acquireAll(engine, key, 5);
+
+        for (long decision : decisions) {
+            assertTrue(RateLimitDecision.isAllowed(decision));
+        }
+        assertEquals(5, decisions.stream().map(RateLimitDecision::remaining).distinct().count());
+    }
+
+    private static List<Long> acquireAll(RedisRateLimitEngine engine, long key, int requests) {
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            futures.add(engine.tryAcquireAsync(RateLimitType.API_KEY, key, START));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+}
@@ -0,0 +1,223 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.algorithm.FixedWindowEngine;
+import com.jrusco.ratelimiter.algorithm.GcraEngine;
+import com.jrusco.ratelimiter.algorithm.MultiTierEngine;
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.algorithm.SlidingWindowCounterEngine;
+import com.jrusco.ratelimiter.algorithm.SlidingWindowEngine;
+import com.jrusco.ratelimiter.algorithm.TokenBucketEngine;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.InMemoryRateLimitStore;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the scripts on a real redis-server started for the test, and checks
+ * that every Redis engine makes the same decisions as its in-process engine.
+ */
+class RedisRateLimitEngineTest extends EmbeddedRedisTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private RedisScriptStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisScriptStore(connection.async(), PREFIX, TIMEOUT, true);
+    }
+
+    @Test
+    void testTokenBucketMatchesLocalEngine() {
+        assertSameDecisions(new TokenBucketEngine(3, 6, new InMemoryRateLimitStore(16, TokenBucketEngine.RECORD_WORDS)),
+                RedisRateLimitEngine.tokenBucket(3, 6, store), 7_000);
+    }
+
+    @Test
+    void testFixedWindowMatchesLocalEngine() {
+        RateLimitEngine local = new FixedWindowEngine(3, 1, Set.of(),
+                new InMemoryRateLimitStore(16, FixedWindowEngine.RECORD_WORDS),
+                new InMemoryRateLimitStore(16, FixedWindowEngine.stripedRecordWords(1)));
+        assertSameDecisions(local, RedisRateLimitEngine.fixedWindow(3, store), 15_000);
+    }
+
+    @Test
+    void testSlidingWindowMatchesLocalEngine() {
+        assertSameDecisions(new SlidingWindowEngine(3, new InMemoryRateLimitStore(16, SlidingWindowEngine.recordWords(3))),
+                RedisRateLimitEngine.slidingWindow(3, store), 15_000);
+    }
+
+    @Test
+    void testSlidingWindowReleaseKeepsEntriesLoggedSince() {
+        RateLimitEngine engine = RedisRateLimitEngine.slidingWindow(3, store);
+        long key = KeyHasher.hash(RateLimitType.USER_ID, "rolled-back");
+        engine.tryAcquire(RateLimitType.USER_ID, key, START);
+        engine.tryAcquire(RateLimitType.USER_ID, key, START + 10_000);
+
+        engine.release(RateLimitType.USER_ID, key, START);
+
+        String redisKey = store.key(engine.getAlgorithm().name().toLowerCase(), key);
+        assertEquals(List.of(String.valueOf(START + 10_000)), connection.sync().lrange(redisKey, 0, -1));
+    }
+
+    @Test
+    void testSlidingWindowCounterMatchesLocalEngine() {
+        RateLimitEngine local = new SlidingWindowCounterEngine(3,
+                new InMemoryRateLimitStore(16, SlidingWindowCounterEngine.RECORD_WORDS));
+        assertSameDecisions(local, RedisRateLimitEngine.slidingWindowCounter(3, store), 15_000);
+    }
+
+    @Test
+    void testGcraMatchesLocalEngine() {
+        assertSameDecisions(new GcraEngine(3, 6, new InMemoryRateLimitStore(16, GcraEngine.RECORD_WORDS)),
+                RedisRateLimitEngine.gcra(3, 6, store), 7_000);
+    }
+
+    @Test
+    void testMultiTierMatchesLocalEngine() {
+        long[] limits = { 2, 4 };
+        long[] windows = { 1_000, 10_000 };
+        RateLimitEngine local = new MultiTierEngine(limits, windows,
+                new InMemoryRateLimitStore(16, MultiTierEngine.recordWords(2)));
+        assertSameDecisions(local, RedisRateLimitEngine.multiTier(limits, windows, store), 1_500);
+    }
+
+    @Test
+    void testNodesShareOneLimit() {
+        try (StatefulRedisConnection<String, String> otherConnection = redisClient.connect()) {
+            RedisScriptStore otherStore = new RedisScriptStore(otherConnection.async(), PREFIX, TIMEOUT, true);
+            RateLimitEngine nodeA = RedisRateLimitEngine.fixedWindow(3, store);
+            RateLimitEngine nodeB = RedisRateLimitEngine.fixedWindow(3, otherStore);
+            long key = KeyHasher.hash(RateLimitType.USER_ID, "shared");
+
+            assertTrue(RateLimitDecision.isAllowed(nodeA.tryAcquire(RateLimitType.USER_ID, key, START)));
+            assertTrue(RateLimitDecision.isAllowed(nodeB.tryAcquire(RateLimitType.USER_ID, key, START)));
+            long third = nodeA.tryAcquire(RateLimitType.USER_ID, key, START);
+            assertTrue(RateLimitDecision.isAllowed(third));
+            assertEquals(0, RateLimitDecision.remaining(third));
+            assertFalse(RateLimitDecision.isAllowed(nodeB.tryAcquire(RateLimitType.USER_ID, key, START)));
+        }
+    }
+
+    @Test
+    void testKeysExpireOnceIdle() {
+        long key = KeyHasher.hash(RateLimitType.USER_ID, "expiring");
+        RedisRateLimitEngine[] engines = {
+                RedisRateLimitEngine.tokenBucket(3, 6, store),
+                RedisRateLimitEngine.fixedWindow(3, store),
+                RedisRateLimitEngine.slidingWindow(3, store),
+                RedisRateLimitEngine.slidingWindowCounter(3, store),
+                RedisRateLimitEngine.gcra(3, 6, store),
+                RedisRateLimitEngine.multiTier(new long[] { 2, 4 }, new long[] { 1_000, 10_000 }, store) };
+
+        for (RedisRateLimitEngine engine : engines) {
+            engine.tryAcquire(RateLimitType.USER_ID, key, START);
+            String redisKey = store.key(engine.getAlgorithm().name().toLowerCase(), key);
+            long ttl = connection.sync().pttl(redisKey);
+            assertTrue(ttl > 0 && ttl <= 120_000, engine.getAlgorithm() + " key TTL was " + ttl);
+        }
+    }
+
+    @Test
+    void testOneScriptCallPerDecision() {
+        RateLimitEngine engine = RedisRateLimitEngine.tokenBucket(100, 100, store);
+        long key = KeyHasher.hash(RateLimitType.USER_ID, "round-trips");
+        engine.tryAcquire(RateLimitType.USER_ID, key, START);
+        connection.sync().configResetstat();
+
+        for (int i = 1; i <= 5; i++) {
+            engine.tryAcquire(RateLimitType.USER_ID, key, START + i);
+        }
+
+        assertEquals(5, evalshaCalls());
+        assertFalse(connection.sync().info("commandstats").contains("cmdstat_eval:"));
+    }
+
+    @Test
+    void testReloadsScriptAfterServerCacheFlush() {
+        RedisScriptStore failClosed = new RedisScriptStore(connection.async(), PREFIX, TIMEOUT, false);
+        RateLimitEngine engine = RedisRateLimitEngine.gcra(3, 6, failClosed);
+        long key = KeyHasher.hash(RateLimitType.USER_ID, "flushed");
+        engine.tryAcquire(RateLimitType.USER_ID, key, START);
+        connection.sync().scriptFlush();
+
+        long decision = engine.tryAcquire(RateLimitType.USER_ID, key, START);
+
+        assertTrue(RateLimitDecision.isAllowed(decision));
+        assertEquals(1, RateLimitDecision.remaining(decision));
+    }
+
+    @Test
+    void testFailsOpenOrClosedWhenRedisTimesOut() throws Exception {
+        long key = KeyHasher.hash(RateLimitType.USER_ID, "slow");
+        RateLimitEngine failOpen = RedisRateLimitEngine.tokenBucket(3, 6,
+                new RedisScriptStore(connection.async(), PREFIX, Duration.ofMillis(50), true));
+        RateLimitEngine failClosed = RedisRateLimitEngine.tokenBucket(3, 6,
+                new RedisScriptStore(connection.async(), PREFIX, Duration.ofMillis(50), false));
+
+        try (StatefulRedisConnection<String, String> blocker = redisClient.connect()) {
+            CompletableFuture<String> sleep = blocker.async()
+                    .dispatch(CommandType.DEBUG, new StatusOutput<>(StringCodec.UTF8),
+                            new CommandArgs<>(StringCodec.UTF8).add("SLEEP").add("0.5"))
+                    .toCompletableFuture();
+            Thread.sleep(50);
+
+            long open = failOpen.tryAcquire(RateLimitType.USER_ID, key, START);
+            long closed = failClosed.tryAcquire(RateLimitType.USER_ID, key, START);
+            sleep.get();
+
+            assertTrue(RateLimitDecision.isAllowed(open));
+            assertEquals(3, RateLimitDecision.remaining(open));
+            assertFalse(RateLimitDecision.isAllowed(closed));
+            assertEquals(1_000, RateLimitDecision.retryAfterMillis(closed));
+        }
+    }
+
+    /**
+     * Drives both engines through the same requests on a few keys at
+     * irregular times, giving back some admitted permits, and expects
+     * identical packed decisions.
+     */
+    private static void assertSameDecisions(RateLimitEngine local, RateLimitEngine remote, int maxStepMillis) {
+        Random random = new Random(42);
+        long[] keys = {
+                KeyHasher.hash(RateLimitType.USER_ID, "alice"),
+                KeyHasher.hash(RateLimitType.USER_ID, "bob"),
+                KeyHasher.hash(RateLimitType.CLIENT_IP, "192.0.2.1") };
+        long now = START;
+        int denied = 0;
+        for (int i = 0; i < 300; i++) {
+            // Mostly bursts, with the occasional pause long enough to refill
+            now += random.nextInt(4) == 0 ? random.nextInt(maxStepMillis) : random.nextInt(50);
+            RateLimitType type = i % keys.length == 2 ? RateLimitType.CLIENT_IP : RateLimitType.USER_ID;
+            long key = keys[i % keys.length];
+
+            long expected = local.tryAcquire(type, key, now);
+            long actual = remote.tryAcquire(type, key, now);
+            assertEquals(expected, actual, "Decision " + i + " at +" + (now - START) + " ms");
+
+            if (!RateLimitDecision.isAllowed(expected)) {
+                denied++;
+            } else if (random.nextInt(8) == 0) {
+                local.release(type, key, now);
+                remote.release(type, key, now);
+            }
+        }
+        assertTrue(denied > 0, "Sequence never reached the limit");
+    }
+}
@@ -0,0 +1,142 @@
+package com.jrusco.ratelimiter.store.redis;
+
+import com.jrusco.ratelimiter.algorithm.RateLimitDecision;
+import com.jrusco.ratelimiter.algorithm.RateLimitEngine;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncingRateLimitEngineTest extends EmbeddedRedisTest {
+
+    private static final long START = 1_700_000_040_000L;
+
+    private RedisScriptStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisScriptStore(connection.async(), PREFIX, TIMEOUT, true);
+    }
+
+    @Test
+    void testSyncedKeyIsDecidedLocallyUntilPushed() {
+        RedisRateLimitEngine remote = RedisRateLimitEngine.fixedWindow(100, store);
+        SyncingRateLimitEngine engine = syncing(remote, 10);
+        long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+        for (int i = 0; i < 11; i++) {
+            long decision = engine.tryAcquire(RateLimitType.GLOBAL, key, START + i);
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            assertEquals(100 - i - 1, RateLimitDecision.remaining(decision));
+        }
+        assertEquals(1, evalshaCalls());
+
+        assertEquals(10, engine.sync(START + 100));
+        long decision = remote.tryAcquire(RateLimitType.GLOBAL, key, START + 100);
+        assertEquals(88, RateLimitDecision.remaining(decision));
+    }
+
+    @Test
+    void testKeyOutOfRoomPushesAtOnce() {
+        RateLimitEngine engine = syncing(RedisRateLimitEngine.fixedWindow(100, store), 5);
+        long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+        for (int i = 0; i < 20; i++) {
+            long decision = engine.tryAcquire(RateLimitType.GLOBAL, key, START + i);
+            assertTrue(RateLimitDecision.isAllowed(decision));
+            assertEquals(100 - i - 1, RateLimitDecision.remaining(decision));
+        }
+
+        // One call to join, then one push per five local admissions
+        assertEquals(4, evalshaCalls());
+    }
+
+    @Test
+    void testUnsyncedTypesCallRedisPerRequest() {
+        RateLimitEngine engine = syncing(RedisRateLimitEngine.fixedWindow(100, store), 10);
+        long key = KeyHasher.hash(RateLimitType.USER_ID, "alice");
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.USER_ID, key, START)));
+        }
+
+        assertEquals(5, evalshaCalls());
+    }
+
+    @Test
+    void testNodesOverAdmitByAtMostTheirBounds() {
+        try (StatefulRedisConnection<String, String> otherConnection = redisClient.connect()) {
+            RedisScriptStore otherStore = new RedisScriptStore(otherConnection.async(), PREFIX, TIMEOUT, true);
+            SyncingRateLimitEngine nodeA = syncing(RedisRateLimitEngine.fixedWindow(20, store), 5);
+            SyncingRateLimitEngine nodeB = syncing(RedisRateLimitEngine.fixedWindow(20, otherStore), 5);
+            long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+            int allowed = 0;
+            for (int i = 0; i < 60; i++) {
+                SyncingRateLimitEngine node = i % 2 == 0 ? nodeA : nodeB;
+                if (RateLimitDecision.isAllowed(node.tryAcquire(RateLimitType.GLOBAL, key, START + i))) {
+                    allowed++;
+                }
+            }
+            nodeA.sync(START + 60);
+            nodeB.sync(START + 60);
+
+            assertTrue(allowed >= 20 && allowed <= 30, "Allowed: " + allowed);
+            assertEquals(allowed - 20, nodeA.overAdmitted() + nodeB.overAdmitted());
+        }
+    }
+
+    @Test
+    void testDeniedOnceRedisHasNothingLeft() {
+        RateLimitEngine engine = syncing(RedisRateLimitEngine.tokenBucket(3, 6, store), 2);
+        long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(RateLimitDecision.isAllowed(engine.tryAcquire(RateLimitType.GLOBAL, key, START)));
+        }
+        long denied = engine.tryAcquire(RateLimitType.GLOBAL, key, START);
+
+        assertFalse(RateLimitDecision.isAllowed(denied));
+        assertEquals(10_000, RateLimitDecision.retryAfterMillis(denied));
+    }
+
+    @Test
+    void testReleaseTakesBackUnpushedAdmission() {
+        RedisRateLimitEngine remote = RedisRateLimitEngine.fixedWindow(100, store);
+        SyncingRateLimitEngine engine = syncing(remote, 10);
+        long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+        engine.tryAcquire(RateLimitType.GLOBAL, key, START);
+        engine.tryAcquire(RateLimitType.GLOBAL, key, START);
+        engine.release(RateLimitType.GLOBAL, key, START);
+
+        assertEquals(0, engine.sync(START));
+        assertEquals(98, RateLimitDecision.remaining(remote.tryAcquire(RateLimitType.GLOBAL, key, START)));
+    }
+
+    @Test
+    void testQuietKeyIsDroppedAndAsksRedisAgain() {
+        SyncingRateLimitEngine engine = syncing(RedisRateLimitEngine.fixedWindow(100, store), 10);
+        long key = KeyHasher.hash(RateLimitType.GLOBAL, "global");
+
+        engine.tryAcquire(RateLimitType.GLOBAL, key, START);
+        engine.tryAcquire(RateLimitType.GLOBAL, key, START);
+        engine.sync(START + 100);
+        assertEquals(1, engine.syncedKeys());
+        engine.sync(START + 200);
+        assertEquals(0, engine.syncedKeys());
+
+        long decision = engine.tryAcquire(RateLimitType.GLOBAL, key, START + 300);
+        assertEquals(97, RateLimitDecision.remaining(decision));
+        assertEquals(3, evalshaCalls());
+    }
+
+    private static SyncingRateLimitEngine syncing(RedisRateLimitEngine engine, long globalBound) {
+        return new SyncingRateLimitEngine(engine, engine, Map.of(RateLimitType.GLOBAL, globalBound));
+    }
+}
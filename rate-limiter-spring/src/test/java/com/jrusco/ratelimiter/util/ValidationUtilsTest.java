@@ -0,0 +1,282 @@
+package com.jrusco.ratelimiter.util;
+
+import com.jrusco.ratelimiter.config.RateLimiterConfig;
+import com.jrusco.ratelimiter.enums.RateLimitType;
+import com.jrusco.ratelimiter.store.KeyHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ValidationUtilsTest {
+
+    private ValidationUtils validationUtils;
+
+    @BeforeEach
+    void setUp() {
+        validationUtils = new ValidationUtils();
+    }
+
+    @Test
+    void testValidIpAddresses() {
+        // Valid IPv4 addresses
+        assertTrue(validationUtils.isValidIpAddress("192.168.1.1"));
+        assertTrue(validationUtils.isValidIpAddress("10.0.0.1"));
+        assertTrue(validationUtils.isValidIpAddress("127.0.0.1"));
+        assertTrue(validationUtils.isValidIpAddress("255.255.255.255"));
+
+        // Valid IPv6 addresses
+        assertTrue(validationUtils.isValidIpAddress("::1"));
+        assertTrue(validationUtils.isValidIpAddress("2001:db8::1"));
+    }
+
+    @Test
+    void testInvalidIpAddresses() {
+        // Invalid IPv4 addresses
+        assertFalse(validationUtils.isValidIpAddress("256.256.256.256"));
+        assertFalse(validationUtils.isValidIpAddress("192.168.1"));
+        assertFalse(validationUtils.isValidIpAddress("192.168.1.1.1"));
+        assertFalse(validationUtils.isValidIpAddress("invalid"));
+        assertFalse(validationUtils.isValidIpAddress(""));
+        assertFalse(validationUtils.isValidIpAddress(null));
+    }
+
+    @Test
+    void testValidUserIds() {
+        assertTrue(validationUtils.isValidUserId("user123"));
+        assertTrue(validationUtils.isValidUserId("user_123"));
+        assertTrue(validationUtils.isValidUserId("user-123"));
+        assertTrue(validationUtils.isValidUserId("user.123"));
+        assertTrue(validationUtils.isValidUserId("User123"));
+    }
+
+    @Test
+    void testInvalidUserIds() {
+        assertFalse(validationUtils.isValidUserId(""));
+        assertFalse(validationUtils.isValidUserId(null));
+        assertFalse(validationUtils.isValidUserId("user@123"));
+        assertFalse(validationUtils.isValidUserId("user 123"));
+        assertFalse(validationUtils.isValidUserId("user#123"));
+
+        // Test length limit
+        String longUserId = "a".repeat(256);
+        assertFalse(validationUtils.isValidUserId(longUserId));
+    }
+
+    @Test
+    void testValidApiKeys() {
+        assertTrue(validationUtils.isValidApiKey("key123"));
+        assertTrue(validationUtils.isValidApiKey("key_123"));
+        assertTrue(validationUtils.isValidApiKey("key-123"));
+        assertTrue(validationUtils.isValidApiKey("key.123"));
+        assertTrue(validationUtils.isValidApiKey("Key123"));
+    }
+
+    @Test
+    void testInvalidApiKeys() {
+        assertFalse(validationUtils.isValidApiKey(""));
+        assertFalse(validationUtils.isValidApiKey(null));
+        assertFalse(validationUtils.isValidApiKey("key@123"));
+        assertFalse(validationUtils.isValidApiKey("key 123"));
+        assertFalse(validationUtils.isValidApiKey("key#123"));
+
+        // Test length limit
+        String longApiKey = "a".repeat(129);
+        assertFalse(validationUtils.isValidApiKey(longApiKey));
+    }
+
+    @Test
+    void testValidEndpoints() {
+        assertTrue(validationUtils.isValidEndpoint("/api/v1"));
+        assertTrue(validationUtils.isValidEndpoint("/api/v1/users"));
+        assertTrue(validationUtils.isValidEndpoint("/api-v1/users"));
+        assertTrue(validationUtils.isValidEndpoint("/api_v1/users"));
+        assertTrue(validationUtils.isValidEndpoint("/api.v1/users"));
+    }
+
+    @Test
+    void testInvalidEndpoints() {
+        assertFalse(validationUtils.isValidEndpoint(""));
+        assertFalse(validationUtils.isValidEndpoint(null));
+        assertFalse(validationUtils.isValidEndpoint("api/v1")); // Must start with /
+        assertFalse(validationUtils.isValidEndpoint("/api@v1"));
+        assertFalse(validationUtils.isValidEndpoint("/api v1"));
+
+        // Test length limit: 255 characters, as the request's @Size allows
+        assertTrue(validationUtils.isValidEndpoint("/api/" + "a".repeat(250)));
+        assertFalse(validationUtils.isValidEndpoint("/api/" + "a".repeat(251)));
+    }
+
+    @Test
+    void testKeyHashMatchesPlainHashForValidIdentifiers() {
+        long[] address = new long[2];
+        assertEquals(KeyHasher.hash(RateLimitType.USER_ID, "user.123"),
+                validationUtils.keyHash(RateLimitType.USER_ID, "user.123", address));
+        assertEquals(KeyHasher.hash(RateLimitType.API_KEY, "key_123"),
+                validationUtils.keyHash(RateLimitType.API_KEY, "key_123", address));
+        assertEquals(KeyHasher.hash(RateLimitType.ENDPOINT, "/api/v1/users"),
+                validationUtils.keyHash(RateLimitType.ENDPOINT, "/api/v1/users", address));
+        assertEquals(KeyHasher.hash(RateLimitType.GLOBAL, "global"),
+                validationUtils.keyHash(RateLimitType.GLOBAL, "global", address));
+        assertEquals(validationUtils.keyHash(RateLimitType.CLIENT_IP, "::ffff:1.2.3.4", address),
+                validationUtils.keyHash(RateLimitType.CLIENT_IP, "1.2.3.4", address));
+    }
+
+    @Test
+    void testKeyHashRejectsInvalidIdentifiers() {
+        long[] address = new long[2];
+        assertThrows(IllegalArgumentException.class,
+                () -> validationUtils.keyHash(RateLimitType.USER_ID, "user@123", address));
+        assertThrows(IllegalArgumentException.class,
+                () -> validationUtils.keyHash(RateLimitType.USER_ID, "usér", address));
+        assertThrows(IllegalArgumentException.class,
+                () -> validationUtils.keyHash(RateLimitType.API_KEY, "a".repeat(129), address));
+        assertThrows(IllegalArgumentException.class,
+                () -> validationUtils.keyHash(RateLimitType.ENDPOINT, "api/v1", address));
+        assertThrows(IllegalArgumentException.class,
+                () -> validationUtils.keyHash(RateLimitType.CLIENT_IP, "invalid", address));
+        assertThrows(IllegalArgumentException.class,
+                () -> validationUtils.keyHash(RateLimitType.GLOBAL, " ", address));
+        assertThrows(IllegalArgumentException.class,
+                () -> validationUtils.keyHash(null, "user123", address));
+        assertThrows(IllegalArgumentException.class,
+                () -> validationUtils.keyHash(RateLimitType.USER_ID, null, address));
+    }
+
+    @Test
+    void testIsNotNullOrEmpty() {
+        assertTrue(validationUtils.isNotNullOrEmpty("test"));
+        assertTrue(validationUtils.isNotNullOrEmpty("  test  "));
+        assertFalse(validationUtils.isNotNullOrEmpty(""));
+        assertFalse(validationUtils.isNotNullOrEmpty("   "));
+        assertFalse(validationUtils.isNotNullOrEmpty(null));
+    }
+
+    @Test
+    void testIsValidLength() {
+        assertTrue(validationUtils.isValidLength("test", 10));
+        assertTrue(validationUtils.isValidLength("test", 4));
+        assertFalse(validationUtils.isValidLength("test", 3));
+        assertFalse(validationUtils.isValidLength(null, 10));
+    }
+
+    @Test
+    void testSanitizeString() {
+        assertEquals("test", validationUtils.sanitizeString("test"));
+        assertEquals("test", validationUtils.sanitizeString("test<>"));
+        assertEquals("test", validationUtils.sanitizeString("test\"'&"));
+        assertEquals("test", validationUtils.sanitizeString("  test  "));
+        assertNull(validationUtils.sanitizeString(null));
+    }
+
+    @Test
+    void testExtractRealClientIp() {
+        // Test X-Forwarded-For
+        assertEquals("1.2.3.4", validationUtils.extractRealClientIp("1.2.3.4", null, "127.0.0.1"));
+        assertEquals("1.2.3.4", validationUtils.extractRealClientIp("1.2.3.4, 192.168.1.1", null, "127.0.0.1"));
+        assertEquals("1.2.3.4", validationUtils.extractRealClientIp("10.0.0.1, 172.20.0.1,1.2.3.4", null, "127.0.0.1"));
+        assertEquals("2001:db8::1", validationUtils.extractRealClientIp("bogus, 2001:db8::1", null, "127.0.0.1"));
+
+        // Test X-Real-IP fallback
+        assertEquals("1.2.3.4", validationUtils.extractRealClientIp(null, "1.2.3.4", "127.0.0.1"));
+
+        // Test remote address fallback
+        assertEquals("1.2.3.4", validationUtils.extractRealClientIp(null, null, "1.2.3.4"));
+
+        // Test unknown fallback
+        assertEquals("unknown", validationUtils.extractRealClientIp(null, null, null));
+    }
+
+    @Test
+    void testIgnoresForwardingHeadersFromUntrustedPeers() {
+        assertEquals("8.8.8.8", validationUtils.extractRealClientIp("1.2.3.4", "5.6.7.8", "8.8.8.8"));
+
+        // A spoofed entry in front of the real client is never reached
+        assertEquals("1.2.3.4", validationUtils.extractRealClientIp("6.6.6.6, 1.2.3.4, 10.0.0.2", null, "10.0.0.1"));
+
+        // Garbage stops the walk; the peer is the best remaining guess
+        assertEquals("10.0.0.1", validationUtils.extractRealClientIp("1.2.3.4, bogus", null, "10.0.0.1"));
+    }
+
+    @Test
+    void testHonorsConfiguredProxiesAndHeaders() {
+        RateLimiterConfig config = new RateLimiterConfig();
+        config.getSecurity().setTrustedProxies(List.of("203.0.113.0/24"));
+        config.getSecurity().setTrustedHeaders(List.of("x-real-ip"));
+        ReflectionTestUtils.setField(validationUtils, "rateLimiterConfig", config);
+        validationUtils.loadIpRanges();
+
+        assertEquals("127.0.0.1", validationUtils.extractRealClientIp("1.2.3.4", null, "127.0.0.1"));
+        assertEquals("5.6.7.8", validationUtils.extractRealClientIp("1.2.3.4", "5.6.7.8", "203.0.113.9"));
+    }
+
+    @Test
+    void testPrivateHopsThatAreNotTrustedProxiesAreTheClient() {
+        RateLimiterConfig config = new RateLimiterConfig();
+        config.getSecurity().setTrustedProxies(List.of("10.0.0.5/32"));
+        ReflectionTestUtils.setField(validationUtils, "rateLimiterConfig", config);
+        validationUtils.loadIpRanges();
+
+        // The client at 192.168.1.9 wrote 1.2.3.4 itself; the proxy appended the real peer
+        assertEquals("192.168.1.9", validationUtils.extractRealClientIp("1.2.3.4, 192.168.1.9", null, "10.0.0.5"));
+        assertEquals("1.2.3.4", validationUtils.extractRealClientIp("6.6.6.6, 1.2.3.4, 10.0.0.5", null, "10.0.0.5"));
+    }
+
+    @Test
+    void testClassifiesPrivateAddresses() {
+        assertTrue(validationUtils.isPrivateAddress("10.1.2.3"));
+        assertTrue(validationUtils.isPrivateAddress("172.31.255.255"));
+        assertTrue(validationUtils.isPrivateAddress("192.168.0.1"));
+        assertTrue(validationUtils.isPrivateAddress("127.0.0.1"));
+        assertTrue(validationUtils.isPrivateAddress("100.64.0.1"));
+        assertTrue(validationUtils.isPrivateAddress("::1"));
+        assertTrue(validationUtils.isPrivateAddress("fd00::1"));
+        assertTrue(validationUtils.isPrivateAddress("fe80::1"));
+
+        assertFalse(validationUtils.isPrivateAddress("172.32.0.1"));
+        assertFalse(validationUtils.isPrivateAddress("8.8.8.8"));
+        assertFalse(validationUtils.isPrivateAddress("2001:db8::1"));
+        assertFalse(validationUtils.isPrivateAddress("not-an-ip"));
+        assertFalse(validationUtils.isPrivateAddress(null));
+    }
+
+    @Test
+    void testIpRangeRulesWidenClientKeys() {
+        RateLimiterConfig config = new RateLimiterConfig();
+        config.getSecurity().setIpRanges(List.of(
+                new RateLimiterConfig.IpRange("2001:db8::/32", 64),
+                new RateLimiterConfig.IpRange("198.51.100.0/24", null)));
+        ReflectionTestUtils.setField(validationUtils, "rateLimiterConfig", config);
+        validationUtils.loadIpRanges();
+
+        assertArrayEquals(clientKey("2001:db8:0:1::1"), clientKey("2001:db8:0:1:ffff::2"));
+        assertFalse(java.util.Arrays.equals(clientKey("2001:db8:0:1::1"), clientKey("2001:db8:0:2::1")));
+        assertArrayEquals(clientKey("198.51.100.1"), clientKey("198.51.100.254"));
+        assertFalse(java.util.Arrays.equals(clientKey("192.0.2.1"), clientKey("192.0.2.2")));
+        assertFalse(validationUtils.resolveClientKey("not-an-ip", new long[2]));
+    }
+
+    @Test
+    void testRejectsInvalidIpRanges() {
+        RateLimiterConfig config = new RateLimiterConfig();
+        ReflectionTestUtils.setField(validationUtils, "rateLimiterConfig", config);
+
+        config.getSecurity().setIpRanges(List.of(new RateLimiterConfig.IpRange("10.0.0.0/40", null)));
+        assertThrows(IllegalArgumentException.class, () -> validationUtils.loadIpRanges());
+
+        config.getSecurity().setIpRanges(List.of(new RateLimiterConfig.IpRange("10.0.0.0/8", 33)));
+        assertThrows(IllegalArgumentException.class, () -> validationUtils.loadIpRanges());
+    }
+
+    private long[] clientKey(String ip) {
+        long[] address = new long[2];
+        assertTrue(validationUtils.resolveClientKey(ip, address), ip);
+        return address;
+    }
+}